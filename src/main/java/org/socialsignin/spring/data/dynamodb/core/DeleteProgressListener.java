@@ -0,0 +1,34 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+/**
+ * Receives the progress of a bulk delete issued via {@link DynamoDBOperations#batchDeleteStream(Class, java.util.stream.Stream)}.
+ */
+@FunctionalInterface
+public interface DeleteProgressListener {
+
+    /**
+     * Called each time a chunk of deletes has been processed. If the chunks are written concurrently, this is called
+     * concurrently as well.
+     *
+     * @param domainClass
+     *            The domain type the items are deleted from
+     * @param deletedItems
+     *            The number of items deleted by this bulk delete so far
+     */
+    void onProgress(Class<?> domainClass, long deletedItems);
+}
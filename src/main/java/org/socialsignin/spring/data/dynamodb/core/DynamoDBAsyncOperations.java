@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import org.socialsignin.spring.data.dynamodb.domain.TransactionOperationEntity;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link DynamoDBOperations}. Every operation returns immediately with a
+ * {@link CompletableFuture}; mapping events are published once the underlying call has completed.
+ */
+public interface DynamoDBAsyncOperations {
+
+    <T> CompletableFuture<Integer> count(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression);
+
+    <T> CompletableFuture<Integer> count(Class<T> domainClass, DynamoDBScanExpression scanExpression);
+
+    <T> CompletableFuture<Integer> count(Class<T> clazz, QueryRequest mutableQueryRequest);
+
+    <T> CompletableFuture<PaginatedQueryList<T>> query(Class<T> clazz, QueryRequest queryRequest);
+
+    <T> CompletableFuture<PaginatedQueryList<T>> query(Class<T> domainClass,
+            DynamoDBQueryExpression<T> queryExpression);
+
+    <T> CompletableFuture<QueryResultPage<T>> queryPage(Class<T> domainClass,
+            DynamoDBQueryExpression<T> queryExpression);
+
+    <T> CompletableFuture<PaginatedScanList<T>> scan(Class<T> domainClass, DynamoDBScanExpression scanExpression);
+
+    <T> CompletableFuture<T> load(Class<T> domainClass, Object hashKey, Object rangeKey);
+
+    <T> CompletableFuture<T> load(Class<T> domainClass, Object hashKey);
+
+    <T> CompletableFuture<List<T>> batchLoad(Map<Class<?>, List<KeyPair>> itemsToGet);
+
+    <T> CompletableFuture<T> save(T entity);
+
+    CompletableFuture<List<FailedBatch>> batchSave(Iterable<?> entities);
+
+    <T> CompletableFuture<T> delete(T entity);
+
+    CompletableFuture<List<FailedBatch>> batchDelete(Iterable<?> entities);
+
+    CompletableFuture<Void> transactionWrite(TransactionOperationEntity transactionOperationEntity);
+
+    CompletableFuture<List<Object>> transactionLoad(List<Object> entities);
+
+    /**
+     * Provides access to the blocking operations of the template the asynchronous ones are built on.
+     *
+     * @return The synchronous view of this template
+     */
+    DynamoDBOperations sync();
+}
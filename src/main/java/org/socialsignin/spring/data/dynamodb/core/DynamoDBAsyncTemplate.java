@@ -0,0 +1,368 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsync;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import org.socialsignin.spring.data.dynamodb.domain.TransactionOperationEntity;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeSaveEvent;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link DynamoDBAsyncOperations} implementation on top of an {@link AmazonDynamoDBAsync} client and the
+ * application's {@link DynamoDBTemplate}, which is shared with the blocking operations along with its configuration -
+ * e.g. its cache, write-behind buffer, snapshots and event listener registry.
+ * <p>
+ * Loads, bulk loads, deletes and saves with {@code SaveBehavior.CLOBBER} are converted through the
+ * {@link DynamoDBMapperTableModel} and issued directly through the asynchronous calls of the client, e.g.
+ * {@link AmazonDynamoDBAsync#getItemAsync(GetItemRequest, AsyncHandler)}, so they never block a thread. The
+ * {@link DynamoDBMapper} has no asynchronous API, so all other operations - and the ones above wherever only the
+ * mapper or the template implement the semantics, e.g. for versioned or auto-generated attributes, cached entities
+ * or buffered writes - are delegated to the template running on the given {@link Executor}. In both cases the
+ * after-events are published on completion of the call, from the thread completing the returned future.
+ */
+public class DynamoDBAsyncTemplate implements DynamoDBAsyncOperations {
+    private final AmazonDynamoDBAsync amazonDynamoDBAsync;
+    private final DynamoDBMapper dynamoDBMapper;
+    private final DynamoDBMapperConfig dynamoDBMapperConfig;
+    private final DynamoDBTemplate dynamoDBTemplate;
+    private final Executor executor;
+    private final ConcurrentMap<Class<?>, Boolean> directWrites = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new {@code DynamoDBAsyncTemplate}.
+     *
+     * @param amazonDynamoDBAsync
+     *            must not be {@code null} - should be the client of the template
+     * @param dynamoDBTemplate
+     *            must not be {@code null}
+     * @param executor
+     *            must not be {@code null} - runs the operations that are only available in a blocking fashion
+     */
+    public DynamoDBAsyncTemplate(AmazonDynamoDBAsync amazonDynamoDBAsync, DynamoDBTemplate dynamoDBTemplate,
+            Executor executor) {
+        Assert.notNull(amazonDynamoDBAsync, "amazonDynamoDBAsync must not be null!");
+        Assert.notNull(dynamoDBTemplate, "dynamoDBTemplate must not be null!");
+        Assert.notNull(executor, "executor must not be null!");
+
+        this.amazonDynamoDBAsync = amazonDynamoDBAsync;
+        this.dynamoDBTemplate = dynamoDBTemplate;
+        this.dynamoDBMapper = dynamoDBTemplate.getDynamoDBMapper();
+        this.dynamoDBMapperConfig = dynamoDBTemplate.getDynamoDBMapperConfig();
+        this.executor = executor;
+    }
+
+    @Override
+    public DynamoDBOperations sync() {
+        return dynamoDBTemplate;
+    }
+
+    @Override
+    public <T> CompletableFuture<Integer> count(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.count(domainClass, queryExpression), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<Integer> count(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.count(domainClass, scanExpression), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<Integer> count(Class<T> clazz, QueryRequest mutableQueryRequest) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.count(clazz, mutableQueryRequest), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<PaginatedQueryList<T>> query(Class<T> clazz, QueryRequest queryRequest) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.query(clazz, queryRequest), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<PaginatedQueryList<T>> query(Class<T> domainClass,
+            DynamoDBQueryExpression<T> queryExpression) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.query(domainClass, queryExpression), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<QueryResultPage<T>> queryPage(Class<T> domainClass,
+            DynamoDBQueryExpression<T> queryExpression) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.queryPage(domainClass, queryExpression), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<PaginatedScanList<T>> scan(Class<T> domainClass,
+            DynamoDBScanExpression scanExpression) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.scan(domainClass, scanExpression), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> load(Class<T> domainClass, Object hashKey, Object rangeKey) {
+        return direct(() -> {
+            CompletableFuture<T> batched = dynamoDBTemplate.enqueueLoad(domainClass, hashKey, rangeKey);
+            if (batched != null) {
+                return batched.thenApply(entity -> {
+                    dynamoDBTemplate.afterLoad(entity);
+                    return entity;
+                });
+            }
+
+            DynamoDBMapperTableModel<T> tableModel = dynamoDBTemplate.getTableModel(domainClass);
+            GetItemRequest request = new GetItemRequest()
+                    .withTableName(DynamoDBTemplate.resolveTableName(domainClass, dynamoDBMapperConfig))
+                    .withKey(tableModel.convertKey(hashKey, rangeKey))
+                    .withConsistentRead(DynamoDBTemplate.isConsistentRead(dynamoDBMapperConfig));
+
+            CompletableFuture<GetItemResult> response = call(request, amazonDynamoDBAsync::getItemAsync);
+            return response.thenApply(getItemResult -> {
+                Map<String, AttributeValue> item = getItemResult.getItem();
+                T entity = item == null ? null : tableModel.unconvert(item);
+                dynamoDBTemplate.afterLoad(entity);
+                return entity;
+            });
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> load(Class<T> domainClass, Object hashKey) {
+        return load(domainClass, hashKey, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> CompletableFuture<List<T>> batchLoad(Map<Class<?>, List<KeyPair>> itemsToGet) {
+        return direct(() -> {
+            // BatchGetItem rejects duplicate keys
+            Map<String, DynamoDBMapperTableModel<?>> tableModels = new HashMap<>();
+            Map<String, Set<Map<String, AttributeValue>>> keysByTable = new LinkedHashMap<>();
+            for (Map.Entry<Class<?>, List<KeyPair>> entry : itemsToGet.entrySet()) {
+                String tableName = DynamoDBTemplate.resolveTableName(entry.getKey(), dynamoDBMapperConfig);
+                DynamoDBMapperTableModel<?> tableModel = dynamoDBTemplate.getTableModel(entry.getKey());
+                if (dynamoDBTemplate.isCached(entry.getKey())
+                        || tableModels.putIfAbsent(tableName, tableModel) != null) {
+                    // The cache is read by the template, the domain classes sharing a table are told apart by the
+                    // mapper only
+                    return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.<T> batchLoad(itemsToGet), executor);
+                }
+                Set<Map<String, AttributeValue>> keys = new LinkedHashSet<>();
+                entry.getValue().forEach(
+                        keyPair -> keys.add(tableModel.convertKey(keyPair.getHashKey(), keyPair.getRangeKey())));
+                keysByTable.put(tableName, keys);
+            }
+
+            boolean consistentRead = DynamoDBTemplate.isConsistentRead(dynamoDBMapperConfig);
+            List<CompletableFuture<List<Object>>> chunks = new ArrayList<>();
+            Map<String, KeysAndAttributes> chunk = new HashMap<>();
+            int chunkSize = 0;
+            for (Map.Entry<String, Set<Map<String, AttributeValue>>> entry : keysByTable.entrySet()) {
+                for (Map<String, AttributeValue> key : entry.getValue()) {
+                    chunk.computeIfAbsent(entry.getKey(),
+                            tableName -> new KeysAndAttributes().withConsistentRead(consistentRead)).withKeys(key);
+                    if (++chunkSize == ParallelBatchLoader.MAX_KEYS_PER_BATCH) {
+                        chunks.add(batchGet(chunk, tableModels));
+                        chunk = new HashMap<>();
+                        chunkSize = 0;
+                    }
+                }
+            }
+            if (chunkSize > 0) {
+                chunks.add(batchGet(chunk, tableModels));
+            }
+
+            return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+                List<T> results = new ArrayList<>();
+                chunks.forEach(loaded -> loaded.join().forEach(entity -> results.add((T) entity)));
+                dynamoDBTemplate.afterBatchLoad(results);
+                return results;
+            });
+        });
+    }
+
+    private CompletableFuture<List<Object>> batchGet(Map<String, KeysAndAttributes> requestItems,
+            Map<String, DynamoDBMapperTableModel<?>> tableModels) {
+        CompletableFuture<BatchGetItemResult> response = call(new BatchGetItemRequest(requestItems),
+                amazonDynamoDBAsync::batchGetItemAsync);
+        return response.thenCompose(batchGetItemResult -> {
+            List<Object> entities = new ArrayList<>();
+            batchGetItemResult.getResponses().forEach((tableName, items) -> items
+                    .forEach(item -> entities.add(tableModels.get(tableName).unconvert(item))));
+            Map<String, KeysAndAttributes> unprocessedKeys = batchGetItemResult.getUnprocessedKeys();
+            if (unprocessedKeys == null || unprocessedKeys.isEmpty()) {
+                return CompletableFuture.completedFuture(entities);
+            }
+
+            // The mapper resends the keys left over by a throttled request with a backoff
+            List<Object> keyObjects = new ArrayList<>();
+            unprocessedKeys.forEach((tableName, keysAndAttributes) -> keysAndAttributes.getKeys()
+                    .forEach(key -> keyObjects.add(tableModels.get(tableName).unconvert(key))));
+            return CompletableFuture.supplyAsync(() -> {
+                dynamoDBMapper.batchLoad(keyObjects).values().forEach(entities::addAll);
+                return entities;
+            }, executor);
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<T> save(T entity) {
+        return direct(() -> {
+            DynamoDBMapperTableModel<T> tableModel = tableModelOf(entity);
+            if (dynamoDBTemplate.isWriteManaged(entity.getClass())
+                    || !isWrittenDirectly(entity.getClass(), tableModel)) {
+                return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.save(entity), executor);
+            }
+
+            dynamoDBTemplate.maybeEmitEvent(entity, BeforeSaveEvent.class, BeforeSaveEvent::new);
+            PutItemRequest request = new PutItemRequest(
+                    DynamoDBTemplate.resolveTableName(entity.getClass(), dynamoDBMapperConfig),
+                    tableModel.convert(entity));
+            CompletableFuture<PutItemResult> response = call(request, amazonDynamoDBAsync::putItemAsync);
+            return response.thenApply(result -> {
+                dynamoDBTemplate.maybeEmitEvent(entity, AfterSaveEvent.class, AfterSaveEvent::new);
+                return entity;
+            });
+        });
+    }
+
+    /**
+     * @return Whether the mapper would put the item exactly as converted - other save behaviors, versions and
+     *         generated attributes are implemented by the mapper only
+     */
+    private boolean isWrittenDirectly(Class<?> domainClass, DynamoDBMapperTableModel<?> tableModel) {
+        if (dynamoDBMapperConfig.getSaveBehavior() != SaveBehavior.CLOBBER) {
+            return false;
+        }
+        return directWrites.computeIfAbsent(domainClass, key -> !tableModel.versioned()
+                && tableModel.fields().stream().allMatch(field -> field.getGenerateStrategy() == null));
+    }
+
+    @Override
+    public CompletableFuture<List<FailedBatch>> batchSave(Iterable<?> entities) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.batchSave(entities), executor);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> delete(T entity) {
+        return direct(() -> {
+            DynamoDBMapperTableModel<T> tableModel = tableModelOf(entity);
+            if (dynamoDBTemplate.isWriteManaged(entity.getClass()) || tableModel.versioned()) {
+                return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.delete(entity), executor);
+            }
+
+            dynamoDBTemplate.maybeEmitEvent(entity, BeforeDeleteEvent.class, BeforeDeleteEvent::new);
+            DeleteItemRequest request = new DeleteItemRequest(
+                    DynamoDBTemplate.resolveTableName(entity.getClass(), dynamoDBMapperConfig),
+                    tableModel.convertKey(entity));
+            CompletableFuture<DeleteItemResult> response = call(request, amazonDynamoDBAsync::deleteItemAsync);
+            return response.thenApply(result -> {
+                dynamoDBTemplate.maybeEmitEvent(entity, AfterDeleteEvent.class, AfterDeleteEvent::new);
+                return entity;
+            });
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<FailedBatch>> batchDelete(Iterable<?> entities) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.batchDelete(entities), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> transactionWrite(TransactionOperationEntity transactionOperationEntity) {
+        return CompletableFuture.runAsync(() -> dynamoDBTemplate.transactionWrite(transactionOperationEntity),
+                executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Object>> transactionLoad(List<Object> entities) {
+        return CompletableFuture.supplyAsync(() -> dynamoDBTemplate.transactionLoad(entities), executor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> DynamoDBMapperTableModel<T> tableModelOf(T entity) {
+        return dynamoDBTemplate.getTableModel((Class<T>) entity.getClass());
+    }
+
+    /**
+     * Starts an operation, turning a failure to start it into a failed future.
+     */
+    private static <R> CompletableFuture<R> direct(Supplier<CompletableFuture<R>> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            CompletableFuture<R> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    /**
+     * Issues an asynchronous call of the client and completes the returned future from its callback.
+     */
+    private static <Q extends AmazonWebServiceRequest, R> CompletableFuture<R> call(Q request,
+            BiConsumer<Q, AsyncHandler<Q, R>> asyncCall) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        asyncCall.accept(request, new AsyncHandler<Q, R>() {
+            @Override
+            public void onError(Exception exception) {
+                result.completeExceptionally(exception);
+            }
+
+            @Override
+            public void onSuccess(Q request, R response) {
+                result.complete(response);
+            }
+        });
+        return result;
+    }
+}
@@ -20,14 +20,20 @@ import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedParallelScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import org.springframework.lang.Nullable;
 import org.socialsignin.spring.data.dynamodb.domain.TransactionOperationEntity;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Interface to DynamoDB - as seen from the Spring-Data world
@@ -40,28 +46,243 @@ public interface DynamoDBOperations {
 
     <T> int count(Class<T> clazz, QueryRequest mutableQueryRequest);
 
+    /**
+     * Counts the items matching the scan expression by scanning {@code totalSegments} segments in parallel.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param scanExpression
+     *            The scan expression - must not have a segment set
+     * @param totalSegments
+     *            Number of segments, {@code 1} or less results in a sequential count
+     * 
+     * @return The number of matching items
+     */
+    <T> int count(Class<T> domainClass, DynamoDBScanExpression scanExpression, int totalSegments);
+
+    /**
+     * Reads the number of items DynamoDB maintains for the table of the domain class. The value is only updated
+     * approximately every six hours, but reading it does not consume any read capacity.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @return The approximate number of items in the table
+     */
+    <T> long approximateCount(Class<T> domainClass);
+
     <T> PaginatedQueryList<T> query(Class<T> clazz, QueryRequest queryRequest);
 
     <T> PaginatedQueryList<T> query(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression);
 
     <T> QueryResultPage<T> queryPage(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression);
 
+    /**
+     * Executes a single low-level query call and unmarshalls its items. The
+     * {@link QueryRequest#getExclusiveStartKey()} of the request is honored and the
+     * {@link QueryResultPage#getLastEvaluatedKey()} of the response is passed on.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param clazz
+     *            A domain type
+     * @param queryRequest
+     *            The query request to execute
+     * 
+     * @return One page of results
+     */
+    <T> QueryResultPage<T> queryPage(Class<T> clazz, QueryRequest queryRequest);
+
     <T> PaginatedScanList<T> scan(Class<T> domainClass, DynamoDBScanExpression scanExpression);
 
+    <T> ScanResultPage<T> scanPage(Class<T> domainClass, DynamoDBScanExpression scanExpression);
+
+    <T> PaginatedParallelScanList<T> parallelScan(Class<T> domainClass, DynamoDBScanExpression scanExpression,
+            int totalSegments);
+
     <T> T load(Class<T> domainClass, Object hashKey, Object rangeKey);
 
     <T> T load(Class<T> domainClass, Object hashKey);
 
+    /**
+     * Checks whether an item with the given key exists. Only the key attributes are read and no
+     * {@link org.socialsignin.spring.data.dynamodb.mapping.event.AfterLoadEvent} is published.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param hashKey
+     *            The hash key of the item
+     * @param rangeKey
+     *            The range key of the item or {@code null} if the table has no range key
+     * 
+     * @return {@code true} if the item exists
+     */
+    <T> boolean exists(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey);
+
     <T> List<T> batchLoad(Map<Class<?>, List<KeyPair>> itemsToGet);
 
     <T> T save(T entity);
 
+    /**
+     * Saves the entity unless an item with the same key exists already. Existence is checked by a condition of the
+     * write itself, so there is no prior read and no race between checking and writing.
+     *
+     * @param <T>
+     *            The type of the entity
+     * @param entity
+     *            The entity to save
+     * 
+     * @return {@code true} if the entity has been saved, {@code false} if an item with its key exists already
+     */
+    <T> boolean saveIfAbsent(T entity);
+
     List<FailedBatch> batchSave(Iterable<?> entities);
 
     <T> T delete(T entity);
 
     List<FailedBatch> batchDelete(Iterable<?> entities);
 
+    /**
+     * Deletes the item with the given key without reading it first. As there is no entity at hand, the
+     * {@link org.socialsignin.spring.data.dynamodb.mapping.event.BeforeDeleteEvent} carries an entity with nothing but
+     * the key attributes set. An {@link org.socialsignin.spring.data.dynamodb.mapping.event.AfterDeleteEvent} is only
+     * published if the implementation is configured to return the deleted item, carrying that item then.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param hashKey
+     *            The hash key of the item
+     * @param rangeKey
+     *            The range key of the item or {@code null} if the table has no range key
+     * 
+     * @return {@code true} if an item got deleted, {@code false} if there is no item with the given key
+     */
+    <T> boolean deleteByKey(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey);
+
+    /**
+     * Deletes the items with the given keys without reading them first. Keys without an item are ignored. The events
+     * are published as described for {@link #deleteByKey(Class, Object, Object)}.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param keyPairs
+     *            The keys of the items to delete
+     * 
+     * @return The deletes that could not be processed
+     * @see #deleteByKey(Class, Object, Object)
+     */
+    <T> List<FailedBatch> batchDeleteByKeys(Class<T> domainClass, List<KeyPair> keyPairs);
+
+    /**
+     * Deletes the items the given entities point to while the stream is consumed. The entities only need to carry
+     * their key attributes, e.g. as returned by {@link org.socialsignin.spring.data.dynamodb.query.Query#getKeyStream()}.
+     * Deletes are sent in chunks as the entities arrive and only the chunks in flight are held in memory. The batch
+     * delete events are published per chunk, carrying the key-only entities. The stream is closed afterwards.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param entities
+     *            The entities to delete
+     * 
+     * @return The deletes that could not be processed
+     */
+    <T> List<FailedBatch> batchDeleteStream(Class<T> domainClass, Stream<? extends T> entities);
+
+    /**
+     * Atomically adds the given delta to a number attribute with a single {@code UpdateItem} request. A missing
+     * attribute or item is treated as {@code 0}, i.e. they are created.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param hashKey
+     *            The hash key of the item
+     * @param rangeKey
+     *            The range key of the item or {@code null} if the table has no range key
+     * @param attributeName
+     *            The name of the attribute in DynamoDB
+     * @param delta
+     *            The value to add, negative to subtract
+     * 
+     * @return The value of the attribute after the update
+     */
+    <T> long increment(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, String attributeName,
+            long delta);
+
+    /**
+     * Atomically adds values to a set attribute with a single {@code UpdateItem} request. A missing attribute or
+     * item is created.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param hashKey
+     *            The hash key of the item
+     * @param rangeKey
+     *            The range key of the item or {@code null} if the table has no range key
+     * @param attributeName
+     *            The name of the attribute in DynamoDB
+     * @param values
+     *            The values to add, converted as the attribute is mapped
+     */
+    <T> void addToSet(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, String attributeName,
+            Set<?> values);
+
+    /**
+     * Atomically removes values from a set attribute with a single {@code UpdateItem} request. A missing item is not
+     * created.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param hashKey
+     *            The hash key of the item
+     * @param rangeKey
+     *            The range key of the item or {@code null} if the table has no range key
+     * @param attributeName
+     *            The name of the attribute in DynamoDB
+     * @param values
+     *            The values to remove, converted as the attribute is mapped
+     */
+    <T> void removeFromSet(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, String attributeName,
+            Set<?> values);
+
+    /**
+     * Sets an attribute with a single {@code UpdateItem} request unless it already has a value. A missing item is
+     * created.
+     *
+     * @param <T>
+     *            The type of the domain type itself
+     * @param domainClass
+     *            A domain type
+     * @param hashKey
+     *            The hash key of the item
+     * @param rangeKey
+     *            The range key of the item or {@code null} if the table has no range key
+     * @param attributeName
+     *            The name of the attribute in DynamoDB
+     * @param value
+     *            The value to set, converted as the attribute is mapped
+     * 
+     * @return {@code true} if the value has been set, {@code false} if the attribute already had a value
+     */
+    <T> boolean setIfAbsent(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, String attributeName,
+            Object value);
+
     <T> String getOverriddenTableName(Class<T> domainClass, String tableName);
 
     /**
@@ -79,4 +300,21 @@ public interface DynamoDBOperations {
     void transactionWrite(TransactionOperationEntity transactionOperationEntity);
 
     List<Object> transactionLoad(List<Object> entities);
+
+    /**
+     * @return The cache of page boundaries used by offset based paging or {@code null} if none is configured
+     */
+    @Nullable
+    default PageTokenCache getPageTokenCache() {
+        return null;
+    }
+
+    /**
+     * @return The executor counting the total of a page concurrently with reading its content or {@code null} if the
+     *         count runs after the content has been read
+     */
+    @Nullable
+    default Executor getCountExecutor() {
+        return null;
+    }
 }
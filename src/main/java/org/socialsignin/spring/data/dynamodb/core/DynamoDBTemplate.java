@@ -19,27 +19,50 @@ import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.ConsistentReads;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.DefaultTableNameResolver;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.TableNameResolver;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedParallelScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 import com.amazonaws.services.dynamodbv2.datamodeling.TransactionLoadRequest;
 import com.amazonaws.services.dynamodbv2.datamodeling.TransactionWriteRequest;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
 import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
 import com.amazonaws.services.dynamodbv2.model.Select;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import org.socialsignin.spring.data.dynamodb.domain.TransactionOperationEntity;
+import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AbstractDynamoDBEventListener;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterBatchDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterBatchLoadEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterBatchSaveEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.AfterDeleteEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.AfterLoadEvent;
-import org.socialsignin.spring.data.dynamodb.mapping.event.AfterQueryEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.AfterQueryPageEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.AfterSaveEvent;
-import org.socialsignin.spring.data.dynamodb.mapping.event.AfterScanEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterScanPageEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeBatchDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeBatchSaveEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeDeleteEvent;
 import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.DynamoDBEventListenerRegistry;
 import org.socialsignin.spring.data.dynamodb.mapping.event.DynamoDBMappingEvent;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,16 +73,49 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextAware {
+    private static final Set<Class<?>> BEFORE_EVENTS = new HashSet<>(Arrays.asList(BeforeSaveEvent.class,
+            BeforeDeleteEvent.class, BeforeBatchSaveEvent.class, BeforeBatchDeleteEvent.class));
+
     private final DynamoDBMapper dynamoDBMapper;
     private final AmazonDynamoDB amazonDynamoDB;
     private final DynamoDBMapperConfig dynamoDBMapperConfig;
     private ApplicationEventPublisher eventPublisher;
+    private ParallelBatchWriter batchWriter;
+    private ParallelBatchLoader batchLoader;
+    private Executor countExecutor;
+    private Executor scanSegmentExecutor;
+    private PageTokenCache pageTokenCache;
+    private boolean returnDeletedItems;
+    private DeleteProgressListener deleteProgressListener;
+    private EntityCache entityCache;
+    private InFlightLoads inFlightLoads;
+    private LoadBatcher loadBatcher;
+    private WriteBehindBuffer writeBehindBuffer;
+    private EntitySnapshots entitySnapshots;
+    private DynamoDBEventListenerRegistry eventListenerRegistry;
+    private boolean perEntityBatchEvents;
+    private StripedExecutor afterEventExecutor;
 
     /**
      * Initializes a new {@code DynamoDBTemplate}. The following combinations are valid:
@@ -89,6 +145,205 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
         this.eventPublisher = applicationContext;
     }
 
+    /**
+     * Dispatches the mapping events straight to the {@link AbstractDynamoDBEventListener}s known to the given
+     * registry instead of publishing them through the {@link ApplicationContext}. No event is created for an entity
+     * or page if no listener is subscribed to it; other {@link org.springframework.context.ApplicationListener}s do
+     * not receive mapping events anymore.
+     *
+     * @param eventListenerRegistry
+     *            can be {@code null} to publish through the {@link ApplicationContext} again
+     */
+    public void setEventListenerRegistry(@Nullable DynamoDBEventListenerRegistry eventListenerRegistry) {
+        this.eventListenerRegistry = eventListenerRegistry;
+    }
+
+    /**
+     * By default {@link #batchSave(Iterable)}, {@link #batchDelete(Iterable)} and {@link #batchLoad(Map)} publish a
+     * single {@link BeforeBatchSaveEvent}, {@link AfterBatchSaveEvent}, {@link BeforeBatchDeleteEvent},
+     * {@link AfterBatchDeleteEvent} or {@link AfterBatchLoadEvent} carrying all entities of the call.
+     * {@link AbstractDynamoDBEventListener} passes these on to its per-entity callbacks unless it overrides the batch
+     * callbacks. Enabling this publishes one event per entity instead, as done before batch events were introduced.
+     *
+     * @param perEntityBatchEvents
+     *            {@code true} to publish one event per entity for batch operations
+     */
+    public void setPerEntityBatchEvents(boolean perEntityBatchEvents) {
+        this.perEntityBatchEvents = perEntityBatchEvents;
+    }
+
+    /**
+     * Publishes the after-events, e.g. {@link AfterSaveEvent}, {@link AfterDeleteEvent}, {@link AfterLoadEvent} and the
+     * query and scan events, on the given executor so slow listeners do not delay the operation. The events of an
+     * entity are published in order of its hash key, the events of pages and batches in order of their domain class.
+     * Before-events are always published synchronously, as their listeners may change or veto the operation.
+     * <p>
+     * Listeners of asynchronous events see the entity instance returned to the caller, which may have changed again
+     * in the meantime.
+     *
+     * @param afterEventExecutor
+     *            can be {@code null} to publish all events synchronously
+     */
+    public void setAfterEventExecutor(@Nullable StripedExecutor afterEventExecutor) {
+        this.afterEventExecutor = afterEventExecutor;
+    }
+
+    /**
+     * Configures {@link #batchSave(Iterable)} and {@link #batchDelete(Iterable)} to dispatch their chunks
+     * concurrently and to retry unprocessed items. If not set, the whole {@link Iterable} is passed to the
+     * {@link DynamoDBMapper} in one go.
+     *
+     * @param batchWriter
+     *            can be {@code null}
+     */
+    public void setBatchWriter(@Nullable ParallelBatchWriter batchWriter) {
+        this.batchWriter = batchWriter;
+    }
+
+    /**
+     * Configures {@link #batchLoad(Map)} to load the keys in concurrent chunks. If not set, all keys are passed to
+     * the {@link DynamoDBMapper} in one go.
+     *
+     * @param batchLoader
+     *            can be {@code null}
+     */
+    public void setBatchLoader(@Nullable ParallelBatchLoader batchLoader) {
+        this.batchLoader = batchLoader;
+    }
+
+    /**
+     * Configures a cache of page boundaries that lets offset based paging continue from the closest page read before.
+     * All boundaries of a domain class are evicted whenever this template writes to it.
+     *
+     * @param pageTokenCache
+     *            can be {@code null}
+     */
+    public void setPageTokenCache(@Nullable PageTokenCache pageTokenCache) {
+        this.pageTokenCache = pageTokenCache;
+    }
+
+    @Override
+    public PageTokenCache getPageTokenCache() {
+        return pageTokenCache;
+    }
+
+    /**
+     * Configures {@link #deleteByKey(Class, Object, Object)} and {@link #batchDeleteByKeys(Class, List)} to request
+     * the deleted items ({@code ReturnValues=ALL_OLD}) and to publish an {@link AfterDeleteEvent} for each of them.
+     * As {@code BatchWriteItem} cannot return the deleted items, batch deletes are issued item by item then. By
+     * default no {@link AfterDeleteEvent} is published for deletes by key, only the {@link BeforeDeleteEvent} carrying
+     * an entity with nothing but the key attributes set.
+     *
+     * @param returnDeletedItems
+     *            {@code false} by default
+     */
+    public void setReturnDeletedItems(boolean returnDeletedItems) {
+        this.returnDeletedItems = returnDeletedItems;
+    }
+
+    /**
+     * Configures a listener to report the progress of {@link #batchDeleteStream(Class, Stream)} to.
+     *
+     * @param deleteProgressListener
+     *            can be {@code null}
+     */
+    public void setDeleteProgressListener(@Nullable DeleteProgressListener deleteProgressListener) {
+        this.deleteProgressListener = deleteProgressListener;
+    }
+
+    /**
+     * Configures a cache in front of {@link #load(Class, Object, Object)}, {@link #load(Class, Object)} and
+     * {@link #batchLoad(Map)} for the domain classes registered with it. Cached items are evicted whenever this
+     * template writes or deletes them.
+     *
+     * @param entityCache
+     *            can be {@code null}
+     */
+    public void setEntityCache(@Nullable EntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * Configures {@link #load(Class, Object, Object)} and {@link #load(Class, Object)} to coalesce concurrent loads
+     * of the same key into a single {@code GetItem} request whose result is shared by all callers. A caller joining a
+     * load already in flight may thus receive a state read before its own call, which is why this is not enabled by
+     * default.
+     *
+     * @param coalesceLoads
+     *            {@code false} by default
+     */
+    public void setCoalesceLoads(boolean coalesceLoads) {
+        this.inFlightLoads = coalesceLoads ? new InFlightLoads() : null;
+    }
+
+    /**
+     * Configures {@link #load(Class, Object, Object)} and {@link #load(Class, Object)} to merge the loads issued
+     * within a short window into a single {@link #batchLoad(Map)}. Each load blocks until its batch has been loaded.
+     *
+     * @param loadBatcher
+     *            can be {@code null}
+     */
+    public void setLoadBatcher(@Nullable LoadBatcher loadBatcher) {
+        this.loadBatcher = loadBatcher;
+    }
+
+    /**
+     * Configures {@link #save(Object)} to buffer the entities of the domain classes registered with the given buffer
+     * and to write them in bulk later on. The {@link BeforeSaveEvent} is published on save, the
+     * {@link AfterSaveEvent} once the entity has been written. Deletes through this template drop buffered versions
+     * of the deleted items.
+     *
+     * @param writeBehindBuffer
+     *            can be {@code null}
+     */
+    public void setWriteBehindBuffer(@Nullable WriteBehindBuffer writeBehindBuffer) {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.bind(this::writeBehind);
+        }
+        this.writeBehindBuffer = writeBehindBuffer;
+    }
+
+    /**
+     * Configures {@link #save(Object)} to send only the attributes that changed since an entity of a domain class
+     * registered with the given snapshots was loaded by key, using an {@code UpdateItem} request. If nothing changed,
+     * no request is sent at all. Entities without a snapshot are saved in full.
+     *
+     * @param entitySnapshots
+     *            can be {@code null}
+     */
+    public void setEntitySnapshots(@Nullable EntitySnapshots entitySnapshots) {
+        this.entitySnapshots = entitySnapshots;
+    }
+
+    /**
+     * Configures an executor to count the total of a page concurrently with reading its content, if the first
+     * response shows that the total cannot be derived from the content.
+     *
+     * @param countExecutor
+     *            can be {@code null}
+     */
+    public void setCountExecutor(@Nullable Executor countExecutor) {
+        this.countExecutor = countExecutor;
+    }
+
+    @Override
+    public Executor getCountExecutor() {
+        return countExecutor;
+    }
+
+    /**
+     * Configures an executor to scan the segments of {@link #count(Class, DynamoDBScanExpression, int)} and
+     * {@link #parallelScan(Class, DynamoDBScanExpression, int)} on. Without one, the segments are counted one after
+     * the other on the calling thread, while a parallel scan reads them on threads of its own. The executor must not
+     * be the {@link #setCountExecutor(Executor) count executor}, whose tasks may wait for the segments.
+     *
+     * @param scanSegmentExecutor
+     *            can be {@code null}
+     */
+    public void setScanSegmentExecutor(@Nullable Executor scanSegmentExecutor) {
+        this.scanSegmentExecutor = scanSegmentExecutor;
+    }
+
     @Override
     public <T> int count(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
         return dynamoDBMapper.count(domainClass, queryExpression);
@@ -96,15 +351,17 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
 
     @Override
     public <T> PaginatedQueryList<T> query(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
-        PaginatedQueryList<T> results = dynamoDBMapper.query(domainClass, queryExpression);
-        maybeEmitEvent(results, AfterQueryEvent::new);
-        return results;
+        // Pages are read through queryPage(), so listeners see each page once it is actually fetched
+        QueryResultPage<T> firstPage = queryPage(domainClass, queryExpression);
+        return new PageLoadingQueryList<>(dynamoDBMapper, domainClass, amazonDynamoDB, firstPage.getResults(),
+                PageLoader.query(queryExpression, firstPage, expression -> queryPage(domainClass, expression)),
+                dynamoDBMapperConfig);
     }
 
     @Override
     public <T> QueryResultPage<T> queryPage(Class<T> domainClass, DynamoDBQueryExpression<T> queryExpression) {
         QueryResultPage<T> resultPage = dynamoDBMapper.queryPage(domainClass, queryExpression);
-        maybeEmitEvent(resultPage, AfterQueryPageEvent::new);
+        maybeEmitEvent(domainClass, resultPage, AfterQueryPageEvent.class, AfterQueryPageEvent::new);
         return resultPage;
     }
 
@@ -114,72 +371,604 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
     }
 
     @Override
-    public <T> T load(Class<T> domainClass, Object hashKey, Object rangeKey) {
-        T entity = dynamoDBMapper.load(domainClass, hashKey, rangeKey);
-        maybeEmitEvent(entity, AfterLoadEvent::new);
+    public <T> long approximateCount(Class<T> domainClass) {
+        String tableName = resolveTableName(domainClass, dynamoDBMapperConfig);
+        Long itemCount = amazonDynamoDB.describeTable(tableName).getTable().getItemCount();
+        return itemCount == null ? 0 : itemCount;
+    }
 
-        return entity;
+    @Override
+    public <T> int count(Class<T> domainClass, DynamoDBScanExpression scanExpression, int totalSegments) {
+        if (totalSegments <= 1) {
+            return count(domainClass, scanExpression);
+        }
+
+        Executor executor = scanSegmentExecutor != null ? scanSegmentExecutor : Runnable::run;
+        List<CompletableFuture<Integer>> segments = new ArrayList<>(totalSegments);
+        for (int segment = 0; segment < totalSegments; segment++) {
+            DynamoDBScanExpression segmentExpression = segmentOf(scanExpression, segment, totalSegments);
+            segments.add(CompletableFuture.supplyAsync(() -> dynamoDBMapper.count(domainClass, segmentExpression),
+                    executor));
+        }
+
+        int count = 0;
+        for (CompletableFuture<Integer> segment : segments) {
+            try {
+                count += segment.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        return count;
+    }
+
+    private static DynamoDBScanExpression segmentOf(DynamoDBScanExpression scanExpression, int segment,
+            int totalSegments) {
+        return new DynamoDBScanExpression()
+                .withIndexName(scanExpression.getIndexName()).withScanFilter(scanExpression.getScanFilter())
+                .withLimit(scanExpression.getLimit()).withConditionalOperator(scanExpression.getConditionalOperator())
+                .withFilterExpression(scanExpression.getFilterExpression())
+                .withExpressionAttributeNames(scanExpression.getExpressionAttributeNames())
+                .withExpressionAttributeValues(scanExpression.getExpressionAttributeValues())
+                .withSelect(scanExpression.getSelect())
+                .withProjectionExpression(scanExpression.getProjectionExpression())
+                .withReturnConsumedCapacity(scanExpression.getReturnConsumedCapacity())
+                .withConsistentRead(scanExpression.isConsistentRead()).withSegment(segment)
+                .withTotalSegments(totalSegments);
+    }
+
+    @Override
+    public <T> T load(Class<T> domainClass, Object hashKey, Object rangeKey) {
+        return loadEntity(domainClass, hashKey, rangeKey, () -> dynamoDBMapper.load(domainClass, hashKey, rangeKey));
     }
 
     @Override
     public <T> T load(Class<T> domainClass, Object hashKey) {
-        T entity = dynamoDBMapper.load(domainClass, hashKey);
-        maybeEmitEvent(entity, AfterLoadEvent::new);
+        return loadEntity(domainClass, hashKey, null, () -> dynamoDBMapper.load(domainClass, hashKey));
+    }
+
+    private <T> T loadEntity(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, Supplier<T> loader) {
+        // Cache misses are coalesced per key, the remaining loads may be batched
+        T entity = loadCached(domainClass, hashKey, rangeKey, () -> loadCoalesced(domainClass, hashKey, rangeKey,
+                () -> loadSingle(domainClass, hashKey, rangeKey, loader)));
+        afterLoad(entity);
 
         return entity;
     }
 
+    private <T> T loadCached(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, Supplier<T> loader) {
+        if (entityCache == null || !entityCache.isCached(domainClass)) {
+            return loader.get();
+        }
+
+        DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+        Map<String, AttributeValue> key = tableModel.convertKey(hashKey, rangeKey);
+        Map<String, AttributeValue> item = entityCache.get(domainClass, key);
+        if (item != null) {
+            return tableModel.unconvert(item);
+        }
+
+        long generation = entityCache.generation(domainClass);
+        T entity = loader.get();
+        if (entity != null) {
+            entityCache.put(domainClass, key, generation, tableModel.convert(entity));
+        }
+        return entity;
+    }
+
+    private <T> T loadCoalesced(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, Supplier<T> loader) {
+        if (inFlightLoads == null) {
+            return loader.get();
+        }
+        return inFlightLoads.load(domainClass, hashKey, rangeKey, getTableModel(domainClass), loader);
+    }
+
+    private <T> T loadSingle(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, Supplier<T> loader) {
+        CompletableFuture<T> batched = enqueueLoad(domainClass, hashKey, rangeKey);
+        if (batched == null) {
+            return loader.get();
+        }
+        try {
+            return batched.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * @return The future of the batch the load has been added to or {@code null} if no {@link LoadBatcher} is
+     *         configured
+     */
+    @Nullable
+    <T> CompletableFuture<T> enqueueLoad(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey) {
+        if (loadBatcher == null) {
+            return null;
+        }
+        return loadBatcher.load(domainClass, hashKey, rangeKey, this::batchLoadUncached, this::getTableModel);
+    }
+
+    @Override
+    public <T> boolean exists(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey) {
+        Map<String, AttributeValue> key = getTableModel(domainClass).convertKey(hashKey, rangeKey);
+
+        // Project onto the key attributes only so no further attributes are transferred
+        Map<String, String> expressionAttributeNames = new HashMap<>();
+        StringJoiner projectionExpression = new StringJoiner(", ");
+        for (String attributeName : key.keySet()) {
+            String placeholder = "#k" + expressionAttributeNames.size();
+            expressionAttributeNames.put(placeholder, attributeName);
+            projectionExpression.add(placeholder);
+        }
+
+        GetItemRequest request = new GetItemRequest().withTableName(resolveTableName(domainClass, dynamoDBMapperConfig))
+                .withKey(key).withProjectionExpression(projectionExpression.toString())
+                .withExpressionAttributeNames(expressionAttributeNames)
+                .withConsistentRead(isConsistentRead(dynamoDBMapperConfig));
+        return amazonDynamoDB.getItem(request).getItem() != null;
+    }
+
     @Override
     public <T> PaginatedScanList<T> scan(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
-        PaginatedScanList<T> results = dynamoDBMapper.scan(domainClass, scanExpression);
-        maybeEmitEvent(results, AfterScanEvent::new);
-        return results;
+        // Pages are read through scanPage(), so listeners see each page once it is actually fetched
+        ScanResultPage<T> firstPage = scanPage(domainClass, scanExpression);
+        return new PageLoadingScanList<>(dynamoDBMapper, domainClass, amazonDynamoDB, firstPage.getResults(),
+                PageLoader.scan(scanExpression, firstPage, expression -> scanPage(domainClass, expression)),
+                dynamoDBMapperConfig);
+    }
+
+    @Override
+    public <T> PaginatedParallelScanList<T> parallelScan(Class<T> domainClass, DynamoDBScanExpression scanExpression,
+            int totalSegments) {
+        Assert.isTrue(totalSegments > 0, "totalSegments must be greater than 0!");
+
+        // Segments are read through scanPage(), so listeners see each page once it is actually fetched
+        List<DynamoDBScanExpression> segmentExpressions = new ArrayList<>(totalSegments);
+        for (int segment = 0; segment < totalSegments; segment++) {
+            segmentExpressions.add(segmentOf(scanExpression, segment, totalSegments));
+        }
+        return new PageLoadingParallelScanList<>(dynamoDBMapper, domainClass, amazonDynamoDB, segmentExpressions,
+                expression -> scanPage(domainClass, expression), scanSegmentExecutor, dynamoDBMapperConfig);
+    }
+
+    @Override
+    public <T> ScanResultPage<T> scanPage(Class<T> domainClass, DynamoDBScanExpression scanExpression) {
+        ScanResultPage<T> resultPage = dynamoDBMapper.scanPage(domainClass, scanExpression);
+        maybeEmitEvent(domainClass, resultPage, AfterScanPageEvent.class, AfterScanPageEvent::new);
+        return resultPage;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> List<T> batchLoad(Map<Class<?>, List<KeyPair>> itemsToGet) {
-        return dynamoDBMapper.batchLoad(itemsToGet).values().stream().flatMap(v -> v.stream()).map(e -> (T) e)
-                .map(entity -> {
-                    maybeEmitEvent(entity, AfterLoadEvent::new);
-                    return entity;
-                }).collect(Collectors.toList());
+        List<Object> results = new ArrayList<>();
+        Map<Class<?>, List<KeyPair>> itemsToLoad = itemsToGet;
+        Map<Class<?>, Long> generations = new HashMap<>();
+        if (entityCache != null) {
+            itemsToLoad = new HashMap<>();
+            for (Map.Entry<Class<?>, List<KeyPair>> entry : itemsToGet.entrySet()) {
+                Class<?> domainClass = entry.getKey();
+                if (entityCache.isCached(domainClass)) {
+                    generations.put(domainClass, entityCache.generation(domainClass));
+                    List<KeyPair> misses = readCached(domainClass, entry.getValue(), results);
+                    if (!misses.isEmpty()) {
+                        itemsToLoad.put(domainClass, misses);
+                    }
+                } else {
+                    itemsToLoad.put(domainClass, entry.getValue());
+                }
+            }
+        }
+
+        if (!itemsToLoad.isEmpty()) {
+            List<Object> loaded = batchLoadUncached(itemsToLoad);
+            loaded.forEach(entity -> {
+                Long generation = generations.get(entity.getClass());
+                if (generation != null) {
+                    cache(entity, generation);
+                }
+            });
+            results.addAll(loaded);
+        }
+
+        afterBatchLoad(results);
+        return results.stream().map(e -> (T) e).collect(Collectors.toList());
+    }
+
+    /**
+     * Takes the snapshots of bulk loaded entities, if configured, and publishes the {@link AfterBatchLoadEvent}.
+     */
+    void afterBatchLoad(List<?> entities) {
+        entities.forEach(this::snapshot);
+        maybeEmitBatchEvent(entities, AfterBatchLoadEvent.class, AfterBatchLoadEvent::new, AfterLoadEvent.class,
+                AfterLoadEvent::new);
+    }
+
+    private List<Object> batchLoadUncached(Map<Class<?>, List<KeyPair>> itemsToGet) {
+        if (batchLoader == null) {
+            return dynamoDBMapper.batchLoad(itemsToGet).values().stream().flatMap(v -> v.stream())
+                    .collect(Collectors.toList());
+        }
+        return batchLoader.load(itemsToGet, dynamoDBMapper::batchLoad, this::getTableModel);
+    }
+
+    private <T> List<KeyPair> readCached(Class<T> domainClass, List<KeyPair> keyPairs, List<Object> hits) {
+        DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+        List<KeyPair> misses = new ArrayList<>();
+        for (KeyPair keyPair : keyPairs) {
+            Map<String, AttributeValue> item = entityCache.get(domainClass,
+                    tableModel.convertKey(keyPair.getHashKey(), keyPair.getRangeKey()));
+            if (item != null) {
+                hits.add(tableModel.unconvert(item));
+            } else {
+                misses.add(keyPair);
+            }
+        }
+        return misses;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void cache(T entity, long generation) {
+        Class<T> domainClass = (Class<T>) entity.getClass();
+        DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+        entityCache.put(domainClass, tableModel.convertKey(entity), generation, tableModel.convert(entity));
     }
 
     @Override
     public <T> T save(T entity) {
-        maybeEmitEvent(entity, BeforeSaveEvent::new);
-        dynamoDBMapper.save(entity);
-        maybeEmitEvent(entity, AfterSaveEvent::new);
+        maybeEmitEvent(entity, BeforeSaveEvent.class, BeforeSaveEvent::new);
+        if (writeBehindBuffer != null && writeBehindBuffer.isBuffered(entity.getClass())) {
+            writeBehindBuffer.add(entity.getClass(), convertKey(entity), entity);
+            return entity;
+        }
+        if (!saveChanges(entity)) {
+            dynamoDBMapper.save(entity);
+            snapshot(entity);
+        }
+        evictEntity(entity);
+        maybeEmitEvent(entity, AfterSaveEvent.class, AfterSaveEvent::new);
         return entity;
 
     }
 
+    @Override
+    public <T> boolean saveIfAbsent(T entity) {
+        maybeEmitEvent(entity, BeforeSaveEvent.class, BeforeSaveEvent::new);
+        if (writeBehindBuffer != null && writeBehindBuffer.isBuffered(entity.getClass())
+                && writeBehindBuffer.contains(entity.getClass(), convertKey(entity))) {
+            // Saved already, just not written yet
+            return false;
+        }
+
+        // The expectation is combined with the mapper's own ones, e.g. on a version attribute
+        DynamoDBSaveExpression saveExpression = new DynamoDBSaveExpression().withExpectedEntry(
+                getTableModel(entity.getClass()).hashKey().name(), new ExpectedAttributeValue(false));
+        try {
+            dynamoDBMapper.save(entity, saveExpression);
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+        snapshot(entity);
+        evictEntity(entity);
+        maybeEmitEvent(entity, AfterSaveEvent.class, AfterSaveEvent::new);
+        return true;
+    }
+
+    /**
+     * Sends the attributes that changed since the snapshot of the entity was taken.
+     *
+     * @return {@code false} if the entity has to be saved in full
+     */
+    @SuppressWarnings("unchecked")
+    private <T> boolean saveChanges(T entity) {
+        Class<T> domainClass = (Class<T>) entity.getClass();
+        if (entitySnapshots == null || !entitySnapshots.isTracked(domainClass)) {
+            return false;
+        }
+        Map<String, AttributeValue> snapshot = entitySnapshots.get(entity);
+        DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+        if (snapshot == null
+                || !entitySnapshots.supportsPartialUpdates(tableModel, dynamoDBMapperConfig.getSaveBehavior())) {
+            return false;
+        }
+
+        Map<String, AttributeValue> key = tableModel.convertKey(entity);
+        for (Map.Entry<String, AttributeValue> keyAttribute : key.entrySet()) {
+            if (!keyAttribute.getValue().equals(snapshot.get(keyAttribute.getKey()))) {
+                // A different item altogether
+                return false;
+            }
+        }
+
+        Map<String, AttributeValue> item = tableModel.convert(entity);
+        UpdateItemRequest request = new UpdateItemRequest()
+                .withTableName(resolveTableName(domainClass, dynamoDBMapperConfig)).withKey(key);
+        StringJoiner set = new StringJoiner(", ", "SET ", "").setEmptyValue("");
+        StringJoiner remove = new StringJoiner(", ", "REMOVE ", "").setEmptyValue("");
+        int changes = 0;
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            if (!key.containsKey(attribute.getKey())
+                    && !attribute.getValue().equals(snapshot.get(attribute.getKey()))) {
+                request.addExpressionAttributeNamesEntry("#a" + changes, attribute.getKey());
+                request.addExpressionAttributeValuesEntry(":a" + changes, attribute.getValue());
+                set.add("#a" + changes + " = :a" + changes);
+                changes++;
+            }
+        }
+        for (String attributeName : snapshot.keySet()) {
+            if (!item.containsKey(attributeName)) {
+                request.addExpressionAttributeNamesEntry("#a" + changes, attributeName);
+                remove.add("#a" + changes);
+                changes++;
+            }
+        }
+        if (changes == 0) {
+            return true;
+        }
+
+        // Without the condition, an item deleted in the meantime would be recreated with the changes only
+        StringJoiner updateExpression = new StringJoiner(" ");
+        updateExpression.add(set.toString()).add(remove.toString());
+        request.withUpdateExpression(updateExpression.toString().trim())
+                .withConditionExpression("attribute_exists(#hashKey)")
+                .addExpressionAttributeNamesEntry("#hashKey", tableModel.hashKey().name());
+        try {
+            amazonDynamoDB.updateItem(request);
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+        entitySnapshots.record(entity, key, item);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void snapshot(@Nullable T entity) {
+        if (entity != null && entitySnapshots != null && entitySnapshots.isTracked(entity.getClass())) {
+            DynamoDBMapperTableModel<T> tableModel = getTableModel((Class<T>) entity.getClass());
+            entitySnapshots.record(entity, tableModel.convertKey(entity), tableModel.convert(entity));
+        }
+    }
+
+    /**
+     * Takes the snapshot of a loaded entity, if configured, and publishes the {@link AfterLoadEvent}.
+     */
+    <T> void afterLoad(@Nullable T entity) {
+        snapshot(entity);
+        maybeEmitEvent(entity, AfterLoadEvent.class, AfterLoadEvent::new);
+    }
+
+    /**
+     * @return Whether writes of the domain class have to go through this template, as they are buffered, cached or
+     *         tracked by snapshots
+     */
+    boolean isWriteManaged(Class<?> domainClass) {
+        return (writeBehindBuffer != null && writeBehindBuffer.isBuffered(domainClass)) || isCached(domainClass)
+                || (entitySnapshots != null && entitySnapshots.isTracked(domainClass));
+    }
+
+    /**
+     * @return Whether loads of the domain class are served from the {@link EntityCache}
+     */
+    boolean isCached(Class<?> domainClass) {
+        return entityCache != null && entityCache.isCached(domainClass);
+    }
+
     @Override
     public List<FailedBatch> batchSave(Iterable<?> entities) {
-        entities.forEach(it -> maybeEmitEvent(it, BeforeSaveEvent::new));
+        maybeEmitBatchEvent(entities, BeforeBatchSaveEvent.class, BeforeBatchSaveEvent::new, BeforeSaveEvent.class,
+                BeforeSaveEvent::new);
+        entities.forEach(this::discardBuffered);
 
-        List<FailedBatch> result = dynamoDBMapper.batchSave(entities);
+        List<FailedBatch> result = batchWriter == null ? dynamoDBMapper.batchSave(entities)
+                : batchWriter.write(entities, dynamoDBMapper::batchSave);
 
-        entities.forEach(it -> maybeEmitEvent(it, AfterSaveEvent::new));
+        entities.forEach(this::evictEntity);
+        maybeEmitBatchEvent(entities, AfterBatchSaveEvent.class, AfterBatchSaveEvent::new, AfterSaveEvent.class,
+                AfterSaveEvent::new);
         return result;
     }
 
     @Override
     public <T> T delete(T entity) {
-        maybeEmitEvent(entity, BeforeDeleteEvent::new);
+        maybeEmitEvent(entity, BeforeDeleteEvent.class, BeforeDeleteEvent::new);
+        discardBuffered(entity);
         dynamoDBMapper.delete(entity);
-        maybeEmitEvent(entity, AfterDeleteEvent::new);
+        evictEntity(entity);
+        maybeEmitEvent(entity, AfterDeleteEvent.class, AfterDeleteEvent::new);
         return entity;
     }
 
     @Override
     public List<FailedBatch> batchDelete(Iterable<?> entities) {
-        entities.forEach(it -> maybeEmitEvent(it, BeforeDeleteEvent::new));
+        maybeEmitBatchEvent(entities, BeforeBatchDeleteEvent.class, BeforeBatchDeleteEvent::new,
+                BeforeDeleteEvent.class, BeforeDeleteEvent::new);
+        entities.forEach(this::discardBuffered);
+
+        List<FailedBatch> result = batchWriter == null ? dynamoDBMapper.batchDelete(entities)
+                : batchWriter.write(entities, dynamoDBMapper::batchDelete);
+
+        entities.forEach(this::evictEntity);
+        maybeEmitBatchEvent(entities, AfterBatchDeleteEvent.class, AfterBatchDeleteEvent::new,
+                AfterDeleteEvent.class, AfterDeleteEvent::new);
+        return result;
+    }
+
+    @Override
+    public <T> boolean deleteByKey(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey) {
+        DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+        T key = tableModel.createKey(hashKey, rangeKey);
+        maybeEmitEvent(key, BeforeDeleteEvent.class, BeforeDeleteEvent::new);
+        return deleteKey(domainClass, tableModel, key);
+    }
+
+    private <T> boolean deleteKey(Class<T> domainClass, DynamoDBMapperTableModel<T> tableModel, T key) {
+        // The condition tells whether there was an item to delete without reading it
+        DeleteItemRequest request = new DeleteItemRequest()
+                .withTableName(resolveTableName(domainClass, dynamoDBMapperConfig))
+                .withKey(tableModel.convertKey(key))
+                .withConditionExpression("attribute_exists(#hashKey)")
+                .addExpressionAttributeNamesEntry("#hashKey", tableModel.hashKey().name());
+        if (returnDeletedItems) {
+            request.setReturnValues(ReturnValue.ALL_OLD);
+        }
+
+        // An item that has only been buffered so far exists as well
+        boolean buffered = discardBuffered(domainClass, request.getKey());
+        DeleteItemResult result;
+        try {
+            result = amazonDynamoDB.deleteItem(request);
+        } catch (ConditionalCheckFailedException e) {
+            return buffered;
+        }
+
+        evict(domainClass, request.getKey());
+        if (returnDeletedItems) {
+            maybeEmitEvent(tableModel.unconvert(result.getAttributes()), AfterDeleteEvent.class,
+                    AfterDeleteEvent::new);
+        }
+        return true;
+    }
+
+    @Override
+    public <T> List<FailedBatch> batchDeleteByKeys(Class<T> domainClass, List<KeyPair> keyPairs) {
+        // The mapper only takes the keys of an entity into account for a delete request
+        DynamoDBMapperTableModel<T> tableModel = getTableModel(domainClass);
+        List<T> keys = keyPairs.stream()
+                .map(keyPair -> tableModel.createKey(keyPair.getHashKey(), keyPair.getRangeKey()))
+                .collect(Collectors.toList());
+        maybeEmitBatchEvent(keys, BeforeBatchDeleteEvent.class, BeforeBatchDeleteEvent::new,
+                BeforeDeleteEvent.class, BeforeDeleteEvent::new);
+
+        if (returnDeletedItems) {
+            keys.forEach(key -> deleteKey(domainClass, tableModel, key));
+            return Collections.emptyList();
+        }
+
+        keys.forEach(this::discardBuffered);
 
-        List<FailedBatch> result = dynamoDBMapper.batchDelete(entities);
+        List<FailedBatch> result = batchWriter == null ? dynamoDBMapper.batchDelete(keys)
+                : batchWriter.write(keys, dynamoDBMapper::batchDelete);
 
-        entities.forEach(it -> maybeEmitEvent(it, AfterDeleteEvent::new));
+        keys.forEach(this::evictEntity);
+        return result;
+    }
+
+    @Override
+    public <T> long increment(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, String attributeName,
+            long delta) {
+        UpdateItemRequest request = attributeUpdate(domainClass, hashKey, rangeKey, attributeName,
+                "ADD #attribute :value", new AttributeValue().withN(Long.toString(delta)))
+                        .withReturnValues(ReturnValue.UPDATED_NEW);
+        beforeUpdateInPlace(domainClass, request.getKey());
+        UpdateItemResult result = amazonDynamoDB.updateItem(request);
+        evict(domainClass, request.getKey());
+        return Long.parseLong(result.getAttributes().get(attributeName).getN());
+    }
+
+    @Override
+    public <T> void addToSet(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey, String attributeName,
+            Set<?> values) {
+        Assert.notEmpty(values, "values must not be empty!");
+        UpdateItemRequest request = attributeUpdate(domainClass, hashKey, rangeKey, attributeName,
+                "ADD #attribute :value", convertAttribute(domainClass, attributeName, values));
+        beforeUpdateInPlace(domainClass, request.getKey());
+        amazonDynamoDB.updateItem(request);
+        evict(domainClass, request.getKey());
+    }
+
+    @Override
+    public <T> void removeFromSet(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey,
+            String attributeName, Set<?> values) {
+        Assert.notEmpty(values, "values must not be empty!");
+        UpdateItemRequest request = attributeUpdate(domainClass, hashKey, rangeKey, attributeName,
+                "DELETE #attribute :value", convertAttribute(domainClass, attributeName, values))
+                        .withConditionExpression("attribute_exists(#hashKey)").addExpressionAttributeNamesEntry(
+                                "#hashKey", getTableModel(domainClass).hashKey().name());
+        beforeUpdateInPlace(domainClass, request.getKey());
+        try {
+            amazonDynamoDB.updateItem(request);
+        } catch (ConditionalCheckFailedException e) {
+            // No item, so nothing to remove
+            return;
+        }
+        evict(domainClass, request.getKey());
+    }
+
+    @Override
+    public <T> boolean setIfAbsent(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey,
+            String attributeName, Object value) {
+        Assert.notNull(value, "value must not be null!");
+        UpdateItemRequest request = attributeUpdate(domainClass, hashKey, rangeKey, attributeName,
+                "SET #attribute = :value", convertAttribute(domainClass, attributeName, value))
+                        .withConditionExpression("attribute_not_exists(#attribute)");
+        beforeUpdateInPlace(domainClass, request.getKey());
+        try {
+            amazonDynamoDB.updateItem(request);
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+        evict(domainClass, request.getKey());
+        return true;
+    }
+
+    /**
+     * Writes a buffered save of the item first, so the update applies on top of it, and drops the snapshots of the
+     * item, which no longer match it afterwards.
+     */
+    private void beforeUpdateInPlace(Class<?> domainClass, Map<String, AttributeValue> key) {
+        if (writeBehindBuffer != null && writeBehindBuffer.isBuffered(domainClass)) {
+            List<FailedBatch> failedBatches = writeBehindBuffer.flush(domainClass, key);
+            if (!failedBatches.isEmpty()) {
+                throw new BatchWriteException("The buffered save of the item could not be written",
+                        failedBatches.get(0).getException());
+            }
+        }
+        if (entitySnapshots != null && entitySnapshots.isTracked(domainClass)) {
+            entitySnapshots.discard(domainClass, key);
+        }
+    }
+
+    private <T> UpdateItemRequest attributeUpdate(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey,
+            String attributeName, String updateExpression, AttributeValue value) {
+        Assert.hasText(attributeName, "attributeName must not be empty!");
+        return new UpdateItemRequest().withTableName(resolveTableName(domainClass, dynamoDBMapperConfig))
+                .withKey(getTableModel(domainClass).convertKey(hashKey, rangeKey))
+                .withUpdateExpression(updateExpression).addExpressionAttributeNamesEntry("#attribute", attributeName)
+                .addExpressionAttributeValuesEntry(":value", value);
+    }
+
+    private <T> AttributeValue convertAttribute(Class<T> domainClass, String attributeName, Object value) {
+        return getTableModel(domainClass).<Object> field(attributeName).convert(value);
+    }
+
+    @Override
+    public <T> List<FailedBatch> batchDeleteStream(Class<T> domainClass, Stream<? extends T> entities) {
+        // Without a configured writer, the chunks are written one after the other on the calling thread
+        ParallelBatchWriter writer = batchWriter != null ? batchWriter
+                : new ParallelBatchWriter(amazonDynamoDB, Runnable::run);
+
+        AtomicLong deletedItems = new AtomicLong();
+        IntConsumer progress = deleteProgressListener == null ? null
+                : chunkItems -> deleteProgressListener.onProgress(domainClass, deletedItems.addAndGet(chunkItems));
+
+        try (Stream<? extends T> toDelete = entities) {
+            // Only the buffered saves of the deleted keys are dropped, as they stream through
+            Iterable<Object> iterable = toDelete.peek(this::discardBuffered).map(Object.class::cast)::iterator;
+            return writer.write(iterable, this::deleteChunk, progress);
+        } finally {
+            evict(domainClass);
+        }
+    }
+
+    /**
+     * Deletes a chunk of {@link #batchDeleteStream(Class, Stream)}, publishing the batch events as
+     * {@link #batchDelete(Iterable)} does - from the thread writing the chunk.
+     */
+    private List<FailedBatch> deleteChunk(List<Object> chunk) {
+        maybeEmitBatchEvent(chunk, BeforeBatchDeleteEvent.class, BeforeBatchDeleteEvent::new, BeforeDeleteEvent.class,
+                BeforeDeleteEvent::new);
+        List<FailedBatch> result = dynamoDBMapper.batchDelete(chunk);
+        maybeEmitBatchEvent(chunk, AfterBatchDeleteEvent.class, AfterBatchDeleteEvent::new, AfterDeleteEvent.class,
+                AfterDeleteEvent::new);
         return result;
     }
 
@@ -199,6 +988,21 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
                 dynamoDBMapperConfig.getPaginationLoadingStrategy(), dynamoDBMapperConfig);
     }
 
+    @Override
+    public <T> QueryResultPage<T> queryPage(Class<T> clazz, QueryRequest queryRequest) {
+        QueryResult queryResult = amazonDynamoDB.query(queryRequest);
+
+        QueryResultPage<T> resultPage = new QueryResultPage<>();
+        resultPage.setResults(dynamoDBMapper.marshallIntoObjects(clazz, queryResult.getItems(), dynamoDBMapperConfig));
+        resultPage.setLastEvaluatedKey(queryResult.getLastEvaluatedKey());
+        resultPage.setCount(queryResult.getCount());
+        resultPage.setScannedCount(queryResult.getScannedCount());
+        resultPage.setConsumedCapacity(queryResult.getConsumedCapacity());
+
+        maybeEmitEvent(clazz, resultPage, AfterQueryPageEvent.class, AfterQueryPageEvent::new);
+        return resultPage;
+    }
+
     @Override
     public <T> int count(Class<T> clazz, QueryRequest mutableQueryRequest) {
         mutableQueryRequest.setSelect(Select.COUNT);
@@ -238,6 +1042,202 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
         return dynamoDBMapper.getTableModel(domainClass, dynamoDBMapperConfig);
     }
 
+    DynamoDBMapper getDynamoDBMapper() {
+        return dynamoDBMapper;
+    }
+
+    DynamoDBMapperConfig getDynamoDBMapperConfig() {
+        return dynamoDBMapperConfig;
+    }
+
+    static String resolveTableName(Class<?> domainClass, DynamoDBMapperConfig dynamoDBMapperConfig) {
+        TableNameResolver tableNameResolver = dynamoDBMapperConfig.getTableNameResolver();
+        if (tableNameResolver == null) {
+            tableNameResolver = DefaultTableNameResolver.INSTANCE;
+        }
+        return tableNameResolver.getTableName(domainClass, dynamoDBMapperConfig);
+    }
+
+    static boolean isConsistentRead(DynamoDBMapperConfig dynamoDBMapperConfig) {
+        return dynamoDBMapperConfig.getConsistentReads() == ConsistentReads.CONSISTENT;
+    }
+
+    /**
+     * Writes a batch flushed by the {@link WriteBehindBuffer} and publishes an {@link AfterSaveEvent} for each entity
+     * that has been written.
+     */
+    private List<FailedBatch> writeBehind(List<Object> entities) {
+        List<FailedBatch> result = batchWriter == null ? dynamoDBMapper.batchSave(entities)
+                : batchWriter.write(entities, dynamoDBMapper::batchSave);
+
+        // The unprocessed items are reported in their attribute value form
+        Set<List<Object>> failedItems = new HashSet<>();
+        for (FailedBatch failedBatch : result) {
+            failedBatch.getUnprocessedItems().forEach((tableName, writeRequests) -> {
+                for (WriteRequest writeRequest : writeRequests) {
+                    if (writeRequest.getPutRequest() != null) {
+                        failedItems.add(Arrays.asList(tableName, writeRequest.getPutRequest().getItem()));
+                    }
+                }
+            });
+        }
+
+        for (Object entity : entities) {
+            evictEntity(entity);
+            if (failedItems.isEmpty() || !failedItems.contains(
+                    Arrays.asList(resolveTableName(entity.getClass(), dynamoDBMapperConfig), convertItem(entity)))) {
+                maybeEmitEvent(entity, AfterSaveEvent.class, AfterSaveEvent::new);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<String, AttributeValue> convertItem(T entity) {
+        return getTableModel((Class<T>) entity.getClass()).convert(entity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<String, AttributeValue> convertKey(T entity) {
+        return getTableModel((Class<T>) entity.getClass()).convertKey(entity);
+    }
+
+    private boolean discardBuffered(Object entity) {
+        if (writeBehindBuffer == null || !writeBehindBuffer.isBuffered(entity.getClass())) {
+            return false;
+        }
+        return discardBuffered(entity.getClass(), convertKey(entity));
+    }
+
+    private boolean discardBuffered(Class<?> domainClass, Map<String, AttributeValue> key) {
+        // Discards wait for a flush in progress, which is only needed for buffered classes
+        return writeBehindBuffer != null && writeBehindBuffer.isBuffered(domainClass)
+                && writeBehindBuffer.discard(domainClass, key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void evictEntity(@Nullable T entity) {
+        if (entity != null) {
+            Class<T> domainClass = (Class<T>) entity.getClass();
+            if (entityCache != null && entityCache.isCached(domainClass)) {
+                entityCache.evict(domainClass, getTableModel(domainClass).convertKey(entity));
+            }
+            evictPageTokens(domainClass);
+        }
+    }
+
+    private void evict(Class<?> domainClass, Map<String, AttributeValue> key) {
+        if (entityCache != null) {
+            entityCache.evict(domainClass, key);
+        }
+        evictPageTokens(domainClass);
+    }
+
+    private void evict(Class<?> domainClass) {
+        if (entityCache != null) {
+            entityCache.evict(domainClass);
+        }
+        evictPageTokens(domainClass);
+    }
+
+    private void evictPageTokens(Class<?> domainClass) {
+        if (pageTokenCache != null) {
+            pageTokenCache.evict(domainClass);
+        }
+    }
+
+    /**
+     * Emits a mapping event for an entity, see {@link #maybeEmitEvent(Class, Object, Class, Function)}.
+     */
+    protected <T> void maybeEmitEvent(@Nullable T entity, Class<?> eventType,
+            Function<T, DynamoDBMappingEvent<T>> factory) {
+        if (entity != null) {
+            maybeEmitEvent(entity.getClass(), entity, eventType, factory);
+        }
+    }
+
+    /**
+     * Emits a mapping event through the {@link DynamoDBEventListenerRegistry} if one is configured, which creates the
+     * event only if a listener is subscribed to it, or else publishes it through the {@link ApplicationContext}. All
+     * but the before-events are emitted on the {@link #setAfterEventExecutor(StripedExecutor) after-event executor} if
+     * one is configured.
+     *
+     * @param domainClass
+     *            the domain class of the entities carried by the source
+     * @param source
+     *            an entity or the returned page or list of entities - nothing is emitted for {@code null}
+     * @param eventType
+     *            the type of the event created by the factory
+     * @param factory
+     *            creates the event
+     */
+    protected <T> void maybeEmitEvent(Class<?> domainClass, @Nullable T source, Class<?> eventType,
+            Function<T, DynamoDBMappingEvent<T>> factory) {
+        if (source == null || !hasListeners(domainClass, eventType)) {
+            return;
+        }
+        if (afterEventExecutor != null && !BEFORE_EVENTS.contains(eventType)) {
+            afterEventExecutor.execute(eventKey(domainClass, source),
+                    () -> emitEvent(domainClass, source, eventType, factory));
+        } else {
+            emitEvent(domainClass, source, eventType, factory);
+        }
+    }
+
+    private <T> void emitEvent(Class<?> domainClass, T source, Class<?> eventType,
+            Function<T, DynamoDBMappingEvent<T>> factory) {
+        if (eventListenerRegistry != null) {
+            eventListenerRegistry.dispatch(domainClass, source, eventType, factory);
+        } else {
+            maybeEmitEvent(source, factory);
+        }
+    }
+
+    /**
+     * Lets unobserved events skip the work done before their dispatch, like resolving the key of the after-event
+     * executor or grouping a batch. Without a {@link DynamoDBEventListenerRegistry} the subscriptions are unknown.
+     */
+    private boolean hasListeners(Class<?> domainClass, Class<?> eventType) {
+        if (eventListenerRegistry != null) {
+            return eventListenerRegistry.hasListeners(eventType, domainClass);
+        }
+        return eventPublisher != null;
+    }
+
+    /**
+     * Events of an entity are ordered by its hash key, events of pages and batches by their domain class.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Object eventKey(Class<?> domainClass, T source) {
+        if (source instanceof List || source instanceof ScanResultPage || source instanceof QueryResultPage) {
+            return domainClass;
+        }
+        DynamoDBMapperTableModel<T> tableModel = getTableModel((Class<T>) source.getClass());
+        return Arrays.asList(domainClass, tableModel.hashKey().get(source));
+    }
+
+    /**
+     * Emits one batch event per entity class, carrying the entities of that class, or, if
+     * {@link #setPerEntityBatchEvents(boolean)} is enabled, one event per entity.
+     */
+    private void maybeEmitBatchEvent(Iterable<?> entities, Class<?> batchEventType,
+            Function<List<Object>, DynamoDBMappingEvent<List<Object>>> batchFactory, Class<?> eventType,
+            Function<Object, DynamoDBMappingEvent<Object>> factory) {
+        if (perEntityBatchEvents) {
+            entities.forEach(it -> maybeEmitEvent(it, eventType, factory));
+        } else {
+            // A mixed batch must only reach the listeners of the respective domain class
+            Map<Class<?>, List<Object>> batches = new LinkedHashMap<>();
+            for (Object entity : entities) {
+                Class<?> domainClass = entity.getClass();
+                if (hasListeners(domainClass, batchEventType)) {
+                    batches.computeIfAbsent(domainClass, type -> new ArrayList<>()).add(entity);
+                }
+            }
+            batches.forEach((domainClass, batch) -> maybeEmitEvent(domainClass, batch, batchEventType, batchFactory));
+        }
+    }
+
     protected <T> void maybeEmitEvent(@Nullable T source, Function<T, DynamoDBMappingEvent<T>> factory) {
         if (eventPublisher != null) {
             if (source != null) {
@@ -257,23 +1257,32 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
         TransactionWriteRequest twr = new TransactionWriteRequest();
 
         if (!CollectionUtils.isEmpty(updateEntities)) {
-            updateEntities.forEach(it -> maybeEmitEvent(it, BeforeSaveEvent::new));
+            updateEntities.forEach(it -> maybeEmitEvent(it, BeforeSaveEvent.class, BeforeSaveEvent::new));
+            updateEntities.forEach(this::discardBuffered);
             updateEntities.forEach(twr::addUpdate);
         }
 
         if (!CollectionUtils.isEmpty(deleteEntities)) {
-            deleteEntities.forEach(it -> maybeEmitEvent(it, BeforeDeleteEvent::new));
+            deleteEntities.forEach(it -> maybeEmitEvent(it, BeforeDeleteEvent.class, BeforeDeleteEvent::new));
+            deleteEntities.forEach(this::discardBuffered);
             deleteEntities.forEach(twr::addDelete);
         }
 
         dynamoDBMapper.transactionWrite(twr);
 
         if (!CollectionUtils.isEmpty(updateEntities)) {
-            updateEntities.forEach(it -> maybeEmitEvent(it, AfterSaveEvent::new));
+            updateEntities.forEach(this::evictEntity);
+        }
+        if (!CollectionUtils.isEmpty(deleteEntities)) {
+            deleteEntities.forEach(this::evictEntity);
+        }
+
+        if (!CollectionUtils.isEmpty(updateEntities)) {
+            updateEntities.forEach(it -> maybeEmitEvent(it, AfterSaveEvent.class, AfterSaveEvent::new));
         }
 
         if (!CollectionUtils.isEmpty(deleteEntities)) {
-            deleteEntities.forEach(it -> maybeEmitEvent(it, AfterDeleteEvent::new));
+            deleteEntities.forEach(it -> maybeEmitEvent(it, AfterDeleteEvent.class, AfterDeleteEvent::new));
         }
     }
 
@@ -282,7 +1291,7 @@ public class DynamoDBTemplate implements DynamoDBOperations, ApplicationContextA
         TransactionLoadRequest tlr = new TransactionLoadRequest();
         entities.forEach(tlr::addLoad);
         List<Object> results = dynamoDBMapper.transactionLoad(tlr);
-        results.forEach(entity -> maybeEmitEvent(entity, AfterLoadEvent::new));
+        results.forEach(this::afterLoad);
         return results;
     }
 }
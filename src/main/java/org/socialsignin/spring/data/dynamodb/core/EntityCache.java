@@ -0,0 +1,219 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches the items of selected domain classes in front of the key based loads of {@link DynamoDBTemplate}. Each
+ * registered domain class has its own bound on the number of items (least recently used ones are dropped first) and
+ * its own time to live. Domain classes that are not registered are never cached.
+ * <p>
+ * Items are stored in their attribute value form and unmarshalled on every hit, so callers never share an instance.
+ * {@link DynamoDBTemplate} evicts an item whenever it writes or deletes it. Writes that bypass the template are only
+ * picked up once the item expired.
+ */
+public class EntityCache {
+
+    private final LongSupplier clock;
+    private final ConcurrentMap<Class<?>, Items> caches = new ConcurrentHashMap<>();
+
+    public EntityCache() {
+        this(System::currentTimeMillis);
+    }
+
+    EntityCache(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Enables caching for the given domain class.
+     *
+     * @param domainClass
+     *            must not be {@code null}
+     * @param maxItems
+     *            the maximum number of items of the domain class to cache
+     * @param ttl
+     *            must not be {@code null} - how long an item is served from the cache
+     * @return this cache
+     */
+    public EntityCache register(Class<?> domainClass, int maxItems, Duration ttl) {
+        Assert.notNull(domainClass, "domainClass must not be null!");
+        Assert.isTrue(maxItems > 0, "maxItems must be greater than 0!");
+        Assert.notNull(ttl, "ttl must not be null!");
+
+        caches.put(domainClass, new Items(maxItems, ttl.toMillis()));
+        return this;
+    }
+
+    public boolean isCached(Class<?> domainClass) {
+        return caches.containsKey(domainClass);
+    }
+
+    /**
+     * @param domainClass
+     *            The domain class of the item
+     * @param key
+     *            The key attributes of the item
+     * @return The attributes of the item or {@code null} if it is not cached or expired
+     */
+    @Nullable
+    public Map<String, AttributeValue> get(Class<?> domainClass, Map<String, AttributeValue> key) {
+        Items items = caches.get(domainClass);
+        return items == null ? null : items.get(key, clock.getAsLong());
+    }
+
+    /**
+     * @param domainClass
+     *            The domain class of the item
+     * @param key
+     *            The key attributes of the item
+     * @param generation
+     *            The {@link #generation(Class)} obtained before the item was read - if the domain class has been
+     *            written to since, the item is discarded
+     * @param item
+     *            All attributes of the item
+     */
+    public void put(Class<?> domainClass, Map<String, AttributeValue> key, long generation,
+            Map<String, AttributeValue> item) {
+        Items items = caches.get(domainClass);
+        if (items != null) {
+            items.put(key, generation, item, clock.getAsLong());
+        }
+    }
+
+    /**
+     * Invalidates a single item.
+     *
+     * @param domainClass
+     *            The domain class that has been written to
+     * @param key
+     *            The key attributes of the written item
+     */
+    public void evict(Class<?> domainClass, Map<String, AttributeValue> key) {
+        Items items = caches.get(domainClass);
+        if (items != null) {
+            items.evict(key);
+        }
+    }
+
+    /**
+     * Invalidates all items of the given domain class.
+     *
+     * @param domainClass
+     *            The domain class that has been written to
+     */
+    public void evict(Class<?> domainClass) {
+        Items items = caches.get(domainClass);
+        if (items != null) {
+            items.clear();
+        }
+    }
+
+    /**
+     * @param domainClass
+     *            The domain class
+     * @return A number that changes on every eviction of an item of the domain class
+     */
+    public long generation(Class<?> domainClass) {
+        Items items = caches.get(domainClass);
+        return items == null ? 0 : items.generation();
+    }
+
+    public void clear() {
+        caches.values().forEach(Items::clear);
+    }
+
+    int size(Class<?> domainClass) {
+        Items items = caches.get(domainClass);
+        return items == null ? 0 : items.size();
+    }
+
+    private static final class Items {
+        private final long ttlMillis;
+        private final Map<Map<String, AttributeValue>, Item> entries;
+        private long generation;
+
+        private Items(int maxItems, long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+            this.entries = new LinkedHashMap<Map<String, AttributeValue>, Item>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Map<String, AttributeValue>, Item> eldest) {
+                    return size() > maxItems;
+                }
+            };
+        }
+
+        private synchronized Map<String, AttributeValue> get(Map<String, AttributeValue> key, long now) {
+            Item item = entries.get(key);
+            if (item == null) {
+                return null;
+            }
+            if (item.expiresAt <= now) {
+                entries.remove(key);
+                return null;
+            }
+            return item.attributes;
+        }
+
+        private synchronized void put(Map<String, AttributeValue> key, long generation,
+                Map<String, AttributeValue> attributes, long now) {
+            // A write happened while the item was read, so it might be stale already
+            if (generation == this.generation) {
+                entries.put(key, new Item(attributes, now + ttlMillis));
+            }
+        }
+
+        private synchronized void evict(Map<String, AttributeValue> key) {
+            generation++;
+            entries.remove(key);
+        }
+
+        private synchronized void clear() {
+            generation++;
+            entries.clear();
+        }
+
+        private synchronized long generation() {
+            return generation;
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+    }
+
+    private static final class Item {
+        private final Map<String, AttributeValue> attributes;
+        private final long expiresAt;
+
+        private Item(Map<String, AttributeValue> attributes, long expiresAt) {
+            this.attributes = attributes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
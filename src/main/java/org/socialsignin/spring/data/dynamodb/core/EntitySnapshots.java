@@ -0,0 +1,178 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAutoGenerateStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the attribute values of the entities of selected domain classes as they were loaded, so
+ * {@link DynamoDBTemplate#save(Object)} can send only the attributes that changed since - or nothing at all.
+ * <p>
+ * Snapshots are held per entity instance and only as long as the instance itself is reachable. Domain classes with a
+ * version attribute or with attributes generated on every write are always saved in full, as only the
+ * {@code DynamoDBMapper} takes care of those. The same goes for any {@code SaveBehavior} but {@code UPDATE}.
+ */
+public class EntitySnapshots {
+
+    private final Set<Class<?>> domainClasses = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Class<?>, Boolean> partialUpdates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<InstanceKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+    /** The instances holding a snapshot of an item, by domain class and key of the item */
+    private final ConcurrentMap<List<Object>, Set<InstanceKey>> instancesByKey = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /**
+     * Enables the snapshots for the given domain class.
+     *
+     * @param domainClass
+     *            must not be {@code null}
+     * @return this instance
+     */
+    public EntitySnapshots register(Class<?> domainClass) {
+        Assert.notNull(domainClass, "domainClass must not be null!");
+        domainClasses.add(domainClass);
+        return this;
+    }
+
+    public boolean isTracked(Class<?> domainClass) {
+        return domainClasses.contains(domainClass);
+    }
+
+    void record(Object entity, Map<String, AttributeValue> key, Map<String, AttributeValue> item) {
+        expungeCollected();
+        InstanceKey instanceKey = new InstanceKey(entity, Arrays.asList(entity.getClass(), key), collected);
+        // The instance may have held the snapshot of another item before
+        Snapshot previous = snapshots.remove(instanceKey);
+        if (previous != null) {
+            unindex(previous.instanceKey);
+        }
+        instancesByKey.computeIfAbsent(instanceKey.itemKey, k -> ConcurrentHashMap.newKeySet()).add(instanceKey);
+        snapshots.put(instanceKey, new Snapshot(instanceKey, item));
+    }
+
+    /**
+     * Drops the snapshots of an item, e.g. because the item is updated in place and no longer matches them.
+     */
+    void discard(Class<?> domainClass, Map<String, AttributeValue> key) {
+        expungeCollected();
+        Set<InstanceKey> instanceKeys = instancesByKey.remove(Arrays.asList(domainClass, key));
+        if (instanceKeys != null) {
+            instanceKeys.forEach(snapshots::remove);
+        }
+    }
+
+    /**
+     * @return The attribute values recorded for this very instance or {@code null} if there are none
+     */
+    @Nullable
+    Map<String, AttributeValue> get(Object entity) {
+        expungeCollected();
+        Snapshot snapshot = snapshots.get(new InstanceKey(entity, null, null));
+        return snapshot == null ? null : snapshot.item;
+    }
+
+    int size() {
+        expungeCollected();
+        return snapshots.size();
+    }
+
+    /**
+     * @param saveBehavior
+     *            The behaviour the mapper saves the items with, {@code null} meaning the default {@code UPDATE}
+     * @return Whether the items of the table can be saved partially without bypassing a feature of the mapper
+     */
+    <T> boolean supportsPartialUpdates(DynamoDBMapperTableModel<T> tableModel, @Nullable SaveBehavior saveBehavior) {
+        // Only UPDATE shares the semantics of the diff: null attributes are removed, attributes not modeled are kept
+        if (saveBehavior != null && saveBehavior != SaveBehavior.UPDATE) {
+            return false;
+        }
+        return partialUpdates.computeIfAbsent(tableModel.targetType(),
+                c -> !tableModel.versioned() && tableModel.fields().stream()
+                        .noneMatch(field -> field.getGenerateStrategy() == DynamoDBAutoGenerateStrategy.ALWAYS));
+    }
+
+    private void expungeCollected() {
+        Reference<?> reference;
+        while ((reference = collected.poll()) != null) {
+            snapshots.remove(reference);
+            unindex((InstanceKey) reference);
+        }
+    }
+
+    private void unindex(InstanceKey instanceKey) {
+        instancesByKey.computeIfPresent(instanceKey.itemKey, (itemKey, instanceKeys) -> {
+            instanceKeys.remove(instanceKey);
+            return instanceKeys.isEmpty() ? null : instanceKeys;
+        });
+    }
+
+    private static final class Snapshot {
+        private final InstanceKey instanceKey;
+        private final Map<String, AttributeValue> item;
+
+        private Snapshot(InstanceKey instanceKey, Map<String, AttributeValue> item) {
+            this.instanceKey = instanceKey;
+            this.item = item;
+        }
+    }
+
+    /**
+     * Identifies an entity by identity - entities may well implement {@code equals} based on mutable state.
+     */
+    private static final class InstanceKey extends WeakReference<Object> {
+        private final int hashCode;
+        @Nullable
+        private final List<Object> itemKey;
+
+        private InstanceKey(Object entity, @Nullable List<Object> itemKey, @Nullable ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            this.hashCode = System.identityHashCode(entity);
+            this.itemKey = itemKey;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof InstanceKey)) {
+                return false;
+            }
+            Object entity = get();
+            return entity != null && entity == ((InstanceKey) obj).get();
+        }
+    }
+}
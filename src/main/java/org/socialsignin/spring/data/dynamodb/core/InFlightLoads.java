@@ -0,0 +1,92 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller (the leader) loads the item, all callers arriving
+ * while that load is in flight wait for and share its result. Each follower receives its own instance, unmarshalled
+ * from the attribute values of the leader's entity, so no entity instance is shared between threads.
+ */
+final class InFlightLoads {
+
+    private final ConcurrentMap<List<Object>, Flight> flights = new ConcurrentHashMap<>();
+
+    <T> T load(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey,
+            DynamoDBMapperTableModel<T> tableModel, Supplier<T> loader) {
+        List<Object> key = Arrays.asList(domainClass, hashKey, rangeKey);
+        Flight flight = new Flight();
+        Flight current = flights.compute(key, (k, existing) -> {
+            if (existing == null) {
+                return flight;
+            }
+            existing.followers++;
+            return existing;
+        });
+
+        if (current != flight) {
+            Map<String, AttributeValue> item = await(current);
+            return item == null ? null : tableModel.unconvert(item);
+        }
+
+        try {
+            T entity = loader.get();
+            // No follower can join once the flight is removed, so the count is final afterwards
+            flights.remove(key, flight);
+            if (flight.followers > 0) {
+                flight.item.complete(entity == null ? null : tableModel.convert(entity));
+            }
+            return entity;
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.item.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Map<String, AttributeValue> await(Flight flight) {
+        try {
+            return flight.item.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    int followers() {
+        return flights.values().stream().mapToInt(flight -> flight.followers).sum();
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Map<String, AttributeValue>> item = new CompletableFuture<>();
+        /** Only modified under the lock of the map entry */
+        private volatile int followers;
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects single key loads and dispatches them as one bulk load: a batch is opened by the first load and dispatched
+ * once {@link #setWindow(Duration)} has passed or {@link #setMaxBatchSize(int)} keys have been collected, whichever
+ * comes first. Each caller's future is completed with the item of its own key or with {@code null} if there is none.
+ * <p>
+ * Batches are dispatched on the given {@link ScheduledExecutorService}, which also runs the bulk load. Keys requested
+ * more than once in a batch are loaded once; every additional caller receives its own copy of the entity. A
+ * {@code LoadBatcher} is meant to be used by a single template.
+ */
+public class LoadBatcher {
+
+    private final ScheduledExecutorService scheduler;
+    private final Object lock = new Object();
+
+    private long windowNanos = TimeUnit.MILLISECONDS.toNanos(2);
+    private int maxBatchSize = 50;
+
+    /** Guarded by {@link #lock} */
+    private Batch pending;
+
+    /**
+     * @param scheduler
+     *            must not be {@code null} - dispatches the batches and runs the bulk loads
+     */
+    public LoadBatcher(ScheduledExecutorService scheduler) {
+        Assert.notNull(scheduler, "scheduler must not be null!");
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Adds a key to the current batch.
+     *
+     * @param domainClass
+     *            The domain class to load
+     * @param hashKey
+     *            The hash key of the item
+     * @param rangeKey
+     *            The range key of the item, {@code null} if the table has none
+     * @param batchLoader
+     *            Loads a whole batch, e.g. {@code DynamoDBTemplate#batchLoad(Map)}
+     * @param tableModels
+     *            Provides the table model of a domain class
+     * @return The future completed with the loaded entity
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> load(Class<T> domainClass, Object hashKey, @Nullable Object rangeKey,
+            Function<Map<Class<?>, List<KeyPair>>, List<Object>> batchLoader,
+            Function<Class<?>, DynamoDBMapperTableModel<?>> tableModels) {
+        DynamoDBMapperTableModel<T> tableModel = (DynamoDBMapperTableModel<T>) tableModels.apply(domainClass);
+        Request<T> request = new Request<>(domainClass, new KeyPair().withHashKey(hashKey).withRangeKey(rangeKey),
+                tableModel.convertKey(hashKey, rangeKey));
+
+        Batch full = null;
+        synchronized (lock) {
+            if (pending == null) {
+                pending = new Batch(batchLoader, tableModels);
+                pending.timer = schedule(pending);
+            }
+            pending.requests.add(request);
+            // Without a timer the batch would never be dispatched, so it is dispatched right away
+            if (pending.requests.size() >= maxBatchSize || pending.timer == null) {
+                full = pending;
+                pending = null;
+            }
+        }
+
+        if (full != null) {
+            if (full.timer != null) {
+                full.timer.cancel(false);
+            }
+            dispatch(full);
+        }
+        return request.result;
+    }
+
+    @Nullable
+    private ScheduledFuture<?> schedule(Batch batch) {
+        try {
+            return scheduler.schedule(() -> dispatchIfPending(batch), windowNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private void dispatchIfPending(Batch batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                return;
+            }
+            pending = null;
+        }
+        loadBatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        try {
+            scheduler.execute(() -> loadBatch(batch));
+        } catch (RejectedExecutionException e) {
+            loadBatch(batch);
+        }
+    }
+
+    private void loadBatch(Batch batch) {
+        Map<Class<?>, List<KeyPair>> itemsToGet = new LinkedHashMap<>();
+        Map<Class<?>, Set<Map<String, AttributeValue>>> requestedKeys = new HashMap<>();
+        for (Request<?> request : batch.requests) {
+            if (requestedKeys.computeIfAbsent(request.domainClass, c -> new HashSet<>()).add(request.key)) {
+                itemsToGet.computeIfAbsent(request.domainClass, c -> new ArrayList<>()).add(request.keyPair);
+            }
+        }
+
+        try {
+            Map<Class<?>, Map<Map<String, AttributeValue>, Object>> loaded = new HashMap<>();
+            for (Object entity : batch.batchLoader.apply(itemsToGet)) {
+                loaded.computeIfAbsent(entity.getClass(), c -> new HashMap<>()).put(keyOf(batch, entity), entity);
+            }
+
+            Set<Object> handedOut = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Request<?> request : batch.requests) {
+                Object entity = loaded.getOrDefault(request.domainClass, Collections.emptyMap()).get(request.key);
+                request.complete(entity == null || handedOut.add(entity) ? entity : copyOf(batch, entity));
+            }
+        } catch (RuntimeException | Error e) {
+            batch.requests.forEach(request -> request.result.completeExceptionally(e));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Map<String, AttributeValue> keyOf(Batch batch, T entity) {
+        return ((DynamoDBMapperTableModel<T>) batch.tableModels.apply(entity.getClass())).convertKey(entity);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyOf(Batch batch, T entity) {
+        DynamoDBMapperTableModel<T> tableModel = (DynamoDBMapperTableModel<T>) batch.tableModels
+                .apply(entity.getClass());
+        return tableModel.unconvert(tableModel.convert(entity));
+    }
+
+    /**
+     * @param window
+     *            How long a batch collects keys before it is dispatched - defaults to 2 milliseconds
+     */
+    public void setWindow(Duration window) {
+        Assert.notNull(window, "window must not be null!");
+        Assert.isTrue(!window.isNegative(), "window must not be negative!");
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * @param maxBatchSize
+     *            The number of keys that dispatches a batch right away - defaults to 50
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than 0!");
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    private static final class Batch {
+        private final List<Request<?>> requests = new ArrayList<>();
+        private final Function<Map<Class<?>, List<KeyPair>>, List<Object>> batchLoader;
+        private final Function<Class<?>, DynamoDBMapperTableModel<?>> tableModels;
+        private ScheduledFuture<?> timer;
+
+        private Batch(Function<Map<Class<?>, List<KeyPair>>, List<Object>> batchLoader,
+                Function<Class<?>, DynamoDBMapperTableModel<?>> tableModels) {
+            this.batchLoader = batchLoader;
+            this.tableModels = tableModels;
+        }
+    }
+
+    private static final class Request<T> {
+        private final Class<T> domainClass;
+        private final KeyPair keyPair;
+        private final Map<String, AttributeValue> key;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Request(Class<T> domainClass, KeyPair keyPair, Map<String, AttributeValue> key) {
+            this.domainClass = domainClass;
+            this.keyPair = keyPair;
+            this.key = key;
+        }
+
+        private void complete(@Nullable Object entity) {
+            result.complete(domainClass.cast(entity));
+        }
+    }
+}
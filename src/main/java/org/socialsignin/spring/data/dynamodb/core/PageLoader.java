@@ -0,0 +1,133 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads the pages of a {@link PageLoadingQueryList} or {@link PageLoadingScanList} one after the other. Every page
+ * is requested with a copy of the expression starting at the {@code LastEvaluatedKey} of the previous page, so the
+ * expression passed by the caller is never modified and may be shared between threads.
+ */
+final class PageLoader<T, P> {
+
+    private final Function<Map<String, AttributeValue>, P> pageLoader;
+    private final Function<P, List<T>> resultsOf;
+    private final Function<P, Map<String, AttributeValue>> lastEvaluatedKeyOf;
+    private Map<String, AttributeValue> lastEvaluatedKey;
+
+    private PageLoader(P firstPage, Function<Map<String, AttributeValue>, P> pageLoader, Function<P, List<T>> resultsOf,
+            Function<P, Map<String, AttributeValue>> lastEvaluatedKeyOf) {
+        this.pageLoader = pageLoader;
+        this.resultsOf = resultsOf;
+        this.lastEvaluatedKeyOf = lastEvaluatedKeyOf;
+        this.lastEvaluatedKey = lastEvaluatedKeyOf.apply(firstPage);
+    }
+
+    /**
+     * @param queryPage
+     *            reads a single page of the query
+     * @return A loader for the pages following the first page
+     */
+    static <T> PageLoader<T, QueryResultPage<T>> query(DynamoDBQueryExpression<T> queryExpression,
+            QueryResultPage<T> firstPage, Function<DynamoDBQueryExpression<T>, QueryResultPage<T>> queryPage) {
+        return new PageLoader<>(firstPage,
+                exclusiveStartKey -> queryPage.apply(startingAt(queryExpression, exclusiveStartKey)),
+                QueryResultPage::getResults, QueryResultPage::getLastEvaluatedKey);
+    }
+
+    /**
+     * @param scanPage
+     *            reads a single page of the scan
+     * @return A loader for the pages following the first page
+     */
+    static <T> PageLoader<T, ScanResultPage<T>> scan(DynamoDBScanExpression scanExpression,
+            ScanResultPage<T> firstPage, Function<DynamoDBScanExpression, ScanResultPage<T>> scanPage) {
+        return new PageLoader<>(firstPage,
+                exclusiveStartKey -> scanPage.apply(startingAt(scanExpression, exclusiveStartKey)),
+                ScanResultPage::getResults, ScanResultPage::getLastEvaluatedKey);
+    }
+
+    boolean atEndOfResults() {
+        return lastEvaluatedKey == null;
+    }
+
+    synchronized List<T> fetchNextPage() {
+        P page = pageLoader.apply(lastEvaluatedKey);
+        lastEvaluatedKey = lastEvaluatedKeyOf.apply(page);
+        return resultsOf.apply(page);
+    }
+
+    /**
+     * Eager loading would make the list call {@link #fetchNextPage()} before the loader is assigned, it is started
+     * by the list itself once it is constructed.
+     *
+     * @return The strategy to construct the list with
+     */
+    static PaginationLoadingStrategy initialLoadingStrategy(DynamoDBMapperConfig config) {
+        return PaginationLoadingStrategy.ITERATION_ONLY == config.getPaginationLoadingStrategy()
+                ? PaginationLoadingStrategy.ITERATION_ONLY
+                : PaginationLoadingStrategy.LAZY_LOADING;
+    }
+
+    static <T> DynamoDBQueryExpression<T> startingAt(DynamoDBQueryExpression<T> queryExpression,
+            Map<String, AttributeValue> exclusiveStartKey) {
+        DynamoDBQueryExpression<T> copy = new DynamoDBQueryExpression<T>()
+                .withConsistentRead(queryExpression.isConsistentRead())
+                .withScanIndexForward(queryExpression.isScanIndexForward())
+                .withHashKeyValues(queryExpression.getHashKeyValues())
+                .withRangeKeyConditions(queryExpression.getRangeKeyConditions())
+                .withIndexName(queryExpression.getIndexName()).withLimit(queryExpression.getLimit())
+                .withQueryFilter(queryExpression.getQueryFilter())
+                .withConditionalOperator(queryExpression.getConditionalOperator())
+                .withFilterExpression(queryExpression.getFilterExpression())
+                .withKeyConditionExpression(queryExpression.getKeyConditionExpression())
+                .withExpressionAttributeNames(queryExpression.getExpressionAttributeNames())
+                .withExpressionAttributeValues(queryExpression.getExpressionAttributeValues())
+                .withSelect(queryExpression.getSelect())
+                .withProjectionExpression(queryExpression.getProjectionExpression())
+                .withReturnConsumedCapacity(queryExpression.getReturnConsumedCapacity());
+        copy.setExclusiveStartKey(exclusiveStartKey);
+        return copy;
+    }
+
+    static DynamoDBScanExpression startingAt(DynamoDBScanExpression scanExpression,
+            Map<String, AttributeValue> exclusiveStartKey) {
+        DynamoDBScanExpression copy = new DynamoDBScanExpression().withIndexName(scanExpression.getIndexName())
+                .withScanFilter(scanExpression.getScanFilter()).withLimit(scanExpression.getLimit())
+                .withTotalSegments(scanExpression.getTotalSegments()).withSegment(scanExpression.getSegment())
+                .withConditionalOperator(scanExpression.getConditionalOperator())
+                .withFilterExpression(scanExpression.getFilterExpression())
+                .withExpressionAttributeNames(scanExpression.getExpressionAttributeNames())
+                .withExpressionAttributeValues(scanExpression.getExpressionAttributeValues())
+                .withSelect(scanExpression.getSelect())
+                .withProjectionExpression(scanExpression.getProjectionExpression())
+                .withReturnConsumedCapacity(scanExpression.getReturnConsumedCapacity())
+                .withConsistentRead(scanExpression.isConsistentRead());
+        copy.setExclusiveStartKey(exclusiveStartKey);
+        return copy;
+    }
+}
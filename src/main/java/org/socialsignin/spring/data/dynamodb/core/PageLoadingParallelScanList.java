@@ -0,0 +1,149 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedParallelScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.ParallelScanTask;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * {@link PaginatedParallelScanList} reading every segment through its own {@link PageLoader}, so the page events
+ * published by {@link DynamoDBTemplate#scanPage(Class, DynamoDBScanExpression)} follow the pages actually fetched
+ * by the caller instead of forcing the whole table to be read. Like the mapper's parallel scan, every batch holds
+ * the next page of each segment not read completely, the pages being read concurrently.
+ */
+class PageLoadingParallelScanList<T> extends PaginatedParallelScanList<T> {
+
+    private final List<PageLoader<T, ScanResultPage<T>>> segments;
+    private final Executor executor;
+    @Nullable
+    private final ExecutorService ownExecutor;
+
+    /**
+     * @param segmentExpressions
+     *            one expression per segment of the scan
+     * @param scanPage
+     *            reads a single page of a segment
+     * @param segmentExecutor
+     *            executor to read the pages of the segments on. Without one, the list reads them on threads of its
+     *            own - as the mapper does - which are released once every segment has been read.
+     */
+    PageLoadingParallelScanList(DynamoDBMapper mapper, Class<T> clazz, AmazonDynamoDB dynamo,
+            List<DynamoDBScanExpression> segmentExpressions,
+            Function<DynamoDBScanExpression, ScanResultPage<T>> scanPage, @Nullable Executor segmentExecutor,
+            DynamoDBMapperConfig config) {
+        super(mapper, clazz, dynamo, new NoScanTask(mapper, dynamo), PageLoader.initialLoadingStrategy(config),
+                config);
+        this.ownExecutor = segmentExecutor == null ? Executors.newCachedThreadPool() : null;
+        this.executor = segmentExecutor == null ? ownExecutor : segmentExecutor;
+
+        List<ScanResultPage<T>> firstPages = onSegments(segmentExpressions, scanPage);
+        this.segments = new ArrayList<>(segmentExpressions.size());
+        for (int i = 0; i < firstPages.size(); i++) {
+            ScanResultPage<T> firstPage = firstPages.get(i);
+            allResults.addAll(firstPage.getResults());
+            PageLoader<T, ScanResultPage<T>> segment = PageLoader.scan(segmentExpressions.get(i), firstPage,
+                    scanPage);
+            if (!segment.atEndOfResults()) {
+                segments.add(segment);
+            }
+        }
+        releaseIfFinished();
+
+        if (PaginationLoadingStrategy.EAGER_LOADING == config.getPaginationLoadingStrategy()) {
+            loadAllResults();
+        }
+    }
+
+    @Override
+    protected synchronized boolean atEndOfResults() {
+        return segments.isEmpty();
+    }
+
+    @Override
+    protected synchronized List<T> fetchNextPage() {
+        List<List<T>> pages = onSegments(segments, PageLoader::fetchNextPage);
+        segments.removeIf(PageLoader::atEndOfResults);
+        releaseIfFinished();
+
+        List<T> results = new ArrayList<>();
+        pages.forEach(results::addAll);
+        return results;
+    }
+
+    private <S, R> List<R> onSegments(List<S> inputs, Function<S, R> read) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(inputs.size());
+        for (S input : inputs) {
+            futures.add(CompletableFuture.supplyAsync(() -> read.apply(input), executor));
+        }
+
+        List<R> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<R> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException e) {
+                if (ownExecutor != null) {
+                    ownExecutor.shutdown();
+                }
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        return results;
+    }
+
+    private void releaseIfFinished() {
+        if (ownExecutor != null && segments.isEmpty()) {
+            ownExecutor.shutdown();
+        }
+    }
+
+    /**
+     * The segments are read by the list itself, so the task of the mapper's list never returns any result.
+     */
+    private static final class NoScanTask extends ParallelScanTask {
+
+        NoScanTask(DynamoDBMapper mapper, AmazonDynamoDB dynamo) {
+            super(mapper, dynamo, Collections.emptyList());
+        }
+
+        @Override
+        public boolean isAllSegmentScanFinished() {
+            return true;
+        }
+
+        @Override
+        public List<ScanResult> getNextBatchOfScanResults() {
+            return Collections.emptyList();
+        }
+    }
+}
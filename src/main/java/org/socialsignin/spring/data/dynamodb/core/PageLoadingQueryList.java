@@ -0,0 +1,58 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.PaginationLoadingStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+
+import java.util.List;
+
+/**
+ * {@link PaginatedQueryList} reading every page through a {@link PageLoader}, so the page events published by
+ * {@link DynamoDBTemplate#queryPage(Class, com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression)}
+ * follow the pages actually fetched by the caller instead of forcing the whole result to be read.
+ */
+class PageLoadingQueryList<T> extends PaginatedQueryList<T> {
+
+    private final PageLoader<T, ?> pageLoader;
+
+    PageLoadingQueryList(DynamoDBMapper mapper, Class<T> clazz, AmazonDynamoDB dynamo, List<T> firstResults,
+            PageLoader<T, ?> pageLoader, DynamoDBMapperConfig config) {
+        super(mapper, clazz, dynamo, new QueryRequest(), new QueryResult(), PageLoader.initialLoadingStrategy(config),
+                config);
+        this.pageLoader = pageLoader;
+        allResults.addAll(firstResults);
+
+        if (PaginationLoadingStrategy.EAGER_LOADING == config.getPaginationLoadingStrategy()) {
+            loadAllResults();
+        }
+    }
+
+    @Override
+    protected boolean atEndOfResults() {
+        return pageLoader.atEndOfResults();
+    }
+
+    @Override
+    protected List<T> fetchNextPage() {
+        return pageLoader.fetchNextPage();
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the {@code LastEvaluatedKey} at the page boundaries reached by offset based paging, so a request for a
+ * later page can continue reading from the closest known boundary instead of from the first item.
+ * <p>
+ * The cache is bounded to a maximum number of queries (least recently used ones are dropped first), each boundary
+ * expires after the configured time to live, and all entries of a domain class are invalidated by
+ * {@link #evict(Class)} - which {@link DynamoDBTemplate} calls on every write.
+ */
+public class PageTokenCache {
+
+    static final int MAX_BOUNDARIES_PER_QUERY = 1024;
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<QueryKey, Boundaries> entries;
+    private final ConcurrentMap<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxQueries
+     *            the maximum number of distinct queries to remember boundaries for
+     * @param ttl
+     *            must not be {@code null} - how long a boundary stays valid
+     */
+    public PageTokenCache(int maxQueries, Duration ttl) {
+        this(maxQueries, ttl, System::currentTimeMillis);
+    }
+
+    PageTokenCache(int maxQueries, Duration ttl, LongSupplier clock) {
+        Assert.isTrue(maxQueries > 0, "maxQueries must be greater than 0!");
+        Assert.notNull(ttl, "ttl must not be null!");
+
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<QueryKey, Boundaries>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QueryKey, Boundaries> eldest) {
+                return size() > maxQueries;
+            }
+        };
+    }
+
+    /**
+     * @param domainClass
+     *            The domain class the query reads
+     * @param queryKey
+     *            Identifies the query including all its parameters
+     * @param offset
+     *            The offset that should be reached
+     * @return The closest valid boundary at or before {@code offset} mapped to the key to continue reading from, or
+     *         {@code null} if there is none
+     */
+    @Nullable
+    public synchronized Map.Entry<Long, Map<String, AttributeValue>> floor(Class<?> domainClass, Object queryKey,
+            long offset) {
+        QueryKey key = new QueryKey(domainClass, queryKey);
+        Boundaries boundaries = entries.get(key);
+        if (boundaries == null) {
+            return null;
+        }
+        if (boundaries.generation != generation(domainClass)) {
+            entries.remove(key);
+            return null;
+        }
+
+        long now = clock.getAsLong();
+        Map.Entry<Long, Token> boundary = boundaries.tokens.floorEntry(offset);
+        while (boundary != null && boundary.getValue().expiresAt <= now) {
+            boundaries.tokens.remove(boundary.getKey());
+            boundary = boundaries.tokens.floorEntry(offset);
+        }
+        return boundary == null ? null
+                : new AbstractMap.SimpleImmutableEntry<>(boundary.getKey(), boundary.getValue().lastEvaluatedKey);
+    }
+
+    /**
+     * @param domainClass
+     *            The domain class the query reads
+     * @param queryKey
+     *            Identifies the query including all its parameters
+     * @param generation
+     *            The {@link #generation(Class)} obtained before the boundary was read - if the domain class has been
+     *            written to since, the boundary is discarded
+     * @param offset
+     *            The number of items read before the boundary
+     * @param lastEvaluatedKey
+     *            The key to continue reading from - {@code null} marks the end of the results and is not cached
+     */
+    public synchronized void put(Class<?> domainClass, Object queryKey, long generation, long offset,
+            @Nullable Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || generation != generation(domainClass)) {
+            return;
+        }
+
+        QueryKey key = new QueryKey(domainClass, queryKey);
+        Boundaries boundaries = entries.get(key);
+        if (boundaries == null || boundaries.generation != generation) {
+            boundaries = new Boundaries(generation);
+            entries.put(key, boundaries);
+        }
+
+        boundaries.tokens.put(offset, new Token(lastEvaluatedKey, clock.getAsLong() + ttlMillis));
+        if (boundaries.tokens.size() > MAX_BOUNDARIES_PER_QUERY) {
+            boundaries.tokens.pollFirstEntry();
+        }
+    }
+
+    /**
+     * Invalidates all boundaries of the given domain class.
+     *
+     * @param domainClass
+     *            The domain class that has been written to
+     */
+    public void evict(Class<?> domainClass) {
+        generations.computeIfAbsent(domainClass, it -> new AtomicLong()).incrementAndGet();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        for (Iterator<Map.Entry<QueryKey, Boundaries>> it = entries.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<QueryKey, Boundaries> entry = it.next();
+            if (entry.getValue().generation != generation(entry.getKey().domainClass)) {
+                it.remove();
+            }
+        }
+        return entries.size();
+    }
+
+    /**
+     * @param domainClass
+     *            The domain class
+     * @return A number that changes on every {@link #evict(Class)} of the domain class
+     */
+    public long generation(Class<?> domainClass) {
+        AtomicLong generation = generations.get(domainClass);
+        return generation == null ? 0 : generation.get();
+    }
+
+    private static final class QueryKey {
+        private final Class<?> domainClass;
+        private final Object queryKey;
+
+        private QueryKey(Class<?> domainClass, Object queryKey) {
+            this.domainClass = domainClass;
+            this.queryKey = queryKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey that = (QueryKey) o;
+            return domainClass.equals(that.domainClass) && Objects.equals(queryKey, that.queryKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * domainClass.hashCode() + Objects.hashCode(queryKey);
+        }
+    }
+
+    private static final class Boundaries {
+        private final long generation;
+        private final TreeMap<Long, Token> tokens = new TreeMap<>();
+
+        private Boundaries(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private static final class Token {
+        private final Map<String, AttributeValue> lastEvaluatedKey;
+        private final long expiresAt;
+
+        private Token(Map<String, AttributeValue> lastEvaluatedKey, long expiresAt) {
+            this.lastEvaluatedKey = lastEvaluatedKey;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
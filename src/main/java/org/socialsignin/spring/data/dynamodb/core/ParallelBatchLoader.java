@@ -0,0 +1,155 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Fans out bulk loads: the requested keys are deduplicated, split into chunks of {@value #MAX_KEYS_PER_BATCH} keys -
+ * the limit of a single {@code BatchGetItem} call - and the chunks are loaded concurrently on the given
+ * {@link Executor}. Optionally the results are returned in the order the keys were requested.
+ */
+public class ParallelBatchLoader {
+
+    public static final int MAX_KEYS_PER_BATCH = 100;
+
+    private final Executor executor;
+    private boolean preserveOrder = false;
+
+    /**
+     * @param executor
+     *            must not be {@code null} - the chunks are loaded on this executor
+     */
+    public ParallelBatchLoader(Executor executor) {
+        Assert.notNull(executor, "executor must not be null!");
+        this.executor = executor;
+    }
+
+    /**
+     * Loads the given keys chunk by chunk and blocks until all chunks have been loaded.
+     *
+     * @param itemsToGet
+     *            The keys to load per domain class
+     * @param chunkLoader
+     *            Loads a single chunk, e.g. {@code DynamoDBMapper#batchLoad(Map)} - which takes care of resending
+     *            unprocessed keys
+     * @param tableModels
+     *            Provides the table model of a domain class, only used if {@link #setPreserveOrder(boolean)} is set
+     * 
+     * @return The loaded entities
+     */
+    public List<Object> load(Map<Class<?>, List<KeyPair>> itemsToGet,
+            Function<Map<Class<?>, List<KeyPair>>, Map<String, List<Object>>> chunkLoader,
+            Function<Class<?>, DynamoDBMapperTableModel<?>> tableModels) {
+
+        Map<Class<?>, Map<List<Object>, KeyPair>> uniqueKeys = new LinkedHashMap<>();
+        List<CompletableFuture<Collection<List<Object>>>> chunks = new ArrayList<>();
+
+        itemsToGet.forEach((domainClass, keyPairs) -> {
+            Map<List<Object>, KeyPair> keys = new LinkedHashMap<>();
+            keyPairs.forEach(keyPair -> keys.putIfAbsent(keyOf(keyPair), keyPair));
+            uniqueKeys.put(domainClass, keys);
+
+            List<KeyPair> chunk = new ArrayList<>(MAX_KEYS_PER_BATCH);
+            for (KeyPair keyPair : keys.values()) {
+                chunk.add(keyPair);
+                if (chunk.size() == MAX_KEYS_PER_BATCH) {
+                    chunks.add(dispatch(domainClass, chunk, chunkLoader));
+                    chunk = new ArrayList<>(MAX_KEYS_PER_BATCH);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunks.add(dispatch(domainClass, chunk, chunkLoader));
+            }
+        });
+
+        List<Object> results = new ArrayList<>();
+        for (CompletableFuture<Collection<List<Object>>> chunk : chunks) {
+            try {
+                chunk.join().forEach(results::addAll);
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        return preserveOrder ? inRequestedOrder(results, uniqueKeys, tableModels) : results;
+    }
+
+    private CompletableFuture<Collection<List<Object>>> dispatch(Class<?> domainClass, List<KeyPair> chunk,
+            Function<Map<Class<?>, List<KeyPair>>, Map<String, List<Object>>> chunkLoader) {
+        Map<Class<?>, List<KeyPair>> request = Collections.singletonMap(domainClass, chunk);
+        return CompletableFuture.supplyAsync(() -> chunkLoader.apply(request).values(), executor);
+    }
+
+    private List<Object> inRequestedOrder(List<Object> results, Map<Class<?>, Map<List<Object>, KeyPair>> uniqueKeys,
+            Function<Class<?>, DynamoDBMapperTableModel<?>> tableModels) {
+        Map<Class<?>, Map<List<Object>, Object>> loaded = new HashMap<>();
+        for (Object entity : results) {
+            DynamoDBMapperTableModel<?> tableModel = tableModels.apply(entity.getClass());
+            loaded.computeIfAbsent(entity.getClass(), c -> new HashMap<>()).put(keyOf(tableModel, entity), entity);
+        }
+
+        List<Object> ordered = new ArrayList<>(results.size());
+        uniqueKeys.forEach((domainClass, keys) -> {
+            Map<List<Object>, Object> entities = loaded.getOrDefault(domainClass, Collections.emptyMap());
+            for (List<Object> key : keys.keySet()) {
+                Object entity = entities.remove(key);
+                if (entity != null) {
+                    ordered.add(entity);
+                }
+            }
+        });
+        // Anything not matched, e.g. because of differing key representations, is kept - just not in order
+        loaded.values().forEach(remaining -> ordered.addAll(remaining.values()));
+        return ordered;
+    }
+
+    private static List<Object> keyOf(KeyPair keyPair) {
+        return Arrays.asList(keyPair.getHashKey(), keyPair.getRangeKey());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<Object> keyOf(DynamoDBMapperTableModel<T> tableModel, Object entity) {
+        DynamoDBMapperFieldModel<T, Object> rangeKey = tableModel.rangeKeyIfExists();
+        return Arrays.asList(tableModel.hashKey().get((T) entity),
+                rangeKey == null ? null : rangeKey.get((T) entity));
+    }
+
+    /**
+     * @param preserveOrder
+     *            Whether the loaded entities are returned in the order of the requested keys - defaults to
+     *            {@code false}
+     */
+    public void setPreserveOrder(boolean preserveOrder) {
+        this.preserveOrder = preserveOrder;
+    }
+}
@@ -0,0 +1,305 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Splits bulk writes into chunks of {@value #MAX_ITEMS_PER_BATCH} items - the limit of a single
+ * {@code BatchWriteItem} call - and dispatches them concurrently on the given {@link Executor}, with at most
+ * {@link #setMaxConcurrentBatches(int)} chunks in flight at any time.
+ * <p>
+ * Items that DynamoDB reports as {@code UnprocessedItems} are retried with exponential backoff and full jitter until
+ * {@link #setMaxRetries(int)} is exhausted. Only the items that are still unprocessed afterwards are reported back as
+ * {@link FailedBatch}.
+ */
+public class ParallelBatchWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelBatchWriter.class);
+
+    public static final int MAX_ITEMS_PER_BATCH = 25;
+
+    private final AmazonDynamoDB amazonDynamoDB;
+    private final Executor executor;
+
+    private int maxConcurrentBatches = 8;
+    private int maxRetries = 10;
+    private long baseBackoffMillis = 25;
+    private long maxBackoffMillis = 10_000;
+
+    /**
+     * @param amazonDynamoDB
+     *            must not be {@code null} - used to resend the unprocessed items
+     * @param executor
+     *            must not be {@code null} - the chunks are dispatched on this executor
+     */
+    public ParallelBatchWriter(AmazonDynamoDB amazonDynamoDB, Executor executor) {
+        Assert.notNull(amazonDynamoDB, "amazonDynamoDB must not be null!");
+        Assert.notNull(executor, "executor must not be null!");
+
+        this.amazonDynamoDB = amazonDynamoDB;
+        this.executor = executor;
+    }
+
+    /**
+     * Writes the given entities chunk by chunk and blocks until all chunks have been processed.
+     *
+     * @param entities
+     *            The entities to write
+     * @param chunkWriter
+     *            Writes a single chunk, e.g. {@code DynamoDBMapper#batchSave(Iterable)}
+     * 
+     * @return The items that could not be written even after retrying
+     */
+    public List<FailedBatch> write(Iterable<?> entities, Function<List<Object>, List<FailedBatch>> chunkWriter) {
+        return write(entities, chunkWriter, null);
+    }
+
+    /**
+     * Writes the given entities chunk by chunk and blocks until all chunks have been processed. The entities are
+     * pulled from the {@link Iterable} only as fast as the chunks can be dispatched and completed chunks are not
+     * retained, so a lazily fetched {@link Iterable} is written with flat memory.
+     *
+     * @param entities
+     *            The entities to write
+     * @param chunkWriter
+     *            Writes a single chunk, e.g. {@code DynamoDBMapper#batchSave(Iterable)}
+     * @param progress
+     *            Receives the number of items written by each chunk once it is done, called from the threads of the
+     *            executor - can be {@code null}
+     * 
+     * @return The items that could not be written even after retrying
+     */
+    public List<FailedBatch> write(Iterable<?> entities, Function<List<Object>, List<FailedBatch>> chunkWriter,
+            @Nullable IntConsumer progress) {
+        Semaphore inFlight = new Semaphore(maxConcurrentBatches);
+        ChunkResults results = new ChunkResults();
+
+        List<Object> chunk = new ArrayList<>(MAX_ITEMS_PER_BATCH);
+        for (Object entity : entities) {
+            chunk.add(entity);
+            if (chunk.size() == MAX_ITEMS_PER_BATCH) {
+                results.add(dispatch(chunk, chunkWriter, progress, inFlight));
+                chunk = new ArrayList<>(MAX_ITEMS_PER_BATCH);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.add(dispatch(chunk, chunkWriter, progress, inFlight));
+        }
+
+        return results.join();
+    }
+
+    private CompletableFuture<List<FailedBatch>> dispatch(List<Object> chunk,
+            Function<List<Object>, List<FailedBatch>> chunkWriter, @Nullable IntConsumer progress,
+            Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                List<FailedBatch> failedBatches = retryUnprocessed(chunkWriter.apply(chunk));
+                if (progress != null) {
+                    progress.accept(chunk.size() - countUnprocessed(failedBatches));
+                }
+                return failedBatches;
+            }, executor).whenComplete((result, e) -> inFlight.release());
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private static int countUnprocessed(List<FailedBatch> failedBatches) {
+        return failedBatches.stream().map(FailedBatch::getUnprocessedItems).filter(Objects::nonNull)
+                .flatMap(unprocessed -> unprocessed.values().stream()).mapToInt(List::size).sum();
+    }
+
+    /**
+     * Collects the outcome of the dispatched chunks. Chunks that are done already are folded in whenever a new chunk
+     * is added, so only the chunks in flight are referenced.
+     */
+    private static class ChunkResults {
+        private final List<CompletableFuture<List<FailedBatch>>> pending = new ArrayList<>();
+        private final List<FailedBatch> failedBatches = new ArrayList<>();
+        private RuntimeException failure;
+
+        void add(CompletableFuture<List<FailedBatch>> chunk) {
+            pending.removeIf(this::collectIfDone);
+            pending.add(chunk);
+        }
+
+        List<FailedBatch> join() {
+            pending.forEach(this::collect);
+            pending.clear();
+            if (failure != null) {
+                throw failure;
+            }
+            return failedBatches;
+        }
+
+        private boolean collectIfDone(CompletableFuture<List<FailedBatch>> chunk) {
+            if (chunk.isDone()) {
+                collect(chunk);
+                return true;
+            }
+            return false;
+        }
+
+        private void collect(CompletableFuture<List<FailedBatch>> chunk) {
+            try {
+                failedBatches.addAll(chunk.join());
+            } catch (CompletionException e) {
+                RuntimeException cause = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                        : e;
+                if (failure == null) {
+                    failure = cause;
+                } else if (failure != cause) {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+    }
+
+    private List<FailedBatch> retryUnprocessed(List<FailedBatch> failedBatches) {
+        List<FailedBatch> remaining = new ArrayList<>();
+        for (FailedBatch failedBatch : failedBatches) {
+            if (CollectionUtils.isEmpty(failedBatch.getUnprocessedItems())) {
+                remaining.add(failedBatch);
+            } else {
+                FailedBatch stillFailing = retry(failedBatch.getUnprocessedItems(), failedBatch.getException());
+                if (stillFailing != null) {
+                    remaining.add(stillFailing);
+                }
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Resends the given write requests until they are all processed or the retry budget is exhausted.
+     *
+     * @param requestItems
+     *            The write requests per table name
+     * @param exception
+     *            The exception that caused the items to be unprocessed in the first place, if any
+     * 
+     * @return {@code null} if all items got written eventually, the remaining items otherwise
+     */
+    FailedBatch retry(Map<String, List<WriteRequest>> requestItems, Exception exception) {
+        Map<String, List<WriteRequest>> unprocessed = requestItems;
+        Exception lastException = exception;
+
+        for (int attempt = 0; attempt < maxRetries && !CollectionUtils.isEmpty(unprocessed); attempt++) {
+            if (!backoff(attempt)) {
+                break;
+            }
+            try {
+                BatchWriteItemResult result = amazonDynamoDB
+                        .batchWriteItem(new BatchWriteItemRequest().withRequestItems(unprocessed));
+                unprocessed = result.getUnprocessedItems();
+                lastException = null;
+            } catch (AmazonServiceException e) {
+                lastException = e;
+                if (!RetryUtils.isThrottlingException(e) && !RetryUtils.isRetryableServiceException(e)) {
+                    break;
+                }
+            }
+        }
+
+        if (CollectionUtils.isEmpty(unprocessed)) {
+            return null;
+        }
+
+        int count = unprocessed.values().stream().mapToInt(List::size).sum();
+        LOGGER.warn("Giving up on {} unprocessed items", count, lastException);
+        FailedBatch failedBatch = new FailedBatch();
+        failedBatch.setUnprocessedItems(unprocessed);
+        failedBatch.setException(lastException != null ? lastException
+                : new BatchWriteException(count + " items still unprocessed after " + maxRetries + " retries", null));
+        return failedBatch;
+    }
+
+    private boolean backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempt, 30));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @param maxConcurrentBatches
+     *            Number of {@code BatchWriteItem} chunks that may be in flight at the same time - defaults to 8
+     */
+    public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+        Assert.isTrue(maxConcurrentBatches > 0, "maxConcurrentBatches must be positive!");
+        this.maxConcurrentBatches = maxConcurrentBatches;
+    }
+
+    /**
+     * @param maxRetries
+     *            Number of times unprocessed items are resent - defaults to 10
+     */
+    public void setMaxRetries(int maxRetries) {
+        Assert.isTrue(maxRetries >= 0, "maxRetries must not be negative!");
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * @param baseBackoffMillis
+     *            Upper bound of the delay before the first retry, doubled for each further retry - defaults to 25
+     */
+    public void setBaseBackoffMillis(long baseBackoffMillis) {
+        Assert.isTrue(baseBackoffMillis >= 0, "baseBackoffMillis must not be negative!");
+        this.baseBackoffMillis = baseBackoffMillis;
+    }
+
+    /**
+     * @param maxBackoffMillis
+     *            Cap of the delay between two retries - defaults to 10000
+     */
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        Assert.isTrue(maxBackoffMillis >= 0, "maxBackoffMillis must not be negative!");
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+}
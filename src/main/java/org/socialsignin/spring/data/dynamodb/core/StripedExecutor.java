@@ -0,0 +1,121 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks on an {@link Executor} while keeping the order of all tasks submitted with equal keys: every key is
+ * mapped to one of a fixed number of stripes, and the tasks of a stripe run one after another in submission order.
+ * Tasks of different stripes run concurrently.
+ * <p>
+ * Used by {@link DynamoDBTemplate#setAfterEventExecutor(StripedExecutor)} to publish the after-events off the calling
+ * thread. A failing task is logged and does not affect the following ones. If the executor rejects a stripe, its
+ * tasks run on the submitting thread.
+ */
+public class StripedExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StripedExecutor.class);
+
+    private final Executor executor;
+    private volatile Stripe[] stripes;
+
+    /**
+     * @param executor
+     *            must not be {@code null} - runs the tasks
+     */
+    public StripedExecutor(Executor executor) {
+        Assert.notNull(executor, "executor must not be null!");
+        this.executor = executor;
+        setStripes(64);
+    }
+
+    /**
+     * Must be configured before the first task is submitted.
+     *
+     * @param stripes
+     *            the maximum number of tasks running concurrently, defaults to {@code 64}
+     */
+    public void setStripes(int stripes) {
+        Assert.isTrue(stripes > 0, "stripes must be positive!");
+        Stripe[] created = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            created[i] = new Stripe();
+        }
+        this.stripes = created;
+    }
+
+    /**
+     * @param key
+     *            must not be {@code null} - tasks with equal keys run in submission order
+     * @param task
+     *            must not be {@code null}
+     */
+    public void execute(Object key, Runnable task) {
+        Assert.notNull(key, "key must not be null!");
+        Assert.notNull(task, "task must not be null!");
+
+        Stripe[] current = stripes;
+        int hash = key.hashCode();
+        current[Math.floorMod(hash ^ (hash >>> 16), current.length)].execute(task);
+    }
+
+    private final class Stripe implements Runnable {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private void execute(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    run();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        LOG.warn("Asynchronous task failed", e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // Picks up tasks added after the last poll but before the flag was cleared
+            schedule();
+        }
+    }
+}
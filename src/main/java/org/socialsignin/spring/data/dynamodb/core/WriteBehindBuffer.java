@@ -0,0 +1,314 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Buffers the saves of selected domain classes and writes them in bulk. Repeated saves of the same key are collapsed
+ * to the latest version. The buffer is flushed every {@link #setFlushInterval(Duration)}, as soon as
+ * {@link #setFlushThreshold(int)} items are buffered and when the buffer is destroyed.
+ * <p>
+ * The buffer holds at most {@link #setCapacity(int)} items. A save that finds it full triggers a flush and blocks
+ * until there is room again, for at most {@link #setMaxBlock(Duration)}. Saves of buffered items are not visible to
+ * reads until they have been flushed. Items that cannot be written even after retrying are logged and dropped.
+ */
+public class WriteBehindBuffer implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindBuffer.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Set<Class<?>> domainClasses = new HashSet<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    /** Guarded by {@link #lock} */
+    private final Map<List<Object>, Object> pending = new LinkedHashMap<>();
+
+    /**
+     * Serializes the flushes so a later version of an item is never overwritten by an earlier one, and the discards
+     * against the flushes so a deleted item is not written again
+     */
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private long flushIntervalMillis = 500;
+    private int flushThreshold = 100;
+    private int capacity = 10_000;
+    private long maxBlockNanos = TimeUnit.SECONDS.toNanos(10);
+
+    private volatile Function<List<Object>, List<FailedBatch>> writer;
+    private ScheduledFuture<?> timer;
+
+    /**
+     * @param scheduler
+     *            must not be {@code null} - runs the flushes
+     */
+    public WriteBehindBuffer(ScheduledExecutorService scheduler) {
+        Assert.notNull(scheduler, "scheduler must not be null!");
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Enables write-behind for the given domain class.
+     *
+     * @param domainClass
+     *            must not be {@code null}
+     * @return this buffer
+     */
+    public WriteBehindBuffer register(Class<?> domainClass) {
+        Assert.notNull(domainClass, "domainClass must not be null!");
+        domainClasses.add(domainClass);
+        return this;
+    }
+
+    public boolean isBuffered(Class<?> domainClass) {
+        return domainClasses.contains(domainClass);
+    }
+
+    /**
+     * Connects the buffer to the template writing its items and starts the periodic flush.
+     *
+     * @param writer
+     *            Writes a flushed batch and reports the items that could not be written
+     */
+    synchronized void bind(Function<List<Object>, List<FailedBatch>> writer) {
+        Assert.state(this.writer == null, "The buffer is already used by another template!");
+        this.writer = writer;
+        this.timer = scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds an item to the buffer, replacing a buffered earlier version of the same key.
+     *
+     * @throws TransientDataAccessResourceException
+     *             if the buffer stayed full for longer than {@link #setMaxBlock(Duration)}
+     */
+    void add(Class<?> domainClass, Map<String, AttributeValue> key, Object entity) {
+        List<Object> bufferKey = Arrays.asList(domainClass, key);
+        int size;
+        lock.lock();
+        try {
+            long remaining = maxBlockNanos;
+            while (pending.size() >= capacity && !pending.containsKey(bufferKey)) {
+                requestFlush();
+                if (remaining <= 0) {
+                    throw new TransientDataAccessResourceException(
+                            "Write-behind buffer is full with " + pending.size() + " items");
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            pending.put(bufferKey, entity);
+            size = pending.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientDataAccessResourceException("Interrupted waiting for the write-behind buffer", e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (size >= flushThreshold) {
+            requestFlush();
+        }
+    }
+
+    boolean contains(Class<?> domainClass, Map<String, AttributeValue> key) {
+        lock.lock();
+        try {
+            return pending.containsKey(Arrays.asList(domainClass, key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops a buffered item, e.g. because it is deleted. Waits for a flush in progress, which may be writing the item,
+     * so a delete issued afterwards is not overwritten by the flush.
+     *
+     * @return Whether an item was buffered for the key
+     */
+    boolean discard(Class<?> domainClass, Map<String, AttributeValue> key) {
+        synchronized (flushLock) {
+            lock.lock();
+            try {
+                if (pending.remove(Arrays.asList(domainClass, key)) == null) {
+                    return false;
+                }
+                notFull.signalAll();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes all buffered items and blocks until they have been written.
+     *
+     * @return The items that could not be written
+     */
+    public List<FailedBatch> flush() {
+        synchronized (flushLock) {
+            if (writer == null) {
+                return Collections.emptyList();
+            }
+            List<Object> entities;
+            lock.lock();
+            try {
+                entities = new ArrayList<>(pending.values());
+                pending.clear();
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            return entities.isEmpty() ? Collections.emptyList() : writer.apply(entities);
+        }
+    }
+
+    /**
+     * Writes the buffered item of a key, if any, and blocks until it has been written, e.g. before the item is updated
+     * in place.
+     *
+     * @return The item if it could not be written
+     */
+    List<FailedBatch> flush(Class<?> domainClass, Map<String, AttributeValue> key) {
+        synchronized (flushLock) {
+            if (writer == null) {
+                return Collections.emptyList();
+            }
+            Object entity;
+            lock.lock();
+            try {
+                entity = pending.remove(Arrays.asList(domainClass, key));
+                if (entity != null) {
+                    notFull.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            return entity == null ? Collections.emptyList() : writer.apply(Collections.singletonList(entity));
+        }
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    flushRequested.set(false);
+                    flushQuietly();
+                });
+            } catch (RejectedExecutionException e) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            List<FailedBatch> failedBatches = flush();
+            if (!failedBatches.isEmpty()) {
+                LOGGER.warn("{} batches of buffered items could not be written", failedBatches.size(),
+                        failedBatches.get(0).getException());
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Flushing the write-behind buffer failed", e);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes the items still buffered.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        flushQuietly();
+    }
+
+    /**
+     * @param flushInterval
+     *            How often the buffer is flushed - defaults to 500 milliseconds, must be set before the buffer is
+     *            passed to a template
+     */
+    public void setFlushInterval(Duration flushInterval) {
+        Assert.notNull(flushInterval, "flushInterval must not be null!");
+        Assert.isTrue(flushInterval.toMillis() > 0, "flushInterval must be at least 1 millisecond!");
+        this.flushIntervalMillis = flushInterval.toMillis();
+    }
+
+    /**
+     * @param flushThreshold
+     *            The number of buffered items that triggers a flush right away - defaults to 100
+     */
+    public void setFlushThreshold(int flushThreshold) {
+        Assert.isTrue(flushThreshold > 0, "flushThreshold must be greater than 0!");
+        this.flushThreshold = flushThreshold;
+    }
+
+    /**
+     * @param capacity
+     *            The maximum number of buffered items - defaults to 10000
+     */
+    public void setCapacity(int capacity) {
+        Assert.isTrue(capacity > 0, "capacity must be greater than 0!");
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param maxBlock
+     *            How long a save waits for room in a full buffer - defaults to 10 seconds
+     */
+    public void setMaxBlock(Duration maxBlock) {
+        Assert.notNull(maxBlock, "maxBlock must not be null!");
+        this.maxBlockNanos = maxBlock.toNanos();
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.domain;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes a DynamoDB {@code LastEvaluatedKey} into an opaque, URL safe cursor and back again. Key attributes can only
+ * be of type {@code S}, {@code N} or {@code B}, so those are the only types supported.
+ */
+public final class KeysetCursor {
+
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_S = 'S';
+    private static final byte TYPE_N = 'N';
+    private static final byte TYPE_B = 'B';
+
+    private KeysetCursor() {
+
+    }
+
+    /**
+     * @param lastEvaluatedKey
+     *            The key as returned by DynamoDB
+     * @return The cursor or {@code null} if there is no key, i.e. there are no more results
+     * @throws IllegalArgumentException
+     *             if the key contains a non-key attribute type
+     */
+    @Nullable
+    public static String encode(@Nullable Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(lastEvaluatedKey.size());
+            for (Map.Entry<String, AttributeValue> attribute : lastEvaluatedKey.entrySet()) {
+                out.writeUTF(attribute.getKey());
+                AttributeValue value = attribute.getValue();
+                if (value.getS() != null) {
+                    out.writeByte(TYPE_S);
+                    out.writeUTF(value.getS());
+                } else if (value.getN() != null) {
+                    out.writeByte(TYPE_N);
+                    out.writeUTF(value.getN());
+                } else if (value.getB() != null) {
+                    ByteBuffer buffer = value.getB().duplicate();
+                    byte[] binary = new byte[buffer.remaining()];
+                    buffer.get(binary);
+                    out.writeByte(TYPE_B);
+                    out.writeShort(binary.length);
+                    out.write(binary);
+                } else {
+                    throw new IllegalArgumentException(
+                            "Unsupported key attribute type of " + attribute.getKey() + ": " + value);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @param cursor
+     *            A cursor as created by {@link #encode(Map)}
+     * @return The key to pass as {@code ExclusiveStartKey} or {@code null} if no cursor was given
+     * @throws IllegalArgumentException
+     *             if the cursor is malformed
+     */
+    @Nullable
+    public static Map<String, AttributeValue> decode(@Nullable String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Unsupported cursor version: " + cursor);
+            }
+            int size = in.readUnsignedByte();
+            Map<String, AttributeValue> key = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                String name = in.readUTF();
+                byte type = in.readByte();
+                switch (type) {
+                case TYPE_S:
+                    key.put(name, new AttributeValue().withS(in.readUTF()));
+                    break;
+                case TYPE_N:
+                    key.put(name, new AttributeValue().withN(in.readUTF()));
+                    break;
+                case TYPE_B:
+                    byte[] binary = new byte[in.readUnsignedShort()];
+                    in.readFully(binary);
+                    key.put(name, new AttributeValue().withB(ByteBuffer.wrap(binary)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Malformed cursor: " + cursor);
+                }
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + cursor);
+            }
+            return key;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+    }
+}
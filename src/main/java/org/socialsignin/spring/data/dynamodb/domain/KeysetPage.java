@@ -0,0 +1,65 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link org.springframework.data.domain.Page} read via a {@link KeysetPageRequest}, carrying the cursor to continue
+ * reading from. Whether there is a next page is determined by the cursor, not by the total.
+ *
+ * @param <T>
+ *            The type of the list's elements
+ */
+public class KeysetPage<T> extends LazyTotalPage<T> {
+
+    private final KeysetPageRequest pageable;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, KeysetPageRequest pageable, long total, @Nullable String nextCursor) {
+        this(content, pageable, () -> total, nextCursor);
+    }
+
+    public KeysetPage(List<T> content, KeysetPageRequest pageable, LongSupplier totalSupplier,
+            @Nullable String nextCursor) {
+        super(content, pageable, nextCursor != null, totalSupplier);
+        this.pageable = pageable;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return The cursor of the next page or {@code null} if this is the last one
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public Pageable nextPageable() {
+        return hasNext() ? pageable.next(nextCursor) : Pageable.unpaged();
+    }
+
+    @Override
+    public <U> KeysetPage<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetPage<>(convert(converter), pageable, this::getTotalElements, nextCursor);
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.domain;
+
+import org.springframework.data.domain.AbstractPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * {@link Pageable} that addresses a page by the cursor of the previous page instead of an offset. The cursor is the
+ * encoded {@code LastEvaluatedKey} of the previous page (see {@link KeysetCursor}) and is passed to DynamoDB as
+ * {@code ExclusiveStartKey}, so reading a deep page costs the same as reading the first one.
+ * <p>
+ * Keyset pagination moves forward: obtain the next request via {@link KeysetSlice#nextPageable()} or
+ * {@link KeysetPage#nextPageable()}. The cursor of any other page is not known to the request, so {@link #next()},
+ * {@link #previous()} and {@link #withPage(int)} fall back to an offset based {@link PageRequest} for that page.
+ */
+public class KeysetPageRequest extends AbstractPageRequest {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Sort sort;
+    private final String cursor;
+
+    protected KeysetPageRequest(int page, int size, Sort sort, @Nullable String cursor) {
+        super(page, size);
+        Assert.notNull(sort, "sort must not be null!");
+        this.sort = sort;
+        this.cursor = cursor;
+    }
+
+    /**
+     * @param size
+     *            the size of the page to be returned, must be greater than 0.
+     * @return A request for the first page
+     */
+    public static KeysetPageRequest first(int size) {
+        return first(size, Sort.unsorted());
+    }
+
+    /**
+     * @param size
+     *            the size of the page to be returned, must be greater than 0.
+     * @param sort
+     *            must not be {@literal null}, use {@link Sort#unsorted()} instead.
+     * @return A sorted request for the first page
+     */
+    public static KeysetPageRequest first(int size, Sort sort) {
+        return new KeysetPageRequest(0, size, sort, null);
+    }
+
+    /**
+     * @param page
+     *            zero-based page index the cursor points to - only used for the page metadata
+     * @param size
+     *            the size of the page to be returned, must be greater than 0.
+     * @param cursor
+     *            the cursor as returned by {@link KeysetSlice#getNextCursor()}, {@code null} for the first page
+     * @return A request for the page following the cursor
+     */
+    public static KeysetPageRequest of(int page, int size, @Nullable String cursor) {
+        return of(page, size, Sort.unsorted(), cursor);
+    }
+
+    /**
+     * @param page
+     *            zero-based page index the cursor points to - only used for the page metadata
+     * @param size
+     *            the size of the page to be returned, must be greater than 0.
+     * @param sort
+     *            must not be {@literal null}, use {@link Sort#unsorted()} instead - the cursor must have been read
+     *            with the same sort
+     * @param cursor
+     *            the cursor as returned by {@link KeysetSlice#getNextCursor()}, {@code null} for the first page
+     * @return A sorted request for the page following the cursor
+     */
+    public static KeysetPageRequest of(int page, int size, Sort sort, @Nullable String cursor) {
+        return new KeysetPageRequest(page, size, sort, cursor);
+    }
+
+    @Nullable
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * @param nextCursor
+     *            The cursor of the current page
+     * @return The request for the page following this one
+     */
+    public KeysetPageRequest next(String nextCursor) {
+        return new KeysetPageRequest(getPageNumber() + 1, getPageSize(), sort, nextCursor);
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * The cursor of the next page is only known to the result, prefer {@code nextPageable()} of the returned
+     * {@link org.springframework.data.domain.Slice}.
+     *
+     * @return An offset based request for the next page
+     */
+    @Override
+    public Pageable next() {
+        return PageRequest.of(getPageNumber() + 1, getPageSize(), sort);
+    }
+
+    /**
+     * @return This request for the first page, an offset based request for the previous page otherwise
+     */
+    @Override
+    public Pageable previous() {
+        return hasPrevious() ? PageRequest.of(getPageNumber() - 1, getPageSize(), sort) : this;
+    }
+
+    @Override
+    public KeysetPageRequest first() {
+        return first(getPageSize(), sort);
+    }
+
+    /**
+     * @return A keyset request for the first page, an offset based request for any other page
+     */
+    @Override
+    public Pageable withPage(int pageNumber) {
+        if (pageNumber == 0) {
+            return first();
+        }
+        return PageRequest.of(pageNumber, getPageSize(), sort);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof KeysetPageRequest)) {
+            return false;
+        }
+        KeysetPageRequest that = (KeysetPageRequest) obj;
+        return super.equals(obj) && sort.equals(that.sort) && ObjectUtils.nullSafeEquals(cursor, that.cursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * super.hashCode() + sort.hashCode()) + ObjectUtils.nullSafeHashCode(cursor);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Keyset page request [number: %d, size %d, sort: %s, cursor: %s]", getPageNumber(),
+                getPageSize(), sort, cursor);
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.domain;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link Page} implementation that only determines the total number of elements once it is asked for. Whether there
+ * is a next page is known upfront, so navigating through the pages never requires the total.
+ * <p>
+ * The total is resolved at most once, by the first call to {@link #getTotalElements()} or {@link #getTotalPages()}.
+ *
+ * @param <T>
+ *            The type of the list's elements
+ */
+public class LazyTotalPage<T> implements Page<T> {
+
+    private final List<T> content;
+    private final Pageable pageable;
+    private final boolean hasNext;
+    private final LongSupplier totalSupplier;
+    private volatile Long total;
+
+    public LazyTotalPage(@NonNull List<T> content, @NonNull Pageable pageable, boolean hasNext,
+            @NonNull LongSupplier totalSupplier) {
+        Assert.notNull(content, "content must not be null!");
+        Assert.notNull(pageable, "pageable must not be null!");
+        Assert.notNull(totalSupplier, "totalSupplier must not be null!");
+
+        this.content = content;
+        this.pageable = pageable;
+        this.hasNext = hasNext;
+        this.totalSupplier = totalSupplier;
+    }
+
+    /**
+     * @return {@code true} if the total has already been resolved
+     */
+    public boolean isTotalResolved() {
+        return total != null;
+    }
+
+    @Override
+    public long getTotalElements() {
+        Long resolved = total;
+        if (resolved == null) {
+            synchronized (this) {
+                resolved = total;
+                if (resolved == null) {
+                    resolved = adjustTotal(totalSupplier.getAsLong());
+                    total = resolved;
+                }
+            }
+        }
+        return resolved;
+    }
+
+    // Same adjustment as PageImpl: the content read is more reliable than a total read separately
+    private long adjustTotal(long total) {
+        if (pageable.isPaged() && !content.isEmpty()) {
+            long minimum = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+            return Math.max(total, minimum);
+        }
+        return total;
+    }
+
+    @Override
+    public int getTotalPages() {
+        return getSize() == 0 ? 1 : (int) Math.ceil((double) getTotalElements() / (double) getSize());
+    }
+
+    @Override
+    public int getNumber() {
+        return pageable.isPaged() ? pageable.getPageNumber() : 0;
+    }
+
+    @Override
+    public int getSize() {
+        return pageable.isPaged() ? pageable.getPageSize() : content.size();
+    }
+
+    @Override
+    public int getNumberOfElements() {
+        return content.size();
+    }
+
+    @Override
+    public boolean hasContent() {
+        return !content.isEmpty();
+    }
+
+    @Override
+    public List<T> getContent() {
+        return Collections.unmodifiableList(content);
+    }
+
+    @Override
+    public Sort getSort() {
+        return pageable.getSort();
+    }
+
+    @Override
+    public boolean isFirst() {
+        return !hasPrevious();
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return getNumber() > 0;
+    }
+
+    @Override
+    public Pageable nextPageable() {
+        return hasNext() ? pageable.next() : Pageable.unpaged();
+    }
+
+    @Override
+    public Pageable previousPageable() {
+        return hasPrevious() ? pageable.previousOrFirst() : Pageable.unpaged();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+
+    @Override
+    public <U> LazyTotalPage<U> map(Function<? super T, ? extends U> converter) {
+        return new LazyTotalPage<>(convert(converter), pageable, hasNext, this::getTotalElements);
+    }
+
+    protected <U> List<U> convert(Function<? super T, ? extends U> converter) {
+        return content.stream().map(converter).collect(Collectors.toList());
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+        String contentType = "UNKNOWN";
+        if (!content.isEmpty()) {
+            contentType = content.get(0).getClass().getName();
+        }
+        // Does not resolve the total on purpose
+        return String.format("Page %s containing %s instances", getNumber() + 1, contentType);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LazyTotalPage<?>)) {
+            return false;
+        }
+        LazyTotalPage<?> that = (LazyTotalPage<?>) obj;
+        return this.hasNext == that.hasNext && this.pageable.equals(that.pageable)
+                && this.content.equals(that.content);
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode() {
+        int result = 17;
+        result += 31 * (hasNext ? 1 : 0);
+        result += 31 * pageable.hashCode();
+        result += 31 * content.hashCode();
+        return result;
+    }
+}
@@ -31,9 +31,11 @@ package org.socialsignin.spring.data.dynamodb.mapping.event;
  * limitations under the License.
  */
 
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedParallelScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
@@ -41,6 +43,7 @@ import org.springframework.core.GenericTypeResolver;
 
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Base class to implement domain class specific {@link ApplicationListener}s.
@@ -86,6 +89,10 @@ public abstract class AbstractDynamoDBEventListener<E> implements ApplicationLis
 
             publishEachElement((PaginatedScanList<?>) source, this::onAfterScan);
             return;
+        } else if (event instanceof AfterParallelScanEvent) {
+
+            publishEachElement((PaginatedParallelScanList<?>) source, this::onAfterScan);
+            return;
         } else if (event instanceof AfterQueryEvent) {
 
             publishEachElement((PaginatedQueryList<?>) source, this::onAfterQuery);
@@ -94,6 +101,25 @@ public abstract class AbstractDynamoDBEventListener<E> implements ApplicationLis
             QueryResultPage<?> queryResultPage = (QueryResultPage<?>) source;
             publishEachElement(queryResultPage.getResults(), this::onAfterQuery);
             return;
+        } else if (event instanceof AfterScanPageEvent) {
+            ScanResultPage<?> scanResultPage = (ScanResultPage<?>) source;
+            publishEachElement(scanResultPage.getResults(), this::onAfterScan);
+            return;
+        } else if (event instanceof BeforeBatchSaveEvent) {
+            publishMatchingElements((List<?>) source, this::onBeforeBatchSave);
+            return;
+        } else if (event instanceof AfterBatchSaveEvent) {
+            publishMatchingElements((List<?>) source, this::onAfterBatchSave);
+            return;
+        } else if (event instanceof BeforeBatchDeleteEvent) {
+            publishMatchingElements((List<?>) source, this::onBeforeBatchDelete);
+            return;
+        } else if (event instanceof AfterBatchDeleteEvent) {
+            publishMatchingElements((List<?>) source, this::onAfterBatchDelete);
+            return;
+        } else if (event instanceof AfterBatchLoadEvent) {
+            publishMatchingElements((List<?>) source, this::onAfterBatchLoad);
+            return;
         }
         // Check for matching domain type and invoke callbacks
         else if (domainClass.isAssignableFrom(source.getClass())) {
@@ -123,6 +149,15 @@ public abstract class AbstractDynamoDBEventListener<E> implements ApplicationLis
         list.stream().filter(o -> domainClass.isAssignableFrom(o.getClass())).map(o -> (E) o).forEach(publishMethod);
     }
 
+    @SuppressWarnings("unchecked")
+    void publishMatchingElements(List<?> list, Consumer<List<E>> publishMethod) {
+        List<E> matching = list.stream().filter(o -> domainClass.isAssignableFrom(o.getClass())).map(o -> (E) o)
+                .collect(Collectors.toList());
+        if (!matching.isEmpty()) {
+            publishMethod.accept(matching);
+        }
+    }
+
     public void onBeforeSave(E source) {
         LOG.debug("onBeforeSave({}, {})", source);
     }
@@ -151,4 +186,59 @@ public abstract class AbstractDynamoDBEventListener<E> implements ApplicationLis
         LOG.debug("onAfterQuery({})", source);
     }
 
+    /**
+     * Invoked once with all entities of the domain class in a batch save. Invokes {@link #onBeforeSave(Object)} for
+     * each of them unless overridden.
+     *
+     * @param sources
+     *            the entities about to be saved
+     */
+    public void onBeforeBatchSave(List<E> sources) {
+        sources.forEach(this::onBeforeSave);
+    }
+
+    /**
+     * Invoked once with all entities of the domain class in a batch save. Invokes {@link #onAfterSave(Object)} for
+     * each of them unless overridden.
+     *
+     * @param sources
+     *            the saved entities
+     */
+    public void onAfterBatchSave(List<E> sources) {
+        sources.forEach(this::onAfterSave);
+    }
+
+    /**
+     * Invoked once with all entities of the domain class in a batch delete. Invokes {@link #onBeforeDelete(Object)}
+     * for each of them unless overridden.
+     *
+     * @param sources
+     *            the entities about to be deleted
+     */
+    public void onBeforeBatchDelete(List<E> sources) {
+        sources.forEach(this::onBeforeDelete);
+    }
+
+    /**
+     * Invoked once with all entities of the domain class in a batch delete. Invokes {@link #onAfterDelete(Object)} for
+     * each of them unless overridden.
+     *
+     * @param sources
+     *            the deleted entities
+     */
+    public void onAfterBatchDelete(List<E> sources) {
+        sources.forEach(this::onAfterDelete);
+    }
+
+    /**
+     * Invoked once with all entities of the domain class returned by a batch load. Invokes
+     * {@link #onAfterLoad(Object)} for each of them unless overridden.
+     *
+     * @param sources
+     *            the loaded entities
+     */
+    public void onAfterBatchLoad(List<E> sources) {
+        sources.forEach(this::onAfterLoad);
+    }
+
 }
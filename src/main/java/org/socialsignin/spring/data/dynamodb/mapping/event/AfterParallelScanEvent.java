@@ -0,0 +1,36 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.mapping.event;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedParallelScanList;
+
+/**
+ * Published with a whole lazily loaded result list. {@code DynamoDBTemplate} no longer publishes this event for its
+ * parallel scans; it publishes an {@link AfterScanPageEvent} for every page of a segment as it is fetched instead, so
+ * listeners do not force the whole table to be read.
+ *
+ * @author Michael Lavelle
+ * @author Sebastian Just
+ */
+public class AfterParallelScanEvent<T> extends DynamoDBMappingEvent<PaginatedParallelScanList<T>> {
+
+    private static final long serialVersionUID = 1L;
+
+    public AfterParallelScanEvent(PaginatedParallelScanList<T> source) {
+        super(source);
+    }
+
+}
\ No newline at end of file
@@ -18,6 +18,10 @@ package org.socialsignin.spring.data.dynamodb.mapping.event;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 
 /**
+ * Published with a whole lazily loaded result list. {@code DynamoDBTemplate} no longer publishes this event for its
+ * scan operations; it publishes an {@link AfterScanPageEvent} for every page as it is fetched
+ * instead, so listeners do not force the remaining pages to be read.
+ *
  * @author Michael Lavelle
  * @author Sebastian Just
  */
@@ -19,6 +19,8 @@ import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.data.auditing.IsNewAwareAuditingHandler;
 import org.springframework.util.Assert;
 
+import java.util.List;
+
 /**
  * Event listener to populate auditing related fields on an entity about to be saved.
  *
@@ -45,4 +47,10 @@ public class AuditingEventListener extends AbstractDynamoDBEventListener<Object>
     public void onBeforeSave(Object source) {
         auditingHandlerFactory.getObject().markAudited(source);
     }
+
+    @Override
+    public void onBeforeBatchSave(List<Object> sources) {
+        IsNewAwareAuditingHandler auditingHandler = auditingHandlerFactory.getObject();
+        sources.forEach(auditingHandler::markAudited);
+    }
 }
\ No newline at end of file
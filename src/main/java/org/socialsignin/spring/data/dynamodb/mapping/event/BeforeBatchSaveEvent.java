@@ -0,0 +1,31 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.mapping.event;
+
+import java.util.List;
+
+/**
+ * Carries all entities about to be written by a batch save, instead of one event per entity.
+ */
+public class BeforeBatchSaveEvent<T> extends DynamoDBMappingEvent<List<T>> {
+
+    private static final long serialVersionUID = 1L;
+
+    public BeforeBatchSaveEvent(List<T> source) {
+        super(source);
+    }
+
+}
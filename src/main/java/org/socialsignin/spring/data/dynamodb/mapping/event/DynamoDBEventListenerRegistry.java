@@ -0,0 +1,276 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.mapping.event;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Index of the {@link AbstractDynamoDBEventListener}s by callback and domain class, used by
+ * {@code DynamoDBTemplate#setEventListenerRegistry} to invoke the matching callbacks directly instead of publishing
+ * every mapping event through the {@link ApplicationContext}.
+ * <p>
+ * A listener is subscribed to the callbacks it overrides only, and to the batch callbacks if it overrides either
+ * the batch or the per-entity callback. If nothing is subscribed to a callback for a domain class, no event is
+ * created at all. Listeners overriding
+ * {@link AbstractDynamoDBEventListener#onApplicationEvent(DynamoDBMappingEvent)} themselves are handed every event.
+ * When declared as a bean, all listener beans of the context are registered once its singletons are instantiated.
+ * Other {@link org.springframework.context.ApplicationListener}s of mapping events are not invoked by the registry.
+ */
+public class DynamoDBEventListenerRegistry implements ApplicationContextAware, SmartInitializingSingleton {
+
+    private enum Callback {
+        BEFORE_SAVE(AbstractDynamoDBEventListener::onBeforeSave, "onBeforeSave"),
+        AFTER_SAVE(AbstractDynamoDBEventListener::onAfterSave, "onAfterSave"),
+        BEFORE_DELETE(AbstractDynamoDBEventListener::onBeforeDelete, "onBeforeDelete"),
+        AFTER_DELETE(AbstractDynamoDBEventListener::onAfterDelete, "onAfterDelete"),
+        AFTER_LOAD(AbstractDynamoDBEventListener::onAfterLoad, "onAfterLoad"),
+        AFTER_SCAN(AbstractDynamoDBEventListener::onAfterScan, "onAfterScan"),
+        AFTER_QUERY(AbstractDynamoDBEventListener::onAfterQuery, "onAfterQuery"),
+        BEFORE_BATCH_SAVE((listener, batch) -> listener.onBeforeBatchSave(asList(batch)), "onBeforeBatchSave",
+                "onBeforeSave"),
+        AFTER_BATCH_SAVE((listener, batch) -> listener.onAfterBatchSave(asList(batch)), "onAfterBatchSave",
+                "onAfterSave"),
+        BEFORE_BATCH_DELETE((listener, batch) -> listener.onBeforeBatchDelete(asList(batch)), "onBeforeBatchDelete",
+                "onBeforeDelete"),
+        AFTER_BATCH_DELETE((listener, batch) -> listener.onAfterBatchDelete(asList(batch)), "onAfterBatchDelete",
+                "onAfterDelete"),
+        AFTER_BATCH_LOAD((listener, batch) -> listener.onAfterBatchLoad(asList(batch)), "onAfterBatchLoad",
+                "onAfterLoad");
+
+        private final BiConsumer<AbstractDynamoDBEventListener<Object>, Object> invoker;
+        private final String[] methodNames;
+
+        Callback(BiConsumer<AbstractDynamoDBEventListener<Object>, Object> invoker, String... methodNames) {
+            this.invoker = invoker;
+            this.methodNames = methodNames;
+        }
+
+        private boolean isBatch() {
+            return methodNames.length > 1;
+        }
+
+        private boolean isElementwise() {
+            return this == AFTER_SCAN || this == AFTER_QUERY || isBatch();
+        }
+    }
+
+    private static final Map<Class<?>, Callback> CALLBACKS = new HashMap<>();
+    static {
+        CALLBACKS.put(BeforeSaveEvent.class, Callback.BEFORE_SAVE);
+        CALLBACKS.put(AfterSaveEvent.class, Callback.AFTER_SAVE);
+        CALLBACKS.put(BeforeDeleteEvent.class, Callback.BEFORE_DELETE);
+        CALLBACKS.put(AfterDeleteEvent.class, Callback.AFTER_DELETE);
+        CALLBACKS.put(AfterLoadEvent.class, Callback.AFTER_LOAD);
+        CALLBACKS.put(AfterScanEvent.class, Callback.AFTER_SCAN);
+        CALLBACKS.put(AfterParallelScanEvent.class, Callback.AFTER_SCAN);
+        CALLBACKS.put(AfterScanPageEvent.class, Callback.AFTER_SCAN);
+        CALLBACKS.put(AfterQueryEvent.class, Callback.AFTER_QUERY);
+        CALLBACKS.put(AfterQueryPageEvent.class, Callback.AFTER_QUERY);
+        CALLBACKS.put(BeforeBatchSaveEvent.class, Callback.BEFORE_BATCH_SAVE);
+        CALLBACKS.put(AfterBatchSaveEvent.class, Callback.AFTER_BATCH_SAVE);
+        CALLBACKS.put(BeforeBatchDeleteEvent.class, Callback.BEFORE_BATCH_DELETE);
+        CALLBACKS.put(AfterBatchDeleteEvent.class, Callback.AFTER_BATCH_DELETE);
+        CALLBACKS.put(AfterBatchLoadEvent.class, Callback.AFTER_BATCH_LOAD);
+    }
+
+    private final List<AbstractDynamoDBEventListener<Object>> listeners = new ArrayList<>();
+    private volatile Index index = new Index(Collections.emptyList());
+    @Nullable
+    private ApplicationContext applicationContext;
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (applicationContext != null) {
+            for (AbstractDynamoDBEventListener listener : applicationContext
+                    .getBeansOfType(AbstractDynamoDBEventListener.class).values()) {
+                register(listener);
+            }
+        }
+    }
+
+    /**
+     * @param listener
+     *            must not be {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void register(AbstractDynamoDBEventListener<?> listener) {
+        Assert.notNull(listener, "listener must not be null!");
+
+        if (!listeners.contains(listener)) {
+            listeners.add((AbstractDynamoDBEventListener<Object>) listener);
+            index = new Index(new ArrayList<>(listeners));
+        }
+    }
+
+    /**
+     * @param eventType
+     *            the type of the mapping event
+     * @param domainClass
+     *            the domain class of the entities carried by the event
+     * @return {@code true} if any registered listener is interested in the event
+     */
+    public boolean hasListeners(Class<?> eventType, Class<?> domainClass) {
+        Callback callback = CALLBACKS.get(eventType);
+        return callback != null && !index.resolve(callback, domainClass).isEmpty();
+    }
+
+    /**
+     * Invokes the callbacks matching the given event type for the given source. The event itself is only created for
+     * listeners handling {@link AbstractDynamoDBEventListener#onApplicationEvent(DynamoDBMappingEvent)} directly.
+     *
+     * @param domainClass
+     *            the domain class of the entities carried by the source
+     * @param source
+     *            an entity or, for query and scan events, the returned page or list
+     * @param eventType
+     *            the type of the mapping event
+     * @param factory
+     *            creates the event for the source
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void dispatch(Class<?> domainClass, T source, Class<?> eventType,
+            Function<T, ? extends DynamoDBMappingEvent<T>> factory) {
+        Callback callback = CALLBACKS.get(eventType);
+        Assert.notNull(callback, () -> "Unsupported mapping event " + eventType);
+
+        List<AbstractDynamoDBEventListener<Object>> subscribed = index.resolve(callback, domainClass);
+        if (subscribed.isEmpty()) {
+            return;
+        }
+
+        DynamoDBMappingEvent<T> event = null;
+        for (AbstractDynamoDBEventListener<Object> listener : subscribed) {
+            if (index.handlesEvents(listener)) {
+                if (event == null) {
+                    event = factory.apply(source);
+                }
+                listener.onApplicationEvent(event);
+            } else if (callback.isBatch()) {
+                listener.publishMatchingElements((List<?>) source, batch -> callback.invoker.accept(listener, batch));
+            } else if (source instanceof List) {
+                invokeEach(listener, callback, (List<Object>) source);
+            } else if (source instanceof ScanResultPage) {
+                invokeEach(listener, callback, ((ScanResultPage<Object>) source).getResults());
+            } else if (source instanceof QueryResultPage) {
+                invokeEach(listener, callback, ((QueryResultPage<Object>) source).getResults());
+            } else {
+                callback.invoker.accept(listener, source);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> asList(Object batch) {
+        return (List<Object>) batch;
+    }
+
+    private static void invokeEach(AbstractDynamoDBEventListener<Object> listener, Callback callback,
+            List<Object> elements) {
+        for (Object element : elements) {
+            if (listener.getDomainClass().isAssignableFrom(element.getClass())) {
+                callback.invoker.accept(listener, element);
+            }
+        }
+    }
+
+    private static final class Index {
+        private final Map<Callback, List<AbstractDynamoDBEventListener<Object>>> byCallback = new EnumMap<>(
+                Callback.class);
+        private final Map<Callback, ConcurrentMap<Class<?>, List<AbstractDynamoDBEventListener<Object>>>> resolved;
+        private final List<AbstractDynamoDBEventListener<Object>> eventHandlers = new ArrayList<>();
+
+        private Index(List<AbstractDynamoDBEventListener<Object>> listeners) {
+            resolved = new EnumMap<>(Callback.class);
+            for (Callback callback : Callback.values()) {
+                byCallback.put(callback, new ArrayList<>());
+                resolved.put(callback, new ConcurrentHashMap<>());
+            }
+            for (AbstractDynamoDBEventListener<Object> listener : listeners) {
+                boolean handlesEvents = overrides(listener, "onApplicationEvent", DynamoDBMappingEvent.class);
+                if (handlesEvents) {
+                    eventHandlers.add(listener);
+                }
+                for (Callback callback : Callback.values()) {
+                    if (handlesEvents || overridesAny(listener, callback)) {
+                        byCallback.get(callback).add(listener);
+                    }
+                }
+            }
+        }
+
+        private List<AbstractDynamoDBEventListener<Object>> resolve(Callback callback, Class<?> domainClass) {
+            return resolved.get(callback).computeIfAbsent(domainClass, type -> {
+                List<AbstractDynamoDBEventListener<Object>> matching = new ArrayList<>();
+                boolean elementwise = callback.isElementwise();
+                for (AbstractDynamoDBEventListener<Object> listener : byCallback.get(callback)) {
+                    Class<?> listenerType = listener.getDomainClass();
+                    // Scan and query results may hold subclasses, these are filtered per element on dispatch
+                    if (eventHandlers.contains(listener) || listenerType.isAssignableFrom(type)
+                            || (elementwise && type.isAssignableFrom(listenerType))) {
+                        matching.add(listener);
+                    }
+                }
+                return matching.isEmpty() ? Collections.emptyList() : matching;
+            });
+        }
+
+        private boolean handlesEvents(AbstractDynamoDBEventListener<Object> listener) {
+            return eventHandlers.contains(listener);
+        }
+
+        private static boolean overridesAny(AbstractDynamoDBEventListener<?> listener, Callback callback) {
+            for (String methodName : callback.methodNames) {
+                Class<?> parameterType = methodName.contains("Batch") ? List.class : Object.class;
+                if (overrides(listener, methodName, parameterType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean overrides(AbstractDynamoDBEventListener<?> listener, String methodName,
+                Class<?> parameterType) {
+            Method method = ReflectionUtils.findMethod(listener.getClass(), methodName, parameterType);
+            return method != null && method.getDeclaringClass() != AbstractDynamoDBEventListener.class;
+        }
+    }
+}
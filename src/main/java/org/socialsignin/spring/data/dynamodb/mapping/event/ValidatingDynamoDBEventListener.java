@@ -41,6 +41,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * javax.validation dependant entities validator. When it is registered as Spring component its automatically invoked
@@ -89,4 +90,21 @@ public class ValidatingDynamoDBEventListener extends AbstractDynamoDBEventListen
             throw new ConstraintViolationException(messages.toString(), genericViolationSet);
         }
     }
+
+    /**
+     * Validates all entities of the batch in parallel and reports the violations of all of them at once.
+     */
+    @Override
+    public void onBeforeBatchSave(List<Object> sources) {
+
+        LOG.debug("Validating {} objects", sources.size());
+
+        Set<ConstraintViolation<?>> violations = sources.parallelStream()
+                .flatMap(source -> validator.validate(source).stream()).collect(Collectors.toSet());
+        if (!violations.isEmpty()) {
+            List<String> messages = violations.stream().map(ConstraintViolation::toString).collect(Collectors.toList());
+            LOG.info("During batch validation violations found: {}", violations);
+            throw new ConstraintViolationException(messages.toString(), violations);
+        }
+    }
 }
@@ -15,10 +15,19 @@
  */
 package org.socialsignin.spring.data.dynamodb.query;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * 
@@ -31,12 +40,161 @@ public abstract class AbstractMultipleEntityQuery<T> extends AbstractDynamicQuer
         super(dynamoDBOperations, clazz);
     }
 
+    @Override
+    public ResultPage<T> getResultPage(@Nullable Map<String, AttributeValue> exclusiveStartKey) {
+        return fetchResultPage(exclusiveStartKey, null);
+    }
+
+    @Override
+    public ResultPage<T> getResultPage(@Nullable Map<String, AttributeValue> exclusiveStartKey, int pageSize) {
+        Assert.isTrue(pageSize > 0, "pageSize must be greater than 0!");
+
+        // Each round trip evaluates at most the number of missing items, thus never reads beyond the page. Filtered
+        // round trips might return less, so keep going until the page is full or the table is exhausted.
+        List<T> results = new ArrayList<>(pageSize);
+        Map<String, AttributeValue> lastEvaluatedKey = exclusiveStartKey;
+        do {
+            ResultPage<T> page = fetchResultPage(lastEvaluatedKey, pageSize - results.size());
+            results.addAll(page.getResults());
+            lastEvaluatedKey = page.getLastEvaluatedKey();
+        } while (lastEvaluatedKey != null && results.size() < pageSize);
+
+        return new ResultPage<>(results, lastEvaluatedKey);
+    }
+
+    @Override
+    public List<T> getResultList(int maxResults) {
+        // Without a filter every evaluated item is a result, so there is no need to evaluate more than maxResults. A
+        // filtered request keeps the default page size - the lazy list stops fetching once maxResults matched.
+        if (!isFiltered()) {
+            limitRequest(maxResults);
+        }
+        List<T> results = new ArrayList<>();
+        Iterator<T> iterator = getResultList().iterator();
+        while (results.size() < maxResults && iterator.hasNext()) {
+            results.add(iterator.next());
+        }
+        return results;
+    }
+
+    @Override
+    public boolean exists() {
+        // Only the presence of a result matters, so transfer nothing but the keys of the evaluated items
+        projectKeys();
+        return !getResultList(1).isEmpty();
+    }
+
+    @Override
+    public Stream<T> getKeyStream() {
+        projectKeys();
+        return getResultStream();
+    }
+
+    /**
+     * Restricts the attributes the DynamoDB request returns to the key attributes of the table, unless a projection
+     * is specified already. DynamoDB rejects requests mixing expression parameters with legacy conditional parameters
+     * such as {@code ScanFilter}, {@code QueryFilter} or {@code KeyConditions}, so such requests must use
+     * {@code AttributesToGet} instead - or read whole items where the request type offers no such parameter.
+     */
+    protected void projectKeys() {
+    }
+
+    /**
+     * Builds a projection expression on the key attributes of the table.
+     * 
+     * @param tableModel
+     *            The table model of the domain class
+     * @param expressionAttributeNames
+     *            Receives the placeholders used in the returned expression
+     * @return The projection expression
+     */
+    protected static String keyProjection(DynamoDBMapperTableModel<?> tableModel,
+            Map<String, String> expressionAttributeNames) {
+        expressionAttributeNames.put("#projectedHashKey", tableModel.hashKey().name());
+        if (tableModel.rangeKeyIfExists() == null) {
+            return "#projectedHashKey";
+        }
+        expressionAttributeNames.put("#projectedRangeKey", tableModel.rangeKeyIfExists().name());
+        return "#projectedHashKey, #projectedRangeKey";
+    }
+
+    /**
+     * @param tableModel
+     *            The table model of the domain class
+     * @return The names of the key attributes of the table, e.g. for {@code AttributesToGet}
+     */
+    protected static List<String> keyAttributeNames(DynamoDBMapperTableModel<?> tableModel) {
+        List<String> keyAttributeNames = new ArrayList<>(2);
+        keyAttributeNames.add(tableModel.hashKey().name());
+        if (tableModel.rangeKeyIfExists() != null) {
+            keyAttributeNames.add(tableModel.rangeKeyIfExists().name());
+        }
+        return keyAttributeNames;
+    }
+
+    /**
+     * @param legacyConditions
+     *            The legacy conditional parameters of a request, e.g. its {@code ScanFilter}
+     * @return {@code true} if any of them is set, thus the request must not use expression parameters
+     */
+    protected static boolean hasLegacyConditions(Map<?, ?>... legacyConditions) {
+        for (Map<?, ?> conditions : legacyConditions) {
+            if (conditions != null && !conditions.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static Map<String, String> mutableCopyOf(@Nullable Map<String, String> expressionAttributeNames) {
+        return expressionAttributeNames == null ? new HashMap<>() : new HashMap<>(expressionAttributeNames);
+    }
+
+    /**
+     * @return {@code true} if the DynamoDB request has a filter, thus returns less items than it evaluates
+     */
+    protected boolean isFiltered() {
+        return true;
+    }
+
+    /**
+     * Restricts the number of items the DynamoDB request evaluates per round trip, unless it is restricted further
+     * already.
+     * 
+     * @param maxResults
+     *            The maximum number of items to evaluate
+     */
+    protected void limitRequest(int maxResults) {
+    }
+
+    /**
+     * Executes a single DynamoDB round trip.
+     * 
+     * @param exclusiveStartKey
+     *            The key to continue from, {@code null} for the first round trip
+     * @param limit
+     *            The maximum number of items to evaluate or {@code null} to use the limit of the query itself
+     * @return The results of the round trip
+     */
+    protected ResultPage<T> fetchResultPage(@Nullable Map<String, AttributeValue> exclusiveStartKey,
+            @Nullable Integer limit) {
+        return new ResultPage<>(getResultList(), null);
+    }
+
+    @Nullable
+    protected static Integer effectiveLimit(@Nullable Integer queryLimit, @Nullable Integer limit) {
+        if (queryLimit == null) {
+            return limit;
+        }
+        return limit == null ? queryLimit : Math.min(queryLimit, limit);
+    }
+
     @Override
     public T getSingleResult() {
-        List<T> results = getResultList();
+        // A second result is enough to tell that the result is not unique
+        List<T> results = getResultList(2);
         if (results.size() > 1) {
-            throw new IncorrectResultSizeDataAccessException("result returns more than one elements", 1,
-                    results.size());
+            throw new IncorrectResultSizeDataAccessException("result returns more than one elements", 1);
         }
         if (results.size() == 0) {
             // return null here as Spring will convert that to Optional if nessassary
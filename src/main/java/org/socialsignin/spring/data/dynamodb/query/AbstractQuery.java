@@ -25,6 +25,7 @@ public abstract class AbstractQuery<T> implements Query<T> {
 
     protected boolean scanEnabled = false;
     protected boolean scanCountEnabled = false;
+    protected int scanTotalSegments = 1;
 
     @Override
     public boolean isScanCountEnabled() {
@@ -46,4 +47,14 @@ public abstract class AbstractQuery<T> implements Query<T> {
         return scanEnabled;
     }
 
+    @Override
+    public void setScanTotalSegments(int scanTotalSegments) {
+        this.scanTotalSegments = scanTotalSegments;
+    }
+
+    @Override
+    public int getScanTotalSegments() {
+        return scanTotalSegments;
+    }
+
 }
@@ -16,9 +16,14 @@
 package org.socialsignin.spring.data.dynamodb.query;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Select;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Michael Lavelle
@@ -39,4 +44,47 @@ public class MultipleEntityQueryExpressionQuery<T> extends AbstractMultipleEntit
         return dynamoDBOperations.query(clazz, queryExpression);
     }
 
+    @Override
+    public boolean isResultPageable() {
+        return true;
+    }
+
+    @Override
+    protected boolean isFiltered() {
+        return !CollectionUtils.isEmpty(queryExpression.getQueryFilter())
+                || queryExpression.getFilterExpression() != null;
+    }
+
+    @Override
+    protected void limitRequest(int maxResults) {
+        queryExpression.setLimit(effectiveLimit(queryExpression.getLimit(), maxResults));
+    }
+
+    @Override
+    protected void projectKeys() {
+        // Without a key condition expression the mapper sends the hash key values and range key conditions as legacy
+        // KeyConditions. A query expression offers no AttributesToGet, so such queries read whole items.
+        if (queryExpression.getProjectionExpression() == null && queryExpression.getKeyConditionExpression() != null
+                && !hasLegacyConditions(queryExpression.getQueryFilter())) {
+            Map<String, String> expressionAttributeNames = mutableCopyOf(queryExpression.getExpressionAttributeNames());
+            queryExpression.setProjectionExpression(
+                    keyProjection(dynamoDBOperations.getTableModel(clazz), expressionAttributeNames));
+            queryExpression.setExpressionAttributeNames(expressionAttributeNames);
+            queryExpression.setSelect(Select.SPECIFIC_ATTRIBUTES);
+        }
+    }
+
+    @Override
+    protected ResultPage<T> fetchResultPage(Map<String, AttributeValue> exclusiveStartKey, Integer limit) {
+        Integer queryLimit = queryExpression.getLimit();
+        try {
+            queryExpression.setExclusiveStartKey(exclusiveStartKey);
+            queryExpression.setLimit(effectiveLimit(queryLimit, limit));
+            QueryResultPage<T> page = dynamoDBOperations.queryPage(clazz, queryExpression);
+            return new ResultPage<>(page.getResults(), page.getLastEvaluatedKey());
+        } finally {
+            queryExpression.setLimit(queryLimit);
+        }
+    }
+
 }
@@ -15,10 +15,15 @@
  */
 package org.socialsignin.spring.data.dynamodb.query;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.Select;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Map;
 
 public class MultipleEntityQueryRequestQuery<T> extends AbstractMultipleEntityQuery<T> {
 
@@ -38,4 +43,57 @@ public class MultipleEntityQueryRequestQuery<T> extends AbstractMultipleEntityQu
         return dynamoDBOperations.query(clazz, queryRequest);
     }
 
+    @Override
+    public boolean isResultPageable() {
+        // A limit caps the overall result, thus there is no key to continue from
+        return queryRequest.getLimit() == null;
+    }
+
+    @Override
+    protected boolean isFiltered() {
+        return !CollectionUtils.isEmpty(queryRequest.getQueryFilter()) || queryRequest.getFilterExpression() != null;
+    }
+
+    @Override
+    public List<T> getResultList(int maxResults) {
+        if (isFiltered()) {
+            return super.getResultList(maxResults);
+        }
+        // A Limit on the request would cap the overall result - see getResultList() - and thus stop at the 1 MB
+        // boundary of the first response. Instead, keep following the LastEvaluatedKey until maxResults items are read.
+        return getResultPage(null, maxResults).getResults();
+    }
+
+    @Override
+    protected void projectKeys() {
+        if (queryRequest.getProjectionExpression() != null || queryRequest.getAttributesToGet() != null) {
+            return;
+        }
+        if (hasLegacyConditions(queryRequest.getKeyConditions(), queryRequest.getQueryFilter())) {
+            queryRequest.setAttributesToGet(keyAttributeNames(dynamoDBOperations.getTableModel(clazz)));
+            queryRequest.setSelect(Select.SPECIFIC_ATTRIBUTES);
+        } else {
+            Map<String, String> expressionAttributeNames = mutableCopyOf(queryRequest.getExpressionAttributeNames());
+            queryRequest.setProjectionExpression(
+                    keyProjection(dynamoDBOperations.getTableModel(clazz), expressionAttributeNames));
+            queryRequest.setExpressionAttributeNames(expressionAttributeNames);
+            queryRequest.setSelect(Select.SPECIFIC_ATTRIBUTES);
+        }
+    }
+
+    @Override
+    protected ResultPage<T> fetchResultPage(Map<String, AttributeValue> exclusiveStartKey, Integer limit) {
+        Integer queryLimit = queryRequest.getLimit();
+        try {
+            queryRequest.setExclusiveStartKey(exclusiveStartKey);
+            queryRequest.setLimit(effectiveLimit(queryLimit, limit));
+            QueryResultPage<T> page = dynamoDBOperations.queryPage(clazz, queryRequest);
+
+            // Same semantics as DynamoDBOperations#query(Class, QueryRequest): a limit caps the overall result
+            return new ResultPage<>(page.getResults(), queryLimit != null ? null : page.getLastEvaluatedKey());
+        } finally {
+            queryRequest.setLimit(queryLimit);
+        }
+    }
+
 }
@@ -16,10 +16,15 @@
 package org.socialsignin.spring.data.dynamodb.query;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.Select;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.Map;
 
 public class MultipleEntityScanExpressionQuery<T> extends AbstractMultipleEntityQuery<T> {
 
@@ -34,9 +39,53 @@ public class MultipleEntityScanExpressionQuery<T> extends AbstractMultipleEntity
     @Override
     public List<T> getResultList() {
         assertScanEnabled(isScanEnabled());
+        if (getScanTotalSegments() > 1) {
+            return dynamoDBOperations.parallelScan(clazz, scanExpression, getScanTotalSegments());
+        }
         return dynamoDBOperations.scan(clazz, scanExpression);
     }
 
+    @Override
+    public boolean isResultPageable() {
+        return true;
+    }
+
+    @Override
+    protected boolean isFiltered() {
+        return !CollectionUtils.isEmpty(scanExpression.getScanFilter()) || scanExpression.getFilterExpression() != null;
+    }
+
+    @Override
+    protected void limitRequest(int maxResults) {
+        scanExpression.setLimit(effectiveLimit(scanExpression.getLimit(), maxResults));
+    }
+
+    @Override
+    protected void projectKeys() {
+        // A scan expression offers no AttributesToGet, so a legacy ScanFilter means reading whole items
+        if (scanExpression.getProjectionExpression() == null && !hasLegacyConditions(scanExpression.getScanFilter())) {
+            Map<String, String> expressionAttributeNames = mutableCopyOf(scanExpression.getExpressionAttributeNames());
+            scanExpression.setProjectionExpression(
+                    keyProjection(dynamoDBOperations.getTableModel(clazz), expressionAttributeNames));
+            scanExpression.setExpressionAttributeNames(expressionAttributeNames);
+            scanExpression.setSelect(Select.SPECIFIC_ATTRIBUTES);
+        }
+    }
+
+    @Override
+    protected ResultPage<T> fetchResultPage(Map<String, AttributeValue> exclusiveStartKey, Integer limit) {
+        assertScanEnabled(isScanEnabled());
+        Integer queryLimit = scanExpression.getLimit();
+        try {
+            scanExpression.setExclusiveStartKey(exclusiveStartKey);
+            scanExpression.setLimit(effectiveLimit(queryLimit, limit));
+            ScanResultPage<T> page = dynamoDBOperations.scanPage(clazz, scanExpression);
+            return new ResultPage<>(page.getResults(), page.getLastEvaluatedKey());
+        } finally {
+            scanExpression.setLimit(queryLimit);
+        }
+    }
+
     public void assertScanEnabled(boolean scanEnabled) {
         Assert.isTrue(scanEnabled, "Scanning for this query is not enabled.  "
                 + "To enable annotate your repository method with @EnableScan, or "
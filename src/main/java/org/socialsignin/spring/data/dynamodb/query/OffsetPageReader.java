@@ -0,0 +1,78 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.socialsignin.spring.data.dynamodb.core.PageTokenCache;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Reads a page addressed by offset, continuing from the closest page boundary remembered by a
+ * {@link PageTokenCache} and remembering the boundaries reached on the way.
+ */
+public final class OffsetPageReader {
+
+    private OffsetPageReader() {
+
+    }
+
+    /**
+     * @param <T>
+     *            The type of the entities
+     * @param query
+     *            must be {@link Query#isResultPageable() pageable}
+     * @param pageTokenCache
+     *            The cache to read and store the boundaries
+     * @param domainClass
+     *            The domain class the query reads
+     * @param queryKey
+     *            Identifies the query including all its parameters
+     * @param offset
+     *            The offset of the first result to return
+     * @param pageSize
+     *            The maximum number of results to return
+     * @return The page - without results if the offset is beyond the last result
+     */
+    public static <T> ResultPage<T> read(Query<T> query, PageTokenCache pageTokenCache, Class<?> domainClass,
+            Object queryKey, long offset, int pageSize) {
+        Assert.isTrue(query.isResultPageable(), "query must be pageable!");
+
+        long generation = pageTokenCache.generation(domainClass);
+        Map.Entry<Long, Map<String, AttributeValue>> boundary = pageTokenCache.floor(domainClass, queryKey, offset);
+        long position = boundary == null ? 0 : boundary.getKey();
+        Map<String, AttributeValue> startKey = boundary == null ? null : boundary.getValue();
+
+        if (position < offset) {
+            // Skip to the requested offset in as few round trips as possible
+            int toSkip = (int) Math.min(offset - position, Integer.MAX_VALUE);
+            ResultPage<T> skipped = query.getResultPage(startKey, toSkip);
+            position += skipped.getResults().size();
+            startKey = skipped.getLastEvaluatedKey();
+            if (position < offset || startKey == null) {
+                return new ResultPage<>(Collections.emptyList(), null);
+            }
+            pageTokenCache.put(domainClass, queryKey, generation, position, startKey);
+        }
+
+        ResultPage<T> page = query.getResultPage(startKey, pageSize);
+        pageTokenCache.put(domainClass, queryKey, generation, offset + page.getResults().size(),
+                page.getLastEvaluatedKey());
+        return page;
+    }
+}
@@ -15,7 +15,17 @@
  */
 package org.socialsignin.spring.data.dynamodb.query;
 
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface Query<T> {
 
@@ -29,6 +39,34 @@ public interface Query<T> {
      */
     List<T> getResultList();
 
+    /**
+     * Execute a SELECT query and return at most {@code maxResults} of its results. No further results are read from
+     * DynamoDB once {@code maxResults} results have been seen.
+     * 
+     * @param maxResults
+     *            The maximum number of results to return
+     * 
+     * @return a list of the results
+     */
+    default List<T> getResultList(int maxResults) {
+        List<T> results = new ArrayList<>();
+        Iterator<T> iterator = getResultList().iterator();
+        // Check the size first, so a lazy list does not fetch its next page just to find out whether there is one
+        while (results.size() < maxResults && iterator.hasNext()) {
+            results.add(iterator.next());
+        }
+        return results;
+    }
+
+    /**
+     * Execute a SELECT query and return whether it has any result. Implementations read no more than needed to tell.
+     * 
+     * @return {@code true} if there is at least one result
+     */
+    default boolean exists() {
+        return !getResultList(1).isEmpty();
+    }
+
     /**
      * Execute a SELECT query that returns a single result.
      * 
@@ -36,6 +74,67 @@ public interface Query<T> {
      */
     T getSingleResult();
 
+    /**
+     * Execute a SELECT query and return only the results of a single DynamoDB round trip.
+     * 
+     * @param exclusiveStartKey
+     *            The key to continue from as reported by {@link ResultPage#getLastEvaluatedKey()} of the previous
+     *            page, {@code null} for the first page
+     * 
+     * @return the page of results - queries that are not backed by a DynamoDB Query or Scan return all their results
+     *         as a single page
+     */
+    default ResultPage<T> getResultPage(@Nullable Map<String, AttributeValue> exclusiveStartKey) {
+        return new ResultPage<>(getResultList(), null);
+    }
+
+    /**
+     * Execute a SELECT query and return up to {@code pageSize} results following the given key. The returned
+     * {@link ResultPage#getLastEvaluatedKey()} points exactly behind the last returned result, so it can be used to
+     * continue reading without skipping or repeating any item.
+     * 
+     * @param exclusiveStartKey
+     *            The key to continue from as reported by {@link ResultPage#getLastEvaluatedKey()} of the previous
+     *            page, {@code null} for the first page
+     * @param pageSize
+     *            The maximum number of results to return
+     * 
+     * @return the page of results - queries that are not backed by a DynamoDB Query or Scan return all their results
+     *         as a single page
+     */
+    default ResultPage<T> getResultPage(@Nullable Map<String, AttributeValue> exclusiveStartKey, int pageSize) {
+        return getResultPage(exclusiveStartKey);
+    }
+
+    /**
+     * @return {@code true} if {@link #getResultPage(Map, int)} returns pages of the requested size which can be
+     *         continued from their {@link ResultPage#getLastEvaluatedKey()}
+     */
+    default boolean isResultPageable() {
+        return false;
+    }
+
+    /**
+     * Execute a SELECT query and return the query results as a lazy {@link Stream}. The DynamoDB pages are fetched on
+     * demand while the stream is consumed and are not retained afterwards.
+     * 
+     * @return a stream of the results
+     */
+    default Stream<T> getResultStream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new ResultPageIterator<>(this),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Execute a SELECT query and return its results as a lazy {@link Stream} like {@link #getResultStream()}. The
+     * results are only guaranteed to carry their key attributes, so implementations may read nothing else.
+     * 
+     * @return a stream of the results
+     */
+    default Stream<T> getKeyStream() {
+        return getResultStream();
+    }
+
     void setScanEnabled(boolean scanEnabled);
 
     void setScanCountEnabled(boolean scanCountEnabled);
@@ -44,4 +143,8 @@ public interface Query<T> {
 
     boolean isScanEnabled();
 
+    void setScanTotalSegments(int scanTotalSegments);
+
+    int getScanTotalSegments();
+
 }
@@ -0,0 +1,55 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single page of results as returned by one DynamoDB Query or Scan call.
+ *
+ * @param <T>
+ *            The type of the entities
+ */
+public class ResultPage<T> {
+
+    private final List<T> results;
+    private final Map<String, AttributeValue> lastEvaluatedKey;
+
+    public ResultPage(List<T> results, @Nullable Map<String, AttributeValue> lastEvaluatedKey) {
+        this.results = results;
+        this.lastEvaluatedKey = lastEvaluatedKey;
+    }
+
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * @return The key to continue reading from or {@code null} if this is the last page
+     */
+    @Nullable
+    public Map<String, AttributeValue> getLastEvaluatedKey() {
+        return lastEvaluatedKey;
+    }
+
+    public boolean hasNext() {
+        return lastEvaluatedKey != null;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over all results of a {@link Query} by fetching one {@link ResultPage} at a time. Only the page currently
+ * being iterated is referenced, so a consumed page can be garbage collected as soon as the next one has been fetched.
+ * This matches the {@code PaginationLoadingStrategy.ITERATION_ONLY} behaviour of the {@code DynamoDBMapper}.
+ *
+ * @param <T>
+ *            The type of the entities
+ */
+class ResultPageIterator<T> implements Iterator<T> {
+
+    private final Query<T> query;
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private Map<String, AttributeValue> lastEvaluatedKey;
+    private boolean lastPageFetched = false;
+
+    ResultPageIterator(Query<T> query) {
+        this.query = query;
+    }
+
+    @Override
+    public boolean hasNext() {
+        // A filtered page might be empty but still have a successor
+        while (!current.hasNext() && !lastPageFetched) {
+            ResultPage<T> page = query.getResultPage(lastEvaluatedKey);
+            current = page.getResults().iterator();
+            lastEvaluatedKey = page.getLastEvaluatedKey();
+            lastPageFetched = !page.hasNext();
+        }
+        return current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
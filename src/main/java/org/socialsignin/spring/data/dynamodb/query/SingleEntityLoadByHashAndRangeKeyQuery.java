@@ -38,4 +38,9 @@ public class SingleEntityLoadByHashAndRangeKeyQuery<T> extends AbstractSingleEnt
         return dynamoDBOperations.load(clazz, hashKey, rangeKey);
     }
 
+    @Override
+    public boolean exists() {
+        return dynamoDBOperations.exists(clazz, hashKey, rangeKey);
+    }
+
 }
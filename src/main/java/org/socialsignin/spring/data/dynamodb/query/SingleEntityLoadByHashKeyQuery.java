@@ -35,4 +35,9 @@ public class SingleEntityLoadByHashKeyQuery<T> extends AbstractSingleEntityQuery
         return dynamoDBOperations.load(clazz, hashKey);
     }
 
+    @Override
+    public boolean exists() {
+        return dynamoDBOperations.exists(clazz, hashKey, null);
+    }
+
 }
@@ -15,9 +15,12 @@
  */
 package org.socialsignin.spring.data.dynamodb.repository;
 
+import org.socialsignin.spring.data.dynamodb.exception.EntityAlreadyExistsException;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.NoRepositoryBean;
 
+import java.util.Set;
+
 /**
  * DynamoDB specific extension of {@link org.springframework.data.repository.Repository}.
  * 
@@ -27,4 +30,78 @@ import org.springframework.data.repository.NoRepositoryBean;
 @NoRepositoryBean
 public interface DynamoDBCrudRepository<T, ID> extends CrudRepository<T, ID> {
 
+    /**
+     * Saves a new entity, failing if an entity with the same id exists already. The check is a condition of the
+     * write itself, so there is no prior read.
+     * 
+     * @param entity
+     *            must not be {@code null}
+     * @return the saved entity
+     * @throws EntityAlreadyExistsException
+     *             if an entity with the same id exists already
+     */
+    <S extends T> S insert(S entity) throws EntityAlreadyExistsException;
+
+    /**
+     * Saves the entity unless an entity with the same id exists already. The check is a condition of the write itself,
+     * so there is no prior read.
+     * 
+     * @param entity
+     *            must not be {@code null}
+     * @return {@code true} if the entity has been saved, {@code false} if an entity with the same id exists already
+     */
+    <S extends T> boolean saveIfAbsent(S entity);
+
+    /**
+     * Atomically adds the given delta to a number property in place, without reading the entity first. A missing
+     * entity is created.
+     * 
+     * @param id
+     *            must not be {@code null}
+     * @param propertyName
+     *            The name of the property, resolved to its attribute name
+     * @param delta
+     *            The value to add, negative to subtract
+     * @return The value of the property after the update
+     */
+    long increment(ID id, String propertyName, long delta);
+
+    /**
+     * Atomically adds values to a set property in place, without reading the entity first. A missing entity is
+     * created.
+     * 
+     * @param id
+     *            must not be {@code null}
+     * @param propertyName
+     *            The name of the property, resolved to its attribute name
+     * @param values
+     *            must not be empty
+     */
+    void addToSet(ID id, String propertyName, Set<?> values);
+
+    /**
+     * Atomically removes values from a set property in place, without reading the entity first.
+     * 
+     * @param id
+     *            must not be {@code null}
+     * @param propertyName
+     *            The name of the property, resolved to its attribute name
+     * @param values
+     *            must not be empty
+     */
+    void removeFromSet(ID id, String propertyName, Set<?> values);
+
+    /**
+     * Sets a property in place unless it already has a value, without reading the entity first. A missing entity is
+     * created.
+     * 
+     * @param id
+     *            must not be {@code null}
+     * @param propertyName
+     *            The name of the property, resolved to its attribute name
+     * @param value
+     *            must not be {@code null}
+     * @return {@code true} if the value has been set, {@code false} if the property already had a value
+     */
+    boolean setIfAbsent(ID id, String propertyName, Object value);
 }
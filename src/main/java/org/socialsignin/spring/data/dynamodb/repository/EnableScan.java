@@ -30,4 +30,12 @@ import java.lang.annotation.Target;
 @Documented
 public @interface EnableScan {
 
+    /**
+     * Number of segments a scan is split into. With more than one segment, the segments are scanned in parallel via
+     * {@code Segment}/{@code TotalSegments}, each on its own thread, and the results are merged into a single lazily
+     * loaded list. The order of the results is not defined then.
+     *
+     * @return the number of segments - {@code 1} for a sequential scan
+     */
+    int totalSegments() default 1;
 }
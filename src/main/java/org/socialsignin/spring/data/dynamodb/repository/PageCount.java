@@ -0,0 +1,40 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Configures how the total of a {@link org.springframework.data.domain.Page} is determined. Annotate a query method
+ * returning a {@code Page}, a re-declared {@code findAll(Pageable)} or the repository interface to apply it to all
+ * its paged methods.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE })
+@Documented
+public @interface PageCount {
+
+    QueryConstants.CountStrategy value() default QueryConstants.CountStrategy.EXACT;
+
+    /**
+     * @return How long a count is reused if the {@link QueryConstants.CountStrategy#CACHED} strategy is used
+     */
+    long ttlSeconds() default 60;
+}
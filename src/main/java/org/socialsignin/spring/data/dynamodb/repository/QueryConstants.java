@@ -54,4 +54,31 @@ public class QueryConstants {
         EVENTUAL
     }
 
+    public enum CountStrategy {
+        /**
+         * Count all matching items for every page that is read
+         */
+        EXACT,
+        /**
+         * Count all matching items, but reuse the count for the same query until its time to live expired
+         *
+         * @see PageCount#ttlSeconds()
+         */
+        CACHED,
+        /**
+         * Use the item count DynamoDB maintains for the table, which is updated approximately every six hours. Only
+         * applies to scans of the whole table without a filter; all other queries are counted {@link #EXACT}ly.
+         *
+         * @see <a href=
+         *      "https://docs.aws.amazon.com/amazondynamodb/latest/APIReference/API_DescribeTable.html">DescribeTable</a>
+         */
+        APPROXIMATE,
+        /**
+         * Do not count the matching items upfront. The total is only counted once it is asked for.
+         *
+         * @see org.socialsignin.spring.data.dynamodb.domain.LazyTotalPage
+         */
+        NONE
+    }
+
 }
@@ -17,9 +17,17 @@ package org.socialsignin.spring.data.dynamodb.repository.query;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.core.PageTokenCache;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetCursor;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetPage;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetPageRequest;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetSlice;
 import org.socialsignin.spring.data.dynamodb.domain.UnpagedPageImpl;
 import org.socialsignin.spring.data.dynamodb.exception.BatchDeleteException;
+import org.socialsignin.spring.data.dynamodb.query.OffsetPageReader;
 import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.socialsignin.spring.data.dynamodb.query.ResultPage;
+import org.socialsignin.spring.data.dynamodb.repository.support.PageCounter;
 import org.socialsignin.spring.data.dynamodb.utils.ExceptionHandler;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -32,9 +40,16 @@ import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.RepositoryQuery;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Michael Lavelle
@@ -44,14 +59,18 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 
     protected final DynamoDBOperations dynamoDBOperations;
     private final DynamoDBQueryMethod<T, ID> method;
+    private final PageCounter pageCounter;
 
     public AbstractDynamoDBQuery(DynamoDBOperations dynamoDBOperations, DynamoDBQueryMethod<T, ID> method) {
         this.dynamoDBOperations = dynamoDBOperations;
         this.method = method;
+        this.pageCounter = PageCounter.of(method.getPageCount());
     }
 
     protected QueryExecution<T, ID> getExecution() {
-        if (method.isCollectionQuery() && !isSingleEntityResultsRestriction()) {
+        if (method.isStreamQuery() && !isSingleEntityResultsRestriction()) {
+            return new StreamExecution();
+        } else if (method.isCollectionQuery() && !isSingleEntityResultsRestriction()) {
             return new CollectionExecution();
         } else if (method.isSliceQuery() && !isSingleEntityResultsRestriction()) {
             return new SlicedExecution(method.getParameters());
@@ -85,15 +104,39 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
     protected Query<T> doCreateQueryWithPermissions(Object[] values) {
         Query<T> query = doCreateQuery(values);
         query.setScanEnabled(method.isScanEnabled());
+        query.setScanTotalSegments(method.getScanTotalSegments());
         return query;
     }
 
     protected Query<Long> doCreateCountQueryWithPermissions(Object[] values, boolean pageQuery) {
         Query<Long> query = doCreateCountQuery(values, pageQuery);
         query.setScanCountEnabled(method.isScanCountEnabled());
+        query.setScanTotalSegments(method.getScanTotalSegments());
         return query;
     }
 
+    /**
+     * Reads the page addressed by the cursor of the {@link KeysetPageRequest}, honouring a results restriction based on
+     * the number of the requested page.
+     */
+    private ResultPage<T> readKeysetPage(Query<T> query, KeysetPageRequest pageable) {
+        int pageSize = pageable.getPageSize();
+        Integer restriction = getResultsRestrictionIfApplicable();
+        if (restriction != null) {
+            long remaining = restriction - pageable.getOffset();
+            if (remaining <= 0) {
+                return new ResultPage<>(Collections.emptyList(), null);
+            }
+            pageSize = (int) Math.min(pageSize, remaining);
+        }
+
+        ResultPage<T> page = query.getResultPage(KeysetCursor.decode(pageable.getCursor()), pageSize);
+        if (restriction != null && pageable.getOffset() + page.getResults().size() >= restriction) {
+            return new ResultPage<>(page.getResults(), null);
+        }
+        return page;
+    }
+
     private interface QueryExecution<T, ID> {
         Object execute(AbstractDynamoDBQuery<T, ID> query, Object[] values);
     }
@@ -104,21 +147,27 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
         public Object execute(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
             Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values);
             if (getResultsRestrictionIfApplicable() != null) {
-                return restrictMaxResultsIfNecessary(query.getResultList().iterator());
+                return query.getResultList(getResultsRestrictionIfApplicable());
             } else
                 return query.getResultList();
         }
 
-        private List<T> restrictMaxResultsIfNecessary(Iterator<T> iterator) {
-            int processed = 0;
-            List<T> resultsPage = new ArrayList<>();
-            while (iterator.hasNext() && processed < getResultsRestrictionIfApplicable()) {
-                resultsPage.add(iterator.next());
-                processed++;
-            }
-            return resultsPage;
-        }
+    }
 
+    /**
+     * Executes the {@link AbstractDynamoDBQuery} to return a lazy {@link Stream} of entities. In contrast to the
+     * {@link CollectionExecution} the pages read from DynamoDB are not retained once they have been consumed.
+     */
+    class StreamExecution implements QueryExecution<T, ID> {
+
+        @Override
+        public Object execute(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
+            Stream<T> results = dynamoDBQuery.doCreateQueryWithPermissions(values).getResultStream();
+            if (getResultsRestrictionIfApplicable() != null) {
+                return results.limit(getResultsRestrictionIfApplicable());
+            } else
+                return results;
+        }
     }
 
     /**
@@ -161,10 +210,174 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
             Pageable pageable = accessor.getPageable();
             Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values);
 
+            if (pageable instanceof KeysetPageRequest) {
+                return createKeysetPage(query, (KeysetPageRequest) pageable, dynamoDBQuery, values);
+            }
+
+            PageTokenCache pageTokenCache = dynamoDBOperations.getPageTokenCache();
+            if (pageTokenCache != null && pageable.isPaged() && query.isResultPageable()) {
+                return createCachedPage(query, pageTokenCache, pageable, dynamoDBQuery, values);
+            }
+            if (pageable.isPaged() && query.isResultPageable()) {
+                return createSinglePassPage(query, pageable, dynamoDBQuery, values);
+            }
+
             List<T> results = query.getResultList();
             return createPage(results, pageable, dynamoDBQuery, values);
         }
 
+        private Page<T> createCachedPage(Query<T> query, PageTokenCache pageTokenCache, Pageable pageable,
+                AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
+            int pageSize = getResultsRestrictionIfApplicable() != null
+                    ? Math.min(pageable.getPageSize(), getResultsRestrictionIfApplicable()) : pageable.getPageSize();
+
+            // The query is identified by the method, its arguments and the requested order - not by the page
+            List<Object> arguments = Arrays.stream(values).filter(it -> !(it instanceof Pageable))
+                    .collect(Collectors.toList());
+            ResultPage<T> page = OffsetPageReader.read(query, pageTokenCache, method.getEntityType(),
+                    Arrays.asList(method, pageable.getSort(), arguments), pageable.getOffset(), pageSize);
+            List<T> results = page.getResults();
+            if (results.isEmpty() && pageable.getOffset() > 0) {
+                return new PageImpl<>(Collections.emptyList());
+            }
+            if (!page.hasNext()) {
+                return new PageImpl<>(results, pageable, getFetchedTotal(pageable.getOffset() + results.size()));
+            }
+
+            LongSupplier total = getTotal(dynamoDBQuery, values, pageable);
+            return pageCounter.createPage(results, pageable,
+                    () -> page.hasNext() && !isRestrictionReached(pageable, results), total);
+        }
+
+        /**
+         * Reads the page from the first result onwards. If the first response already holds the whole result set, the
+         * total is derived from it. Otherwise the count is started right away, so it runs concurrently with reading
+         * the rest of the page if a count executor is configured - and is cancelled if the remaining responses turn
+         * out to hold the whole result set after all.
+         */
+        private Page<T> createSinglePassPage(Query<T> query, Pageable pageable,
+                AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
+            int pageSize = getResultsRestrictionIfApplicable() != null
+                    ? Math.min(pageable.getPageSize(), getResultsRestrictionIfApplicable()) : pageable.getPageSize();
+
+            ResultPage<T> page = query.getResultPage(null);
+            // Unless the first response holds all results a count is required
+            PendingTotal total = page.hasNext() ? new PendingTotal(dynamoDBQuery, values, pageable) : null;
+
+            long toSkip = pageable.getOffset();
+            long fetched = 0;
+            List<T> results = new ArrayList<>(pageSize);
+            while (true) {
+                for (T result : page.getResults()) {
+                    fetched++;
+                    if (toSkip > 0) {
+                        toSkip--;
+                    } else if (results.size() < pageSize) {
+                        results.add(result);
+                    }
+                }
+                if (results.size() == pageSize || !page.hasNext()) {
+                    break;
+                }
+                page = query.getResultPage(page.getLastEvaluatedKey());
+            }
+
+            if (!page.hasNext() || (results.isEmpty() && pageable.getOffset() > 0)) {
+                // All results have been fetched after all - a concurrently started count is not needed
+                if (total != null) {
+                    total.cancel();
+                }
+                if (results.isEmpty() && pageable.getOffset() > 0) {
+                    return new PageImpl<>(Collections.emptyList());
+                }
+                return new PageImpl<>(results, pageable, getFetchedTotal(fetched));
+            }
+            boolean hasNext = !isRestrictionReached(pageable, results);
+            return pageCounter.createPage(results, pageable, () -> hasNext, total.get());
+        }
+
+        /**
+         * The total of a page being read, determined on the count executor of the {@link DynamoDBOperations} if there
+         * is one, and on first access otherwise.
+         */
+        private final class PendingTotal {
+
+            private final AbstractDynamoDBQuery<T, ID> dynamoDBQuery;
+            private final Object[] values;
+            private final Pageable pageable;
+            private final CompletableFuture<LongSupplier> count;
+
+            private PendingTotal(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values, Pageable pageable) {
+                this.dynamoDBQuery = dynamoDBQuery;
+                this.values = values;
+                this.pageable = pageable;
+                Executor countExecutor = dynamoDBOperations.getCountExecutor();
+                this.count = countExecutor == null ? null
+                        : CompletableFuture.supplyAsync(() -> getTotal(dynamoDBQuery, values, pageable),
+                                countExecutor);
+            }
+
+            LongSupplier get() {
+                if (count == null) {
+                    return getTotal(dynamoDBQuery, values, pageable);
+                }
+                try {
+                    return count.join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+
+            /**
+             * A count still queued on the executor is not run at all, a running one completes in the background.
+             */
+            void cancel() {
+                if (count != null) {
+                    count.cancel(false);
+                }
+            }
+        }
+
+        private long getFetchedTotal(long fetched) {
+            return getResultsRestrictionIfApplicable() != null
+                    ? Math.min(fetched, getResultsRestrictionIfApplicable()) : fetched;
+        }
+
+        private boolean isRestrictionReached(Pageable pageable, List<T> results) {
+            return getResultsRestrictionIfApplicable() != null
+                    && pageable.getOffset() + results.size() >= getResultsRestrictionIfApplicable();
+        }
+
+        /**
+         * Determines the total according to the {@link PageCounter} of the query method. The count is cached by the
+         * arguments of the query, as each query method has its own counter.
+         */
+        private LongSupplier getTotal(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values,
+                Pageable pageable) {
+            List<Object> arguments = Arrays.stream(values).filter(it -> !(it instanceof Pageable))
+                    .collect(Collectors.toList());
+            return pageCounter.getTotal(arguments, () -> {
+                Query<Long> countQuery = dynamoDBQuery.doCreateCountQueryWithPermissions(values, true);
+                long count = countQuery.getSingleResult();
+                if (pageable.isPaged() && getResultsRestrictionIfApplicable() != null) {
+                    count = Math.min(count, getResultsRestrictionIfApplicable());
+                }
+                return count;
+            }, null);
+        }
+
+        private Page<T> createKeysetPage(Query<T> query, KeysetPageRequest pageable,
+                AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) {
+            ResultPage<T> page = readKeysetPage(query, pageable);
+            if (!page.hasNext()) {
+                long fetched = pageable.getOffset() + page.getResults().size();
+                return new KeysetPage<>(page.getResults(), pageable, getFetchedTotal(fetched), null);
+            }
+
+            return new KeysetPage<>(page.getResults(), pageable, getTotal(dynamoDBQuery, values, pageable),
+                    KeysetCursor.encode(page.getLastEvaluatedKey()));
+        }
+
         private Page<T> createPage(List<T> allResults, Pageable pageable, AbstractDynamoDBQuery<T, ID> dynamoDBQuery,
                 Object[] values) {
 
@@ -180,21 +393,17 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
             }
 
             // Then Count the result set size
-            Query<Long> countQuery = dynamoDBQuery.doCreateCountQueryWithPermissions(values, true);
-            long count = countQuery.getSingleResult();
+            LongSupplier total = getTotal(dynamoDBQuery, values, pageable);
 
             // Finally wrap the result in a page -
             if (!pageable.isUnpaged()) {
                 // either seek to the proper part of the result set
-                if (getResultsRestrictionIfApplicable() != null) {
-                    count = Math.min(count, getResultsRestrictionIfApplicable());
-                }
-
                 List<T> results = readPageOfResultsRestrictMaxResultsIfNecessary(iterator, pageable.getPageSize());
-                return new PageImpl<>(results, pageable, count);
+                return pageCounter.createPage(results, pageable,
+                        () -> iterator.hasNext() && !isRestrictionReached(pageable, results), total);
             } else {
                 // or treat the whole (lazy) list as the result page if it's unpaged
-                return new UnpagedPageImpl<>(allResults, count);
+                return new UnpagedPageImpl<>(allResults, total.getAsLong());
             }
         }
     }
@@ -236,7 +445,17 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
             ParameterAccessor accessor = new ParametersParameterAccessor(parameters, values);
             Pageable pageable = accessor.getPageable();
             Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values);
-            List<T> results = query.getResultList();
+            if (pageable instanceof KeysetPageRequest) {
+                ResultPage<T> page = readKeysetPage(query, (KeysetPageRequest) pageable);
+                return new KeysetSlice<>(page.getResults(), (KeysetPageRequest) pageable,
+                        KeysetCursor.encode(page.getLastEvaluatedKey()));
+            }
+            if (pageable.isUnpaged()) {
+                return createSlice(query.getResultList(), pageable);
+            }
+            // One result more than the page holds tells whether there is a next slice
+            long maxResults = pageable.getOffset() + pageable.getPageSize() + 1;
+            List<T> results = query.getResultList((int) Math.min(maxResults, Integer.MAX_VALUE));
             return createSlice(results, pageable);
         }
 
@@ -261,7 +480,18 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
 
         @Override
         public Object execute(AbstractDynamoDBQuery<T, ID> dynamoDBQuery, Object[] values) throws BatchDeleteException {
-            List<T> entities = dynamoDBQuery.doCreateQueryWithPermissions(values).getResultList();
+            Query<T> query = dynamoDBQuery.doCreateQueryWithPermissions(values);
+            if (isVoid(method.getReturnType())) {
+                // Nobody gets to see the deleted entities, so only read their keys and delete them page by page
+                List<DynamoDBMapper.FailedBatch> failedBatches = dynamoDBOperations
+                        .batchDeleteStream(method.getEntityType(), query.getKeyStream());
+                if (!failedBatches.isEmpty()) {
+                    throw repackageToException(failedBatches, BatchDeleteException.class);
+                }
+                return null;
+            }
+
+            List<T> entities = query.getResultList();
             List<DynamoDBMapper.FailedBatch> failedBatches = dynamoDBOperations.batchDelete(entities);
             if (failedBatches.isEmpty()) {
                 return entities;
@@ -269,6 +499,10 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
                 throw repackageToException(failedBatches, BatchDeleteException.class);
             }
         }
+
+        private boolean isVoid(Class<?> returnType) {
+            return returnType == void.class || returnType == Void.class;
+        }
     }
 
     class SingleEntityExecution implements QueryExecution<T, ID> {
@@ -278,7 +512,7 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
             if (isCountQuery()) {
                 return dynamoDBQuery.doCreateCountQueryWithPermissions(values, false).getSingleResult();
             } else if (isExistsQuery()) {
-                return !dynamoDBQuery.doCreateQueryWithPermissions(values).getResultList().isEmpty();
+                return dynamoDBQuery.doCreateQueryWithPermissions(values).exists();
             } else {
                 return dynamoDBQuery.doCreateQueryWithPermissions(values).getSingleResult();
             }
@@ -293,7 +527,7 @@ public abstract class AbstractDynamoDBQuery<T, ID> implements RepositoryQuery, E
             if (isCountQuery()) {
                 return dynamoDBQuery.doCreateCountQueryWithPermissions(values, false).getSingleResult();
             } else {
-                List<T> resultList = dynamoDBQuery.doCreateQueryWithPermissions(values).getResultList();
+                List<T> resultList = dynamoDBQuery.doCreateQueryWithPermissions(values).getResultList(1);
                 return resultList.size() == 0 ? null : resultList.get(0);
 
             }
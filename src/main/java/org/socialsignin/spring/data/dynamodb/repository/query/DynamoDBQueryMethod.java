@@ -18,6 +18,7 @@ package org.socialsignin.spring.data.dynamodb.repository.query;
 import org.socialsignin.spring.data.dynamodb.repository.EnableScan;
 import org.socialsignin.spring.data.dynamodb.repository.EnableScanCount;
 import org.socialsignin.spring.data.dynamodb.repository.ExpressionAttribute;
+import org.socialsignin.spring.data.dynamodb.repository.PageCount;
 import org.socialsignin.spring.data.dynamodb.repository.Query;
 import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
 import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityInformation;
@@ -25,6 +26,7 @@ import org.socialsignin.spring.data.dynamodb.repository.support.DynamoDBEntityMe
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
@@ -40,7 +42,9 @@ public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
 
     private final Method method;
     private final boolean scanEnabledForRepository;
+    private final EnableScan scanEnableAnnotationForRepository;
     private final boolean scanCountEnabledForRepository;
+    private final PageCount pageCountForRepository;
     private final Optional<String> projectionExpression;
     private final Optional<Integer> limitResults;
     private final Optional<String> filterExpression;
@@ -52,8 +56,10 @@ public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
         super(method, metadata, factory);
         this.method = method;
         this.scanEnabledForRepository = metadata.getRepositoryInterface().isAnnotationPresent(EnableScan.class);
+        this.scanEnableAnnotationForRepository = metadata.getRepositoryInterface().getAnnotation(EnableScan.class);
         this.scanCountEnabledForRepository = metadata.getRepositoryInterface()
                 .isAnnotationPresent(EnableScanCount.class);
+        this.pageCountForRepository = metadata.getRepositoryInterface().getAnnotation(PageCount.class);
 
         Query query = method.getAnnotation(Query.class);
         if (query != null) {
@@ -102,10 +108,29 @@ public class DynamoDBQueryMethod<T, ID> extends QueryMethod {
         return scanEnabledForRepository || method.isAnnotationPresent(EnableScan.class);
     }
 
+    /**
+     * @return the {@link EnableScan#totalSegments()} of the method, or of the repository if the method is not
+     *         annotated itself
+     */
+    public int getScanTotalSegments() {
+        EnableScan enableScan = method.isAnnotationPresent(EnableScan.class) ? method.getAnnotation(EnableScan.class)
+                : scanEnableAnnotationForRepository;
+        return enableScan == null ? 1 : enableScan.totalSegments();
+    }
+
     public boolean isScanCountEnabled() {
         return scanCountEnabledForRepository || method.isAnnotationPresent(EnableScanCount.class);
     }
 
+    /**
+     * @return the {@link PageCount} of the method, or of the repository if the method is not annotated itself
+     */
+    @Nullable
+    public PageCount getPageCount() {
+        return method.isAnnotationPresent(PageCount.class) ? method.getAnnotation(PageCount.class)
+                : pageCountForRepository;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -0,0 +1,64 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.springframework.data.repository.util.ReactiveWrappers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+/**
+ * Reactive flavor of {@link PartTreeDynamoDBQuery}: the DynamoDB requests are built from the very same criteria,
+ * but multi-value results are emitted page by page as a {@link Flux} and single-value results as a {@link Mono}.
+ * Nothing is sent to DynamoDB before subscription.
+ */
+public class ReactivePartTreeDynamoDBQuery<T, ID> extends PartTreeDynamoDBQuery<T, ID> {
+
+    private final Scheduler scheduler;
+    private final boolean singleValue;
+
+    public ReactivePartTreeDynamoDBQuery(DynamoDBOperations dynamoDBOperations, DynamoDBQueryMethod<T, ID> method,
+            Scheduler scheduler) {
+        super(dynamoDBOperations, method);
+        this.scheduler = scheduler;
+        this.singleValue = ReactiveWrappers.isSingleValueType(method.getReturnType());
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        if (singleValue) {
+            return Mono.fromCallable(() -> super.execute(parameters)).subscribeOn(scheduler);
+        } else if (isDeleteQuery()) {
+            return Flux.defer(() -> {
+                @SuppressWarnings("unchecked")
+                List<T> deleted = (List<T>) new DeleteExecution().execute(this, parameters);
+                return Flux.fromIterable(deleted);
+            }).subscribeOn(scheduler);
+        } else {
+            return Flux.defer(() -> {
+                Query<T> query = doCreateQueryWithPermissions(parameters);
+                Flux<T> results = ReactiveResultPages.from(query, scheduler);
+
+                Integer maxResults = getResultsRestrictionIfApplicable();
+                return maxResults != null ? results.take(maxResults) : results;
+            });
+        }
+    }
+}
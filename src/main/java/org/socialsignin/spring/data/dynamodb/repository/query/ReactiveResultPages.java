@@ -0,0 +1,57 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.query;
+
+import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.socialsignin.spring.data.dynamodb.query.ResultPage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Adapts the page-wise access of a {@link Query} to a {@link Flux}.
+ */
+public final class ReactiveResultPages {
+
+    private ReactiveResultPages() {
+
+    }
+
+    /**
+     * Creates a {@link Flux} emitting all results of the given query. The first page is fetched on subscription, each
+     * further page only once the previous one has been handed downstream and more elements are requested. Every
+     * DynamoDB round trip is executed on the given {@link Scheduler}.
+     *
+     * @param <T>
+     *            The type of the entities
+     * @param query
+     *            The query to read the pages from
+     * @param scheduler
+     *            The scheduler to run the blocking DynamoDB calls on
+     * 
+     * @return The results as a demand-driven {@link Flux}
+     */
+    public static <T> Flux<T> from(Query<T> query, Scheduler scheduler) {
+        return fetch(query, null, scheduler)
+                .expand(page -> page.hasNext() ? fetch(query, page, scheduler) : Mono.empty())
+                .flatMapIterable(ResultPage::getResults, 1);
+    }
+
+    private static <T> Mono<ResultPage<T>> fetch(Query<T> query, ResultPage<T> previous, Scheduler scheduler) {
+        return Mono.fromCallable(() -> query.getResultPage(previous == null ? null : previous.getLastEvaluatedKey()))
+                .subscribeOn(scheduler);
+    }
+}
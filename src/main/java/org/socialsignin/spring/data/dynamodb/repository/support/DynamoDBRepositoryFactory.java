@@ -20,7 +20,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.repository.DynamoDBCrudRepository;
+import org.socialsignin.spring.data.dynamodb.repository.PageCount;
 import org.socialsignin.spring.data.dynamodb.repository.query.DynamoDBQueryLookupStrategy;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.core.RepositoryInformation;
 import org.springframework.data.repository.core.RepositoryMetadata;
@@ -29,7 +31,9 @@ import org.springframework.data.repository.query.QueryLookupStrategy;
 import org.springframework.data.repository.query.QueryLookupStrategy.Key;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
 import org.springframework.data.util.Version;
+import org.springframework.util.ReflectionUtils;
 
+import java.lang.reflect.Method;
 import java.util.Optional;
 import java.util.StringTokenizer;
 
@@ -127,8 +131,23 @@ public class DynamoDBRepositoryFactory extends RepositoryFactorySupport {
      */
     @SuppressWarnings({ "unchecked", "rawtypes" })
     protected <T, ID> DynamoDBCrudRepository<?, ?> getDynamoDBRepository(RepositoryMetadata metadata) {
-        return new SimpleDynamoDBPagingAndSortingRepository(getEntityInformation(metadata.getDomainType()),
-                dynamoDBOperations, getEnableScanPermissions(metadata));
+        SimpleDynamoDBPagingAndSortingRepository repository = new SimpleDynamoDBPagingAndSortingRepository(
+                getEntityInformation(metadata.getDomainType()), dynamoDBOperations, getEnableScanPermissions(metadata));
+        repository.setPageCounter(getPageCounter(metadata));
+        return repository;
+    }
+
+    /**
+     * @return The counter configured by a {@link PageCount} on a re-declared {@code findAll(Pageable)} or on the
+     *         repository interface
+     */
+    protected PageCounter getPageCounter(RepositoryMetadata metadata) {
+        Class<?> repositoryInterface = metadata.getRepositoryInterface();
+        Method findAll = ReflectionUtils.findMethod(repositoryInterface, "findAll", Pageable.class);
+        if (findAll != null && findAll.isAnnotationPresent(PageCount.class)) {
+            return PageCounter.of(findAll.getAnnotation(PageCount.class));
+        }
+        return PageCounter.of(repositoryInterface.getAnnotation(PageCount.class));
     }
 
     protected EnableScanPermissions getEnableScanPermissions(RepositoryMetadata metadata) {
@@ -52,12 +52,16 @@ public class DynamoDBRepositoryFactoryBean<T extends Repository<S, ID>, S, ID ex
         assert dynamoDBOperations != null;
         assert tableSynchronizer != null;
         assert dynamoDBMappingContextProcessor != null;
-        DynamoDBRepositoryFactory dynamoDBRepositoryFactory = new DynamoDBRepositoryFactory(dynamoDBOperations);
+        RepositoryFactorySupport dynamoDBRepositoryFactory = doCreateRepositoryFactory(dynamoDBOperations);
         dynamoDBRepositoryFactory.addRepositoryProxyPostProcessor(tableSynchronizer);
         dynamoDBRepositoryFactory.addRepositoryProxyPostProcessor(dynamoDBMappingContextProcessor);
         return dynamoDBRepositoryFactory;
     }
 
+    protected RepositoryFactorySupport doCreateRepositoryFactory(DynamoDBOperations dynamoDBOperations) {
+        return new DynamoDBRepositoryFactory(dynamoDBOperations);
+    }
+
     @Required
     public void setDynamoDBMappingContextProcessor(
             DynamoDBMappingContextProcessor<S, ID> dynamoDBMappingContextProcessor) {
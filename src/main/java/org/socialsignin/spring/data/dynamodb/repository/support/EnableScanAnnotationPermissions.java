@@ -38,6 +38,9 @@ public class EnableScanAnnotationPermissions implements EnableScanPermissions {
     private boolean countUnpaginatedScanEnabled = false;
     private boolean deleteAllUnpaginatedScanEnabled = false;
 
+    private int findAllUnpaginatedScanTotalSegments = 1;
+    private int countUnpaginatedScanTotalSegments = 1;
+
     public EnableScanAnnotationPermissions(Class<?> repositoryInterface) {
         // Check to see if global EnableScan is declared at interface level
         if (repositoryInterface.isAnnotationPresent(EnableScan.class)) {
@@ -45,7 +48,23 @@ public class EnableScanAnnotationPermissions implements EnableScanPermissions {
             this.countUnpaginatedScanEnabled = true;
             this.deleteAllUnpaginatedScanEnabled = true;
             this.findAllPaginatedScanEnabled = true;
-        } else {
+
+            int totalSegments = repositoryInterface.getAnnotation(EnableScan.class).totalSegments();
+            this.findAllUnpaginatedScanTotalSegments = totalSegments;
+            this.countUnpaginatedScanTotalSegments = totalSegments;
+        }
+        // Method level segments take precedence over the interface level ones
+        for (Method method : ReflectionUtils.getAllDeclaredMethods(repositoryInterface)) {
+            if (!method.isAnnotationPresent(EnableScan.class) || method.getParameterTypes().length > 0) {
+                continue;
+            }
+            if (method.getName().equals("findAll")) {
+                findAllUnpaginatedScanTotalSegments = method.getAnnotation(EnableScan.class).totalSegments();
+            } else if (method.getName().equals("count")) {
+                countUnpaginatedScanTotalSegments = method.getAnnotation(EnableScan.class).totalSegments();
+            }
+        }
+        if (!repositoryInterface.isAnnotationPresent(EnableScan.class)) {
             // Check declared methods for EnableScan annotation
             Method[] methods = ReflectionUtils.getAllDeclaredMethods(repositoryInterface);
             for (Method method : methods) {
@@ -135,4 +154,14 @@ public class EnableScanAnnotationPermissions implements EnableScanPermissions {
         return findAllPaginatedScanEnabled;
     }
 
+    @Override
+    public int getFindAllUnpaginatedScanTotalSegments() {
+        return findAllUnpaginatedScanTotalSegments;
+    }
+
+    @Override
+    public int getCountUnpaginatedScanTotalSegments() {
+        return countUnpaginatedScanTotalSegments;
+    }
+
 }
@@ -31,4 +31,12 @@ public interface EnableScanPermissions {
 
     boolean isCountUnpaginatedScanEnabled();
 
+    default int getFindAllUnpaginatedScanTotalSegments() {
+        return 1;
+    }
+
+    default int getCountUnpaginatedScanTotalSegments() {
+        return 1;
+    }
+
 }
@@ -0,0 +1,177 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.socialsignin.spring.data.dynamodb.domain.LazyTotalPage;
+import org.socialsignin.spring.data.dynamodb.repository.PageCount;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants.CountStrategy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Determines the total of a {@link Page} according to a {@link CountStrategy}. Each paged repository method uses its
+ * own instance, so {@link CountStrategy#CACHED} counts only have to be told apart by the arguments of the query.
+ */
+public class PageCounter {
+
+    static final int MAX_CACHED_COUNTS = 256;
+
+    private static final PageCounter EXACT = new PageCounter(CountStrategy.EXACT, Duration.ZERO);
+
+    private final CountStrategy strategy;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<Object, CachedCount> cachedCounts;
+
+    /**
+     * @param strategy
+     *            must not be {@code null}
+     * @param ttl
+     *            must not be {@code null} - how long a count is reused by the {@link CountStrategy#CACHED} strategy
+     */
+    public PageCounter(CountStrategy strategy, Duration ttl) {
+        this(strategy, ttl, System::currentTimeMillis);
+    }
+
+    PageCounter(CountStrategy strategy, Duration ttl, LongSupplier clock) {
+        Assert.notNull(strategy, "strategy must not be null!");
+        Assert.notNull(ttl, "ttl must not be null!");
+
+        this.strategy = strategy;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.cachedCounts = new LinkedHashMap<Object, CachedCount>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CachedCount> eldest) {
+                return size() > MAX_CACHED_COUNTS;
+            }
+        };
+    }
+
+    /**
+     * @return A counter always counting {@link CountStrategy#EXACT}ly
+     */
+    public static PageCounter exact() {
+        return EXACT;
+    }
+
+    /**
+     * @param pageCount
+     *            The annotation to read the configuration from - {@code null} for {@link #exact()}
+     * @return The counter configured by the annotation
+     */
+    public static PageCounter of(@Nullable PageCount pageCount) {
+        if (pageCount == null || pageCount.value() == CountStrategy.EXACT) {
+            return EXACT;
+        }
+        return new PageCounter(pageCount.value(), Duration.ofSeconds(pageCount.ttlSeconds()));
+    }
+
+    public CountStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Resolves the total according to the strategy. Unless the strategy is {@link CountStrategy#NONE} the returned
+     * supplier has already been evaluated and is constant.
+     *
+     * @param key
+     *            Identifies the query including all its parameters, used by {@link CountStrategy#CACHED}
+     * @param count
+     *            Counts the matching items exactly
+     * @param approximateCount
+     *            Reads the approximate item count or {@code null} if the query does not support it
+     * @return The total
+     */
+    public LongSupplier getTotal(Object key, LongSupplier count, @Nullable LongSupplier approximateCount) {
+        switch (strategy) {
+        case NONE:
+            return count;
+        case CACHED:
+            long cached = getCachedCount(key, count);
+            return () -> cached;
+        case APPROXIMATE:
+            long total = approximateCount != null ? approximateCount.getAsLong() : count.getAsLong();
+            return () -> total;
+        default:
+            long exact = count.getAsLong();
+            return () -> exact;
+        }
+    }
+
+    /**
+     * @param content
+     *            The content of the page
+     * @param pageable
+     *            The requested page
+     * @param hasNext
+     *            Determines whether there is a next page - only evaluated if the total is not counted upfront
+     * @param total
+     *            The total as returned by {@link #getTotal(Object, LongSupplier, LongSupplier)}
+     * @return The page
+     */
+    public <T> Page<T> createPage(List<T> content, Pageable pageable, BooleanSupplier hasNext,
+            LongSupplier total) {
+        if (strategy == CountStrategy.NONE) {
+            return new LazyTotalPage<>(content, pageable, hasNext.getAsBoolean(), total);
+        }
+        return new PageImpl<>(content, pageable, total.getAsLong());
+    }
+
+    private long getCachedCount(Object key, LongSupplier count) {
+        long now = clock.getAsLong();
+        synchronized (cachedCounts) {
+            CachedCount cached = cachedCounts.get(key);
+            if (cached != null && cached.expiresAt > now) {
+                return cached.count;
+            }
+        }
+        // Counting happens outside of the lock - concurrent misses may count twice, but never block each other
+        long counted = count.getAsLong();
+        synchronized (cachedCounts) {
+            cachedCounts.put(key, new CachedCount(counted, now + ttlMillis));
+        }
+        return counted;
+    }
+
+    int size() {
+        synchronized (cachedCounts) {
+            return cachedCounts.size();
+        }
+    }
+
+    private static final class CachedCount {
+        private final long count;
+        private final long expiresAt;
+
+        private CachedCount(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
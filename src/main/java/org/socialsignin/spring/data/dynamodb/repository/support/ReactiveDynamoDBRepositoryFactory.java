@@ -0,0 +1,86 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.repository.ReactiveDynamoDBCrudRepository;
+import org.socialsignin.spring.data.dynamodb.repository.query.DynamoDBQueryMethod;
+import org.socialsignin.spring.data.dynamodb.repository.query.ReactivePartTreeDynamoDBQuery;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.ReactiveRepositoryFactorySupport;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.util.Assert;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Optional;
+
+/**
+ * Factory to create {@link ReactiveDynamoDBCrudRepository} instances. Derived query methods are resolved the same
+ * way as by {@link DynamoDBRepositoryFactory}, but executed via {@link ReactivePartTreeDynamoDBQuery}.
+ */
+public class ReactiveDynamoDBRepositoryFactory extends ReactiveRepositoryFactorySupport {
+
+    private final DynamoDBOperations dynamoDBOperations;
+    private final Scheduler scheduler;
+
+    public ReactiveDynamoDBRepositoryFactory(DynamoDBOperations dynamoDBOperations, Scheduler scheduler) {
+        Assert.notNull(dynamoDBOperations, "dynamoDBOperations must not be null");
+        Assert.notNull(scheduler, "scheduler must not be null");
+
+        this.dynamoDBOperations = dynamoDBOperations;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public <T, ID> DynamoDBEntityInformation<T, ID> getEntityInformation(final Class<T> domainClass) {
+
+        final DynamoDBEntityMetadataSupport<T, ID> metadata = new DynamoDBEntityMetadataSupport<>(domainClass,
+                this.dynamoDBOperations);
+        return metadata.getEntityInformation();
+    }
+
+    @Override
+    protected Optional<QueryLookupStrategy> getQueryLookupStrategy(Key key,
+            QueryMethodEvaluationContextProvider evaluationContextProvider) {
+        if (key == Key.USE_DECLARED_QUERY) {
+            throw new IllegalArgumentException(String.format("Unsupported query lookup strategy %s!", key));
+        }
+        return Optional.of((method, metadata, factory, namedQueries) -> {
+            try {
+                return new ReactivePartTreeDynamoDBQuery<>(dynamoDBOperations,
+                        new DynamoDBQueryMethod<>(method, metadata, factory), scheduler);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        String.format("Could not create query metamodel for method %s!", method.toString()), e);
+            }
+        });
+    }
+
+    @Override
+    protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
+        return SimpleReactiveDynamoDBCrudRepository.class;
+    }
+
+    @Override
+    protected Object getTargetRepository(RepositoryInformation metadata) {
+        return new SimpleReactiveDynamoDBCrudRepository<>(getEntityInformation(metadata.getDomainType()),
+                dynamoDBOperations, new EnableScanAnnotationPermissions(metadata.getRepositoryInterface()),
+                scheduler);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Serializable;
+
+/**
+ * Factory bean for reactive repositories, to be activated via
+ * {@code @EnableDynamoDBRepositories(repositoryFactoryBeanClass = ReactiveDynamoDBRepositoryFactoryBean.class)}.
+ */
+public class ReactiveDynamoDBRepositoryFactoryBean<T extends Repository<S, ID>, S, ID extends Serializable>
+        extends DynamoDBRepositoryFactoryBean<T, S, ID> {
+
+    private Scheduler scheduler = Schedulers.boundedElastic();
+
+    public ReactiveDynamoDBRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
+        super(repositoryInterface);
+    }
+
+    @Override
+    protected RepositoryFactorySupport doCreateRepositoryFactory(DynamoDBOperations dynamoDBOperations) {
+        return new ReactiveDynamoDBRepositoryFactory(dynamoDBOperations, scheduler);
+    }
+
+    /**
+     * @param scheduler
+     *            The scheduler the blocking DynamoDB calls are executed on - defaults to
+     *            {@link Schedulers#boundedElastic()}
+     */
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+}
@@ -19,7 +19,10 @@ import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.exception.BatchDeleteException;
 import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
+import org.socialsignin.spring.data.dynamodb.exception.EntityAlreadyExistsException;
+import org.socialsignin.spring.data.dynamodb.query.MultipleEntityScanExpressionQuery;
 import org.socialsignin.spring.data.dynamodb.repository.DynamoDBCrudRepository;
 import org.socialsignin.spring.data.dynamodb.utils.ExceptionHandler;
 import org.socialsignin.spring.data.dynamodb.utils.SortHandler;
@@ -31,6 +34,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -112,6 +116,23 @@ public class SimpleDynamoDBCrudRepository<T, ID>
         return entity;
     }
 
+    @Override
+    public <S extends T> S insert(S entity) throws EntityAlreadyExistsException {
+
+        if (!saveIfAbsent(entity)) {
+            throw new EntityAlreadyExistsException(String.format("A %s entity with id %s exists already!",
+                    domainType, entityInformation.getId(entity)));
+        }
+        return entity;
+    }
+
+    @Override
+    public <S extends T> boolean saveIfAbsent(S entity) {
+
+        Assert.notNull(entity, "The entity must not be null!");
+        return dynamoDBOperations.saveIfAbsent(entity);
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -138,7 +159,8 @@ public class SimpleDynamoDBCrudRepository<T, ID>
     public boolean existsById(ID id) {
 
         Assert.notNull(id, "The given id must not be null!");
-        return findById(id).isPresent();
+        Object rangeKey = entityInformation.isRangeKeyAware() ? entityInformation.getRangeKey(id) : null;
+        return dynamoDBOperations.exists(domainType, entityInformation.getHashKey(id), rangeKey);
     }
 
     void assertScanEnabled(boolean scanEnabled, String methodName) {
@@ -153,6 +175,10 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 
         assertScanEnabled(enableScanPermissions.isFindAllUnpaginatedScanEnabled(), "findAll");
         DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
+        int totalSegments = enableScanPermissions.getFindAllUnpaginatedScanTotalSegments();
+        if (totalSegments > 1) {
+            return dynamoDBOperations.parallelScan(domainType, scanExpression, totalSegments);
+        }
         return dynamoDBOperations.scan(domainType, scanExpression);
     }
 
@@ -160,6 +186,10 @@ public class SimpleDynamoDBCrudRepository<T, ID>
     public long count() {
         assertScanEnabled(enableScanPermissions.isCountUnpaginatedScanEnabled(), "count");
         final DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
+        int totalSegments = enableScanPermissions.getCountUnpaginatedScanTotalSegments();
+        if (totalSegments > 1) {
+            return dynamoDBOperations.count(domainType, scanExpression, totalSegments);
+        }
         return dynamoDBOperations.count(domainType, scanExpression);
     }
 
@@ -168,12 +198,8 @@ public class SimpleDynamoDBCrudRepository<T, ID>
 
         Assert.notNull(id, "The given id must not be null!");
 
-        Optional<T> entity = findById(id);
-
-        if (entity.isPresent()) {
-            dynamoDBOperations.delete(entity.get());
-
-        } else {
+        Object rangeKey = entityInformation.isRangeKeyAware() ? entityInformation.getRangeKey(id) : null;
+        if (!dynamoDBOperations.deleteByKey(domainType, entityInformation.getHashKey(id), rangeKey)) {
             throw new EmptyResultDataAccessException(String.format("No %s entity with id %s exists!", domainType, id),
                     1);
         }
@@ -196,7 +222,56 @@ public class SimpleDynamoDBCrudRepository<T, ID>
     public void deleteAll() {
 
         assertScanEnabled(enableScanPermissions.isDeleteAllUnpaginatedScanEnabled(), "deleteAll");
-        dynamoDBOperations.batchDelete(findAll());
+
+        // Reads the keys only and deletes them page by page instead of materializing the whole table
+        MultipleEntityScanExpressionQuery<T> query = new MultipleEntityScanExpressionQuery<>(dynamoDBOperations,
+                domainType, new DynamoDBScanExpression());
+        query.setScanEnabled(true);
+        List<FailedBatch> failedBatches = dynamoDBOperations.batchDeleteStream(domainType, query.getKeyStream());
+        if (!failedBatches.isEmpty()) {
+            throw repackageToException(failedBatches, BatchDeleteException.class);
+        }
+    }
+
+    @Override
+    public long increment(ID id, String propertyName, long delta) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        return dynamoDBOperations.increment(domainType, entityInformation.getHashKey(id), getRangeKey(id),
+                getAttributeName(propertyName), delta);
+    }
+
+    @Override
+    public void addToSet(ID id, String propertyName, Set<?> values) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        dynamoDBOperations.addToSet(domainType, entityInformation.getHashKey(id), getRangeKey(id),
+                getAttributeName(propertyName), values);
+    }
+
+    @Override
+    public void removeFromSet(ID id, String propertyName, Set<?> values) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        dynamoDBOperations.removeFromSet(domainType, entityInformation.getHashKey(id), getRangeKey(id),
+                getAttributeName(propertyName), values);
+    }
+
+    @Override
+    public boolean setIfAbsent(ID id, String propertyName, Object value) {
+        Assert.notNull(id, "The given id must not be null!");
+
+        return dynamoDBOperations.setIfAbsent(domainType, entityInformation.getHashKey(id), getRangeKey(id),
+                getAttributeName(propertyName), value);
+    }
+
+    private Object getRangeKey(ID id) {
+        return entityInformation.isRangeKeyAware() ? entityInformation.getRangeKey(id) : null;
+    }
+
+    private String getAttributeName(String propertyName) {
+        Assert.hasText(propertyName, "The given propertyName must not be empty!");
+        return entityInformation.getOverriddenAttributeName(propertyName).orElse(propertyName);
     }
 
     @NonNull
@@ -218,15 +293,13 @@ public class SimpleDynamoDBCrudRepository<T, ID>
                 return new KeyPair().withHashKey(entityInformation.getHashKey(id))
                         .withRangeKey(entityInformation.getRangeKey(id));
             } else {
-                return new KeyPair().withHashKey(id);
+                return new KeyPair().withHashKey(entityInformation.getHashKey(id));
             }
         }).collect(Collectors.toList());
 
-        Map<Class<?>, List<KeyPair>> keyPairsMap = Collections.<Class<?>, List<KeyPair>> singletonMap(domainType,
-                keyPairs);
-
-        List<T> result = dynamoDBOperations.batchLoad(keyPairsMap);
-
-        dynamoDBOperations.batchDelete(result);
+        List<FailedBatch> failedBatches = dynamoDBOperations.batchDeleteByKeys(domainType, keyPairs);
+        if (!failedBatches.isEmpty()) {
+            throw repackageToException(failedBatches, BatchDeleteException.class);
+        }
     }
 }
@@ -18,7 +18,15 @@ package org.socialsignin.spring.data.dynamodb.repository.support;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.core.PageTokenCache;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetCursor;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetPage;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetPageRequest;
+import org.socialsignin.spring.data.dynamodb.query.MultipleEntityScanExpressionQuery;
+import org.socialsignin.spring.data.dynamodb.query.OffsetPageReader;
+import org.socialsignin.spring.data.dynamodb.query.ResultPage;
 import org.socialsignin.spring.data.dynamodb.repository.DynamoDBPagingAndSortingRepository;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -28,6 +36,7 @@ import org.springframework.util.Assert;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.LongSupplier;
 
 /**
  * Default implementation of the {@link org.springframework.data.repository.PagingAndSortingRepository} interface.
@@ -38,7 +47,8 @@ import java.util.List;
  * requests, attempt to approximate paging behavior by limiting the number of items which will be scanned, and by
  * returning a sublist of the result-set.
  * 
- * NB: Number of results scanned for a given page request is proportional to the page number requested!
+ * NB: Number of results scanned for a given page request is proportional to the page number requested! Use a
+ * {@link KeysetPageRequest} to continue scanning from the end of the previous page instead.
  * 
  * 
  * @author Michael Lavelle
@@ -52,12 +62,24 @@ import java.util.List;
 public class SimpleDynamoDBPagingAndSortingRepository<T, ID> extends SimpleDynamoDBCrudRepository<T, ID>
         implements DynamoDBPagingAndSortingRepository<T, ID> {
 
+    private PageCounter pageCounter = PageCounter.exact();
+
     public SimpleDynamoDBPagingAndSortingRepository(DynamoDBEntityInformation<T, ID> entityInformation,
             DynamoDBOperations dynamoDBOperations, EnableScanPermissions enableScanPermissions) {
         super(entityInformation, dynamoDBOperations, enableScanPermissions);
 
     }
 
+    /**
+     * @param pageCounter
+     *            must not be {@code null} - determines the total of the pages returned by
+     *            {@link #findAll(Pageable)}
+     */
+    public void setPageCounter(PageCounter pageCounter) {
+        Assert.notNull(pageCounter, "pageCounter must not be null!");
+        this.pageCounter = pageCounter;
+    }
+
     @Override
     public Iterable<T> findAll(Sort sort) {
         return throwUnsupportedSortOperationException();
@@ -68,6 +90,14 @@ public class SimpleDynamoDBPagingAndSortingRepository<T, ID> extends SimpleDynam
 
         ensureNoSort(pageable);
 
+        if (pageable instanceof KeysetPageRequest) {
+            return findAll((KeysetPageRequest) pageable);
+        }
+        PageTokenCache pageTokenCache = dynamoDBOperations.getPageTokenCache();
+        if (pageTokenCache != null && pageable.isPaged()) {
+            return findAll(pageable, pageTokenCache);
+        }
+
         DynamoDBScanExpression scanExpression = new DynamoDBScanExpression();
         // Scan to the end of the page after the requested page
         long scanTo = pageable.getOffset() + (2L * pageable.getPageSize());
@@ -83,13 +113,59 @@ public class SimpleDynamoDBPagingAndSortingRepository<T, ID> extends SimpleDynam
         List<T> results = readPageOfResults(iterator, pageable.getPageSize());
 
         assertScanEnabled(enableScanPermissions.isFindAllPaginatedScanEnabled(), "findAll(Pageable pageable)");
-        assertScanCountEnabled(enableScanPermissions.isFindAllUnpaginatedScanCountEnabled(),
-                "findAll(Pageable pageable)");
+        assertScanCountEnabledUnlessApproximate();
 
-        int totalCount = dynamoDBOperations.count(domainType, scanExpression);
+        LongSupplier total = getTotal(() -> dynamoDBOperations.count(domainType, scanExpression));
+
+        return pageCounter.createPage(results, pageable, iterator::hasNext, total);
+
+    }
+
+    private Page<T> findAll(Pageable pageable, PageTokenCache pageTokenCache) {
+        assertScanEnabled(enableScanPermissions.isFindAllPaginatedScanEnabled(), "findAll(Pageable pageable)");
+        assertScanCountEnabledUnlessApproximate();
+
+        MultipleEntityScanExpressionQuery<T> query = new MultipleEntityScanExpressionQuery<>(dynamoDBOperations,
+                domainType, new DynamoDBScanExpression());
+        query.setScanEnabled(true);
+        ResultPage<T> page = OffsetPageReader.read(query, pageTokenCache, domainType, "findAll",
+                pageable.getOffset(), pageable.getPageSize());
+        if (page.getResults().isEmpty() && pageable.getOffset() > 0) {
+            return new PageImpl<>(new ArrayList<T>());
+        }
 
-        return new PageImpl<>(results, pageable, totalCount);
+        LongSupplier total = getTotal(() -> dynamoDBOperations.count(domainType, new DynamoDBScanExpression()));
 
+        return pageCounter.createPage(page.getResults(), pageable, page::hasNext, total);
+    }
+
+    private Page<T> findAll(KeysetPageRequest pageable) {
+        assertScanEnabled(enableScanPermissions.isFindAllPaginatedScanEnabled(), "findAll(Pageable pageable)");
+        assertScanCountEnabledUnlessApproximate();
+
+        MultipleEntityScanExpressionQuery<T> query = new MultipleEntityScanExpressionQuery<>(dynamoDBOperations,
+                domainType, new DynamoDBScanExpression());
+        query.setScanEnabled(true);
+        ResultPage<T> page = query.getResultPage(KeysetCursor.decode(pageable.getCursor()), pageable.getPageSize());
+
+        LongSupplier total = getTotal(() -> dynamoDBOperations.count(domainType, new DynamoDBScanExpression()));
+
+        return new KeysetPage<>(page.getResults(), pageable, total, KeysetCursor.encode(page.getLastEvaluatedKey()));
+    }
+
+    /**
+     * The whole table is scanned without a filter, so the approximate item count of the table applies.
+     */
+    private LongSupplier getTotal(LongSupplier count) {
+        return pageCounter.getTotal("findAll", count, () -> dynamoDBOperations.approximateCount(domainType));
+    }
+
+    // The approximate count does not scan the table
+    private void assertScanCountEnabledUnlessApproximate() {
+        if (pageCounter.getStrategy() != QueryConstants.CountStrategy.APPROXIMATE) {
+            assertScanCountEnabled(enableScanPermissions.isFindAllUnpaginatedScanCountEnabled(),
+                    "findAll(Pageable pageable)");
+        }
     }
 
     private long scanThroughResults(Iterator<T> paginatedScanListIterator, long resultsToScan) {
@@ -0,0 +1,172 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import org.reactivestreams.Publisher;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.query.MultipleEntityScanExpressionQuery;
+import org.socialsignin.spring.data.dynamodb.repository.ReactiveDynamoDBCrudRepository;
+import org.socialsignin.spring.data.dynamodb.repository.query.ReactiveResultPages;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Default implementation of {@link ReactiveDynamoDBCrudRepository}. The DynamoDB calls themselves are blocking and
+ * therefore executed on the given {@link Scheduler}, reusing the semantics of {@link SimpleDynamoDBCrudRepository}.
+ */
+public class SimpleReactiveDynamoDBCrudRepository<T, ID> implements ReactiveDynamoDBCrudRepository<T, ID> {
+
+    private final SimpleDynamoDBCrudRepository<T, ID> delegate;
+    private final Scheduler scheduler;
+
+    public SimpleReactiveDynamoDBCrudRepository(DynamoDBEntityInformation<T, ID> entityInformation,
+            DynamoDBOperations dynamoDBOperations, EnableScanPermissions enableScanPermissions, Scheduler scheduler) {
+        Assert.notNull(scheduler, "scheduler must not be null");
+
+        this.delegate = new SimpleDynamoDBCrudRepository<>(entityInformation, dynamoDBOperations,
+                enableScanPermissions);
+        this.scheduler = scheduler;
+    }
+
+    private <R> Mono<R> mono(Callable<R> callable) {
+        return Mono.fromCallable(callable).subscribeOn(scheduler);
+    }
+
+    private Mono<Void> run(Runnable runnable) {
+        return Mono.<Void> fromRunnable(runnable).subscribeOn(scheduler);
+    }
+
+    @Override
+    public <S extends T> Mono<S> save(S entity) {
+        Assert.notNull(entity, "The entity must not be null!");
+        return mono(() -> delegate.save(entity));
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+        Assert.notNull(entities, "The given Iterable of entities not be null!");
+        return mono(() -> delegate.saveAll(entities)).flatMapIterable(saved -> saved);
+    }
+
+    @Override
+    public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+        Assert.notNull(entityStream, "The given Publisher of entities not be null!");
+        return Flux.from(entityStream).concatMap(this::save);
+    }
+
+    @Override
+    public Mono<T> findById(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+        return mono(() -> delegate.findById(id).orElse(null));
+    }
+
+    @Override
+    public Mono<T> findById(Publisher<ID> id) {
+        Assert.notNull(id, "The given id must not be null!");
+        return Mono.from(id).flatMap(this::findById);
+    }
+
+    @Override
+    public Mono<Boolean> existsById(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+        return mono(() -> delegate.existsById(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsById(Publisher<ID> id) {
+        Assert.notNull(id, "The given id must not be null!");
+        return Mono.from(id).flatMap(this::existsById);
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        return Flux.defer(() -> {
+            delegate.assertScanEnabled(delegate.enableScanPermissions.isFindAllUnpaginatedScanEnabled(), "findAll");
+
+            MultipleEntityScanExpressionQuery<T> query = new MultipleEntityScanExpressionQuery<>(
+                    delegate.dynamoDBOperations, delegate.domainType, new DynamoDBScanExpression());
+            query.setScanEnabled(true);
+            return ReactiveResultPages.from(query, scheduler);
+        });
+    }
+
+    @Override
+    public Flux<T> findAllById(Iterable<ID> ids) {
+        Assert.notNull(ids, "The given ids must not be null!");
+        return mono(() -> delegate.findAllById(ids)).flatMapIterable(found -> found);
+    }
+
+    @Override
+    public Flux<T> findAllById(Publisher<ID> idStream) {
+        Assert.notNull(idStream, "The given Publisher of ids must not be null!");
+        return Flux.from(idStream).buffer(100).concatMap(this::findAllById);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return mono(delegate::count);
+    }
+
+    @Override
+    public Mono<Void> deleteById(ID id) {
+        Assert.notNull(id, "The given id must not be null!");
+        return run(() -> delegate.deleteById(id));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Publisher<ID> id) {
+        Assert.notNull(id, "The given id must not be null!");
+        return Mono.from(id).flatMap(this::deleteById);
+    }
+
+    @Override
+    public Mono<Void> delete(T entity) {
+        Assert.notNull(entity, "The entity must not be null!");
+        return run(() -> delegate.delete(entity));
+    }
+
+    @Override
+    public Mono<Void> deleteAllById(Iterable<? extends ID> ids) {
+        Assert.notNull(ids, "The given ids must not be null!");
+        return run(() -> delegate.deleteAllById(ids));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+        Assert.notNull(entities, "The given Iterable of entities not be null!");
+        return run(() -> delegate.deleteAll(entities));
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+        Assert.notNull(entityStream, "The given Publisher of entities not be null!");
+        return Flux.from(entityStream).buffer(25).concatMap(this::deleteAll).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll() {
+        return run(delegate::deleteAll);
+    }
+
+    public DynamoDBEntityInformation<T, ID> getEntityInformation() {
+        return delegate.getEntityInformation();
+    }
+}
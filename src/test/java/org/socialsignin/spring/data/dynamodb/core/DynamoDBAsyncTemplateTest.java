@@ -0,0 +1,323 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsync;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterBatchLoadEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterLoadEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterQueryPageEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeSaveEvent;
+import org.springframework.context.ApplicationContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DynamoDBAsyncTemplateTest {
+    @Mock
+    private DynamoDBMapper dynamoDBMapper;
+    @Mock
+    private DynamoDBMapperConfig dynamoDBMapperConfig;
+    @Mock
+    private AmazonDynamoDBAsync dynamoDB;
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private DynamoDBMapperTableModel<User> tableModel;
+    @Mock
+    private DynamoDBMapperFieldModel<User, Object> hashKeyModel;
+    @Mock
+    private DynamoDBMapperFieldModel<User, Object> nameModel;
+
+    private DynamoDBTemplate dynamoDBTemplate;
+    private DynamoDBAsyncTemplate dynamoDBAsyncTemplate;
+
+    @Before
+    public void setUp() {
+        this.dynamoDBTemplate = new DynamoDBTemplate(dynamoDB, dynamoDBMapper, dynamoDBMapperConfig);
+        this.dynamoDBTemplate.setApplicationContext(applicationContext);
+        this.dynamoDBAsyncTemplate = new DynamoDBAsyncTemplate(dynamoDB, dynamoDBTemplate, Runnable::run);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorTemplateNull() {
+        new DynamoDBAsyncTemplate(dynamoDB, null, Runnable::run);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorExecutorNull() {
+        new DynamoDBAsyncTemplate(dynamoDB, dynamoDBTemplate, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLoadIssuesGetItemAsyncAndEmitsEventOnCompletion() throws Exception {
+        Map<String, AttributeValue> key = Collections.singletonMap("id", new AttributeValue("user1"));
+        User user = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("user1", null)).thenReturn(key);
+        when(tableModel.unconvert(key)).thenReturn(user);
+
+        CompletableFuture<User> result = dynamoDBAsyncTemplate.load(User.class, "user1");
+
+        ArgumentCaptor<GetItemRequest> request = ArgumentCaptor.forClass(GetItemRequest.class);
+        ArgumentCaptor<AsyncHandler<GetItemRequest, GetItemResult>> handler = ArgumentCaptor
+                .forClass(AsyncHandler.class);
+        verify(dynamoDB).getItemAsync(request.capture(), handler.capture());
+        assertEquals("user", request.getValue().getTableName());
+        assertEquals(key, request.getValue().getKey());
+        assertFalse(result.isDone());
+        verify(applicationContext, never()).publishEvent(any());
+
+        handler.getValue().onSuccess(request.getValue(), new GetItemResult().withItem(key));
+
+        assertSame(user, result.get());
+        verify(applicationContext).publishEvent(any(AfterLoadEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLoadNotFound() throws Exception {
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+
+        CompletableFuture<User> result = dynamoDBAsyncTemplate.load(User.class, "user1");
+
+        ArgumentCaptor<AsyncHandler<GetItemRequest, GetItemResult>> handler = ArgumentCaptor
+                .forClass(AsyncHandler.class);
+        verify(dynamoDB).getItemAsync(any(GetItemRequest.class), handler.capture());
+        handler.getValue().onSuccess(null, new GetItemResult());
+
+        assertNull(result.get());
+        verify(applicationContext, never()).publishEvent(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLoadFailure() throws Exception {
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+
+        CompletableFuture<User> result = dynamoDBAsyncTemplate.load(User.class, "user1");
+
+        ArgumentCaptor<AsyncHandler<GetItemRequest, GetItemResult>> handler = ArgumentCaptor
+                .forClass(AsyncHandler.class);
+        verify(dynamoDB).getItemAsync(any(GetItemRequest.class), handler.capture());
+        IllegalStateException failure = new IllegalStateException("boom");
+        handler.getValue().onError(failure);
+
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSaveWithClobberIssuesPutItemAsync() throws Exception {
+        User user = new User();
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("Id", new AttributeValue("user1"));
+        item.put("name", new AttributeValue("Alice"));
+        when(dynamoDBMapperConfig.getSaveBehavior()).thenReturn(SaveBehavior.CLOBBER);
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.fields()).thenReturn(Arrays.asList(hashKeyModel, nameModel));
+        when(tableModel.convert(user)).thenReturn(item);
+
+        CompletableFuture<User> result = dynamoDBAsyncTemplate.save(user);
+
+        ArgumentCaptor<PutItemRequest> request = ArgumentCaptor.forClass(PutItemRequest.class);
+        ArgumentCaptor<AsyncHandler<PutItemRequest, PutItemResult>> handler = ArgumentCaptor
+                .forClass(AsyncHandler.class);
+        verify(dynamoDB).putItemAsync(request.capture(), handler.capture());
+        assertEquals("user", request.getValue().getTableName());
+        assertEquals(item, request.getValue().getItem());
+        verify(applicationContext).publishEvent(any(BeforeSaveEvent.class));
+        verify(applicationContext, never()).publishEvent(any(AfterSaveEvent.class));
+
+        handler.getValue().onSuccess(request.getValue(), new PutItemResult());
+
+        assertSame(user, result.get());
+        verify(applicationContext).publishEvent(any(AfterSaveEvent.class));
+        verify(dynamoDBMapper, never()).save(user);
+    }
+
+    @Test
+    public void testSaveWithUpdateRunsOnExecutor() throws Exception {
+        User user = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+
+        assertSame(user, dynamoDBAsyncTemplate.save(user).get());
+
+        verify(dynamoDBMapper).save(user);
+        verify(dynamoDB, never()).putItemAsync(any(PutItemRequest.class), any());
+        verify(applicationContext).publishEvent(any(AfterSaveEvent.class));
+    }
+
+    @Test
+    public void testSaveOfVersionedEntityRunsOnExecutor() throws Exception {
+        User user = new User();
+        when(dynamoDBMapperConfig.getSaveBehavior()).thenReturn(SaveBehavior.CLOBBER);
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.versioned()).thenReturn(true);
+
+        assertSame(user, dynamoDBAsyncTemplate.save(user).get());
+
+        verify(dynamoDBMapper).save(user);
+        verify(applicationContext).publishEvent(any(AfterSaveEvent.class));
+    }
+
+    @Test
+    public void testSaveFailure() {
+        User user = new User();
+        when(dynamoDBMapperConfig.getSaveBehavior()).thenReturn(SaveBehavior.CLOBBER);
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.versioned()).thenReturn(true);
+        RuntimeException failure = new RuntimeException("boom");
+        doThrow(failure).when(dynamoDBMapper).save(user);
+
+        CompletableFuture<User> result = dynamoDBAsyncTemplate.save(user);
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(applicationContext, never()).publishEvent(any(AfterSaveEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDeleteIssuesDeleteItemAsync() throws Exception {
+        User user = new User();
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("user1"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey(user)).thenReturn(key);
+
+        CompletableFuture<User> result = dynamoDBAsyncTemplate.delete(user);
+
+        ArgumentCaptor<DeleteItemRequest> request = ArgumentCaptor.forClass(DeleteItemRequest.class);
+        ArgumentCaptor<AsyncHandler<DeleteItemRequest, DeleteItemResult>> handler = ArgumentCaptor
+                .forClass(AsyncHandler.class);
+        verify(dynamoDB).deleteItemAsync(request.capture(), handler.capture());
+        assertEquals("user", request.getValue().getTableName());
+        assertEquals(key, request.getValue().getKey());
+        verify(applicationContext).publishEvent(any(BeforeDeleteEvent.class));
+
+        handler.getValue().onSuccess(request.getValue(), new DeleteItemResult());
+
+        assertSame(user, result.get());
+        verify(applicationContext).publishEvent(any(AfterDeleteEvent.class));
+        verify(dynamoDBMapper, never()).delete(user);
+    }
+
+    @Test
+    public void testQueryPageRunsOnExecutor() throws Exception {
+        DynamoDBQueryExpression<User> query = new DynamoDBQueryExpression<User>().withLimit(10);
+        QueryResultPage<User> page = new QueryResultPage<>();
+        page.setResults(Collections.singletonList(new User()));
+        when(dynamoDBMapper.queryPage(User.class, query)).thenReturn(page);
+
+        assertSame(page, dynamoDBAsyncTemplate.queryPage(User.class, query).get());
+
+        verify(applicationContext).publishEvent(any(AfterQueryPageEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBatchLoadIssuesBatchGetItemAsync() throws Exception {
+        User user = new User();
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("user1"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("user1", null)).thenReturn(key);
+        when(tableModel.unconvert(key)).thenReturn(user);
+
+        // The duplicate key is requested once
+        CompletableFuture<List<User>> result = dynamoDBAsyncTemplate.batchLoad(Collections
+                .singletonMap(User.class, Arrays.asList(new KeyPair().withHashKey("user1"),
+                        new KeyPair().withHashKey("user1"))));
+
+        ArgumentCaptor<BatchGetItemRequest> request = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        ArgumentCaptor<AsyncHandler<BatchGetItemRequest, BatchGetItemResult>> handler = ArgumentCaptor
+                .forClass(AsyncHandler.class);
+        verify(dynamoDB).batchGetItemAsync(request.capture(), handler.capture());
+        assertEquals(Collections.singletonList(key), request.getValue().getRequestItems().get("user").getKeys());
+        assertFalse(result.isDone());
+
+        handler.getValue().onSuccess(request.getValue(), new BatchGetItemResult()
+                .withResponses(Collections.singletonMap("user", Collections.singletonList(key))));
+
+        assertEquals(Collections.singletonList(user), result.get());
+        verify(applicationContext).publishEvent(any(AfterBatchLoadEvent.class));
+        verify(dynamoDBMapper, never()).batchLoad(any(Map.class));
+    }
+
+    @Test
+    public void testSyncIsTheSharedTemplate() {
+        assertSame(dynamoDBTemplate, dynamoDBAsyncTemplate.sync());
+    }
+
+    @Test
+    public void testSync() {
+        User user = new User();
+        dynamoDBAsyncTemplate.sync().delete(user);
+
+        verify(dynamoDBMapper).delete(eq(user));
+    }
+}
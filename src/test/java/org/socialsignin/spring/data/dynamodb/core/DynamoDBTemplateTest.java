@@ -17,33 +17,94 @@ package org.socialsignin.spring.data.dynamodb.core;
 
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBSaveExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedParallelScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemResult;
+import com.amazonaws.services.dynamodbv2.model.DescribeTableResult;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.QueryResult;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.socialsignin.spring.data.dynamodb.domain.TransactionOperationEntity;
 import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AbstractDynamoDBEventListener;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterBatchDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterBatchSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterLoadEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterParallelScanEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterQueryPageEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.AfterScanPageEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeBatchDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeBatchSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeDeleteEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.BeforeSaveEvent;
+import org.socialsignin.spring.data.dynamodb.mapping.event.DynamoDBEventListenerRegistry;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DynamoDBTemplateTest {
@@ -121,6 +182,21 @@ public class DynamoDBTemplateTest {
         verify(dynamoDBMapper).batchDelete(anyList());
     }
 
+    @Test
+    public void testBatchSave_WithBatchWriter() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            users.add(new User());
+        }
+        ParallelBatchWriter batchWriter = new ParallelBatchWriter(dynamoDB, Runnable::run);
+        dynamoDBTemplate.setBatchWriter(batchWriter);
+
+        dynamoDBTemplate.batchSave(users);
+
+        verify(dynamoDBMapper).batchSave(users.subList(0, 25));
+        verify(dynamoDBMapper).batchSave(users.subList(25, 30));
+    }
+
     @Test
     public void testSave() {
         User user = new User();
@@ -129,6 +205,134 @@ public class DynamoDBTemplateTest {
         verify(dynamoDBMapper).save(user);
     }
 
+    @Test
+    public void testSaveDispatchesThroughEventListenerRegistry() {
+        List<User> saved = new ArrayList<>();
+        DynamoDBEventListenerRegistry registry = new DynamoDBEventListenerRegistry();
+        registry.register(new AbstractDynamoDBEventListener<User>() {
+            @Override
+            public void onAfterSave(User source) {
+                saved.add(source);
+            }
+        });
+        dynamoDBTemplate.setEventListenerRegistry(registry);
+        User user = new User();
+
+        dynamoDBTemplate.save(user);
+
+        assertEquals(Collections.singletonList(user), saved);
+        verify(applicationContext, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testBatchSavePublishesOneEventPerBatch() {
+        User user1 = new User();
+        user1.setId("user1");
+        User user2 = new User();
+        user2.setId("user2");
+        List<User> users = Arrays.asList(user1, user2);
+
+        dynamoDBTemplate.batchSave(users);
+
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(applicationContext, times(2)).publishEvent(events.capture());
+        assertTrue(events.getAllValues().get(0) instanceof BeforeBatchSaveEvent);
+        assertTrue(events.getAllValues().get(1) instanceof AfterBatchSaveEvent);
+        assertEquals(users, events.getAllValues().get(1).getSource());
+    }
+
+    @Test
+    public void testBatchSavePublishesOneBatchEventPerEntityClass() {
+        List<List<User>> userBatches = new ArrayList<>();
+        List<List<Playlist>> playlistBatches = new ArrayList<>();
+        DynamoDBEventListenerRegistry registry = new DynamoDBEventListenerRegistry();
+        registry.register(new AbstractDynamoDBEventListener<User>() {
+            @Override
+            public void onAfterBatchSave(List<User> sources) {
+                userBatches.add(sources);
+            }
+        });
+        registry.register(new AbstractDynamoDBEventListener<Playlist>() {
+            @Override
+            public void onAfterBatchSave(List<Playlist> sources) {
+                playlistBatches.add(sources);
+            }
+        });
+        dynamoDBTemplate.setEventListenerRegistry(registry);
+        User user1 = new User();
+        User user2 = new User();
+        Playlist playlist = new Playlist();
+
+        dynamoDBTemplate.batchSave(Arrays.asList(user1, playlist, user2));
+
+        assertEquals(Collections.singletonList(Arrays.asList(user1, user2)), userBatches);
+        assertEquals(Collections.singletonList(Collections.singletonList(playlist)), playlistBatches);
+    }
+
+    @Test
+    public void testBatchSaveWithPerEntityBatchEvents() {
+        User user1 = new User();
+        user1.setId("user1");
+        User user2 = new User();
+        user2.setId("user2");
+        dynamoDBTemplate.setPerEntityBatchEvents(true);
+
+        dynamoDBTemplate.batchSave(Arrays.asList(user1, user2));
+
+        verify(applicationContext, times(2)).publishEvent(any(BeforeSaveEvent.class));
+        verify(applicationContext, times(2)).publishEvent(any(AfterSaveEvent.class));
+        verify(applicationContext, never()).publishEvent(any(AfterBatchSaveEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testAfterEventsArePublishedOnAfterEventExecutor() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        User user = new User();
+        user.setId("user1");
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.hashKey()).thenReturn(hashKey);
+        when(hashKey.get(user)).thenReturn("user1");
+        List<Runnable> scheduled = new ArrayList<>();
+        dynamoDBTemplate.setAfterEventExecutor(new StripedExecutor(scheduled::add));
+
+        dynamoDBTemplate.save(user);
+
+        verify(applicationContext).publishEvent(any(BeforeSaveEvent.class));
+        verify(applicationContext, never()).publishEvent(any(AfterSaveEvent.class));
+
+        assertEquals(1, scheduled.size());
+        scheduled.get(0).run();
+        verify(applicationContext).publishEvent(any(AfterSaveEvent.class));
+    }
+
+    @Test
+    public void testUnobservedAfterEventsAreNotScheduled() {
+        List<List<Playlist>> playlistBatches = new ArrayList<>();
+        DynamoDBEventListenerRegistry registry = new DynamoDBEventListenerRegistry();
+        registry.register(new AbstractDynamoDBEventListener<Playlist>() {
+            @Override
+            public void onAfterBatchSave(List<Playlist> sources) {
+                playlistBatches.add(sources);
+            }
+        });
+        dynamoDBTemplate.setEventListenerRegistry(registry);
+        List<Runnable> scheduled = new ArrayList<>();
+        dynamoDBTemplate.setAfterEventExecutor(new StripedExecutor(scheduled::add));
+        User user = new User();
+        user.setId("user1");
+        Playlist playlist = new Playlist();
+
+        dynamoDBTemplate.save(user);
+        dynamoDBTemplate.batchSave(Arrays.asList(user, playlist));
+
+        assertEquals(1, scheduled.size());
+        scheduled.get(0).run();
+        assertEquals(Collections.singletonList(Collections.singletonList(playlist)), playlistBatches);
+        verify(dynamoDBMapper, never()).getTableModel(eq(User.class), any());
+    }
+
     @Test
     public void testBatchSave_CallsCorrectDynamoDBMapperMethod() {
         List<User> users = new ArrayList<>();
@@ -199,4 +403,677 @@ public class DynamoDBTemplateTest {
         Assert.assertEquals(0, results.size());
     }
 
+    @Test
+    public void testScanPage() {
+        DynamoDBScanExpression scan = new DynamoDBScanExpression();
+        ScanResultPage<User> page = new ScanResultPage<>();
+        when(dynamoDBMapper.scanPage(User.class, scan)).thenReturn(page);
+
+        assertSame(page, dynamoDBTemplate.scanPage(User.class, scan));
+        verify(applicationContext).publishEvent(any(AfterScanPageEvent.class));
+    }
+
+    @Test
+    public void testScanPublishesAnEventPerFetchedPage() {
+        DynamoDBScanExpression scan = new DynamoDBScanExpression().withFilterExpression("#n = :n").withLimit(5);
+        Map<String, AttributeValue> lastKey = Collections.singletonMap("id", new AttributeValue("user1"));
+        User user1 = new User();
+        user1.setId("user1");
+        User user2 = new User();
+        user2.setId("user2");
+        List<Map<String, AttributeValue>> startKeys = new ArrayList<>();
+        when(dynamoDBMapper.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            DynamoDBScanExpression pageScan = invocation.getArgument(1);
+            assertEquals("#n = :n", pageScan.getFilterExpression());
+            assertEquals(Integer.valueOf(5), pageScan.getLimit());
+            startKeys.add(pageScan.getExclusiveStartKey());
+            ScanResultPage<User> page = new ScanResultPage<>();
+            page.setResults(Collections.singletonList(startKeys.size() == 1 ? user1 : user2));
+            page.setLastEvaluatedKey(startKeys.size() == 1 ? lastKey : null);
+            return page;
+        });
+
+        List<User> results = dynamoDBTemplate.scan(User.class, scan);
+
+        assertSame(user1, results.get(0));
+        verify(applicationContext, times(1)).publishEvent(any(AfterScanPageEvent.class));
+
+        assertEquals(Arrays.asList(user1, user2), new ArrayList<>(results));
+        verify(applicationContext, times(2)).publishEvent(any(AfterScanPageEvent.class));
+        assertEquals(Arrays.asList(null, lastKey), startKeys);
+        assertEquals(null, scan.getExclusiveStartKey());
+    }
+
+    @Test
+    public void testQueryWithEagerLoadingPublishesEveryPage() {
+        DynamoDBQueryExpression<User> query = new DynamoDBQueryExpression<>();
+        Map<String, AttributeValue> lastKey = Collections.singletonMap("id", new AttributeValue("user1"));
+        User user1 = new User();
+        user1.setId("user1");
+        User user2 = new User();
+        user2.setId("user2");
+        when(dynamoDBMapperConfig.getPaginationLoadingStrategy())
+                .thenReturn(DynamoDBMapperConfig.PaginationLoadingStrategy.EAGER_LOADING);
+        QueryResultPage<User> firstPage = new QueryResultPage<>();
+        firstPage.setResults(Collections.singletonList(user1));
+        firstPage.setLastEvaluatedKey(lastKey);
+        QueryResultPage<User> lastPage = new QueryResultPage<>();
+        lastPage.setResults(Collections.singletonList(user2));
+        when(dynamoDBMapper.queryPage(User.class, query)).thenReturn(firstPage);
+        when(dynamoDBMapper.queryPage(eq(User.class), argThat(expression -> expression != query
+                && lastKey.equals(expression.getExclusiveStartKey())))).thenReturn(lastPage);
+
+        List<User> results = dynamoDBTemplate.query(User.class, query);
+
+        verify(applicationContext, times(2)).publishEvent(any(AfterQueryPageEvent.class));
+        assertEquals(Arrays.asList(user1, user2), new ArrayList<>(results));
+        assertNull(query.getExclusiveStartKey());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testQueryPagesDoNotModifyTheExpression() {
+        User hashKeyValues = new User();
+        Map<String, AttributeValue> startKey = Collections.singletonMap("id", new AttributeValue("user0"));
+        Map<String, AttributeValue> lastKey = Collections.singletonMap("id", new AttributeValue("user1"));
+        DynamoDBQueryExpression<User> query = new DynamoDBQueryExpression<User>().withHashKeyValues(hashKeyValues)
+                .withIndexName("idx").withScanIndexForward(false).withConsistentRead(false).withLimit(1)
+                .withExclusiveStartKey(startKey);
+        QueryResultPage<User> firstPage = new QueryResultPage<>();
+        firstPage.setResults(Collections.singletonList(new User()));
+        firstPage.setLastEvaluatedKey(lastKey);
+        QueryResultPage<User> lastPage = new QueryResultPage<>();
+        lastPage.setResults(Collections.singletonList(new User()));
+        ArgumentCaptor<DynamoDBQueryExpression<User>> pageQuery = ArgumentCaptor
+                .forClass(DynamoDBQueryExpression.class);
+        when(dynamoDBMapper.queryPage(eq(User.class), pageQuery.capture())).thenReturn(firstPage, lastPage);
+
+        assertEquals(2, dynamoDBTemplate.query(User.class, query).size());
+
+        DynamoDBQueryExpression<User> copy = pageQuery.getAllValues().get(pageQuery.getAllValues().size() - 1);
+        assertNotSame(query, copy);
+        assertEquals(lastKey, copy.getExclusiveStartKey());
+        assertSame(hashKeyValues, copy.getHashKeyValues());
+        assertEquals("idx", copy.getIndexName());
+        assertFalse(copy.isScanIndexForward());
+        assertEquals(Integer.valueOf(1), copy.getLimit());
+        assertSame(startKey, query.getExclusiveStartKey());
+    }
+
+    @Test
+    public void testQueryPageByQueryRequest() {
+        QueryRequest queryRequest = new QueryRequest("user");
+        Map<String, AttributeValue> item = Collections.singletonMap("id", new AttributeValue("someId"));
+        Map<String, AttributeValue> lastKey = Collections.singletonMap("id", new AttributeValue("lastId"));
+        List<Map<String, AttributeValue>> items = Collections.singletonList(item);
+        User user = new User();
+        when(dynamoDB.query(queryRequest))
+                .thenReturn(new QueryResult().withItems(items).withLastEvaluatedKey(lastKey).withCount(1));
+        when(dynamoDBMapper.marshallIntoObjects(User.class, items, dynamoDBMapperConfig))
+                .thenReturn(Collections.singletonList(user));
+
+        QueryResultPage<User> page = dynamoDBTemplate.queryPage(User.class, queryRequest);
+
+        assertEquals(Collections.singletonList(user), page.getResults());
+        assertEquals(lastKey, page.getLastEvaluatedKey());
+        assertEquals(Integer.valueOf(1), page.getCount());
+        verify(applicationContext).publishEvent(any(AfterQueryPageEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testParallelScanPublishesAnEventPerFetchedSegmentPage() {
+        DynamoDBScanExpression scan = new DynamoDBScanExpression().withFilterExpression("#n = :n");
+        Map<String, AttributeValue> lastKey = Collections.singletonMap("id", new AttributeValue("user1"));
+        User user1 = new User();
+        user1.setId("user1");
+        User user2 = new User();
+        user2.setId("user2");
+        User user3 = new User();
+        user3.setId("user3");
+        when(dynamoDBMapper.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            DynamoDBScanExpression pageScan = invocation.getArgument(1);
+            assertEquals("#n = :n", pageScan.getFilterExpression());
+            assertEquals(Integer.valueOf(2), pageScan.getTotalSegments());
+            boolean firstSegment = pageScan.getSegment() == 0;
+            boolean firstPage = pageScan.getExclusiveStartKey() == null;
+            ScanResultPage<User> page = new ScanResultPage<>();
+            page.setResults(Collections.singletonList(firstSegment ? firstPage ? user1 : user3 : user2));
+            page.setLastEvaluatedKey(firstSegment && firstPage ? lastKey : null);
+            return page;
+        });
+
+        PaginatedParallelScanList<User> results = dynamoDBTemplate.parallelScan(User.class, scan, 2);
+
+        assertSame(user1, results.get(0));
+        assertSame(user2, results.get(1));
+        verify(applicationContext, times(2)).publishEvent(any(AfterScanPageEvent.class));
+
+        assertEquals(Arrays.asList(user1, user2, user3), new ArrayList<>(results));
+        verify(applicationContext, times(3)).publishEvent(any(AfterScanPageEvent.class));
+        verify(applicationContext, never()).publishEvent(any(AfterParallelScanEvent.class));
+        assertNull(scan.getSegment());
+    }
+
+    @Test
+    public void testCountScanExpressionInSegments() {
+        DynamoDBScanExpression scan = new DynamoDBScanExpression().withFilterExpression("attribute_exists(#n)")
+                .withExpressionAttributeNames(Collections.singletonMap("#n", "name"));
+        when(dynamoDBMapper.count(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(5);
+
+        assertEquals(15, dynamoDBTemplate.count(User.class, scan, 3));
+
+        ArgumentCaptor<DynamoDBScanExpression> segments = ArgumentCaptor.forClass(DynamoDBScanExpression.class);
+        verify(dynamoDBMapper, times(3)).count(eq(User.class), segments.capture());
+        Set<Integer> segmentNumbers = segments.getAllValues().stream().map(DynamoDBScanExpression::getSegment)
+                .collect(Collectors.toSet());
+        assertEquals(3, segmentNumbers.size());
+        for (DynamoDBScanExpression segment : segments.getAllValues()) {
+            assertEquals(Integer.valueOf(3), segment.getTotalSegments());
+            assertEquals("attribute_exists(#n)", segment.getFilterExpression());
+            assertEquals(scan.getExpressionAttributeNames(), segment.getExpressionAttributeNames());
+        }
+        // the caller's expression is left untouched
+        Assert.assertNull(scan.getSegment());
+    }
+
+    @Test
+    public void testCountScanExpressionInSegmentsOnScanSegmentExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        dynamoDBTemplate.setScanSegmentExecutor(task -> {
+            tasks.add(task);
+            task.run();
+        });
+        when(dynamoDBMapper.count(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(5);
+
+        assertEquals(10, dynamoDBTemplate.count(User.class, new DynamoDBScanExpression(), 2));
+
+        assertEquals(2, tasks.size());
+    }
+
+    @Test
+    public void testCountScanExpressionInSegments_Failure() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        when(dynamoDBMapper.count(eq(User.class), any(DynamoDBScanExpression.class))).thenThrow(failure);
+
+        try {
+            dynamoDBTemplate.count(User.class, new DynamoDBScanExpression(), 2);
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void testCountScanExpressionInSingleSegment() {
+        DynamoDBScanExpression scan = new DynamoDBScanExpression();
+        when(dynamoDBMapper.count(User.class, scan)).thenReturn(7);
+
+        assertEquals(7, dynamoDBTemplate.count(User.class, scan, 1));
+    }
+
+    @Test
+    public void testWritesEvictPageTokens() {
+        PageTokenCache pageTokenCache = new PageTokenCache(10, Duration.ofMinutes(1));
+        dynamoDBTemplate.setPageTokenCache(pageTokenCache);
+        assertSame(pageTokenCache, dynamoDBTemplate.getPageTokenCache());
+        Map<String, AttributeValue> key = Collections.singletonMap("id", new AttributeValue("someId"));
+
+        pageTokenCache.put(User.class, "findAll", pageTokenCache.generation(User.class), 10, key);
+        dynamoDBTemplate.save(new User());
+        Assert.assertNull(pageTokenCache.floor(User.class, "findAll", 10));
+
+        pageTokenCache.put(User.class, "findAll", pageTokenCache.generation(User.class), 10, key);
+        dynamoDBTemplate.batchDelete(Collections.singletonList(new User()));
+        Assert.assertNull(pageTokenCache.floor(User.class, "findAll", 10));
+
+        pageTokenCache.put(User.class, "findAll", pageTokenCache.generation(User.class), 10, key);
+        dynamoDBTemplate.transactionWrite(TransactionOperationEntity.withDelete(Collections.singletonList(new User())));
+        Assert.assertNull(pageTokenCache.floor(User.class, "findAll", 10));
+    }
+
+    @Test
+    public void testApproximateCount() {
+        when(dynamoDB.describeTable("user"))
+                .thenReturn(new DescribeTableResult().withTable(new TableDescription().withItemCount(42L)));
+
+        assertEquals(42L, dynamoDBTemplate.approximateCount(User.class));
+        verify(dynamoDBMapper, times(0)).count(eq(User.class), any(DynamoDBScanExpression.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testExistsReadsKeyAttributesOnly() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("user1"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("user1", null)).thenReturn(key);
+        when(dynamoDB.getItem(any(GetItemRequest.class))).thenReturn(new GetItemResult().withItem(key),
+                new GetItemResult());
+
+        assertTrue(dynamoDBTemplate.exists(User.class, "user1", null));
+        assertFalse(dynamoDBTemplate.exists(User.class, "user1", null));
+
+        ArgumentCaptor<GetItemRequest> request = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(dynamoDB, times(2)).getItem(request.capture());
+        assertEquals("user", request.getValue().getTableName());
+        assertEquals(key, request.getValue().getKey());
+        assertEquals("#k0", request.getValue().getProjectionExpression());
+        assertEquals(Collections.singletonMap("#k0", "Id"), request.getValue().getExpressionAttributeNames());
+        verify(applicationContext, never()).publishEvent(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDeleteByKeyWithoutReading() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("user1"));
+        User keyEntity = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.createKey("user1", null)).thenReturn(keyEntity);
+        when(tableModel.convertKey(keyEntity)).thenReturn(key);
+        when(tableModel.hashKey()).thenReturn(hashKey);
+        when(hashKey.name()).thenReturn("Id");
+        when(dynamoDB.deleteItem(any(DeleteItemRequest.class))).thenReturn(new DeleteItemResult())
+                .thenThrow(new ConditionalCheckFailedException("not found"));
+
+        assertTrue(dynamoDBTemplate.deleteByKey(User.class, "user1", null));
+        assertFalse(dynamoDBTemplate.deleteByKey(User.class, "user1", null));
+
+        ArgumentCaptor<DeleteItemRequest> request = ArgumentCaptor.forClass(DeleteItemRequest.class);
+        verify(dynamoDB, times(2)).deleteItem(request.capture());
+        assertEquals("user", request.getValue().getTableName());
+        assertEquals(key, request.getValue().getKey());
+        assertEquals("attribute_exists(#hashKey)", request.getValue().getConditionExpression());
+        assertEquals(Collections.singletonMap("#hashKey", "Id"), request.getValue().getExpressionAttributeNames());
+        assertEquals(null, request.getValue().getReturnValues());
+        // Only the key is known, so there is no AfterDeleteEvent
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(applicationContext, times(2)).publishEvent(events.capture());
+        for (ApplicationEvent event : events.getAllValues()) {
+            assertTrue(event instanceof BeforeDeleteEvent);
+            assertSame(keyEntity, ((BeforeDeleteEvent<?>) event).getSource());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDeleteByKeyReturningDeletedItem() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        Map<String, AttributeValue> item = Collections.singletonMap("Id", new AttributeValue("user1"));
+        User keyEntity = new User();
+        User user = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.createKey("user1", null)).thenReturn(keyEntity);
+        when(tableModel.hashKey()).thenReturn(hashKey);
+        when(hashKey.name()).thenReturn("Id");
+        when(tableModel.unconvert(item)).thenReturn(user);
+        when(dynamoDB.deleteItem(any(DeleteItemRequest.class))).thenReturn(new DeleteItemResult().withAttributes(item));
+        dynamoDBTemplate.setReturnDeletedItems(true);
+
+        assertTrue(dynamoDBTemplate.deleteByKey(User.class, "user1", null));
+
+        ArgumentCaptor<DeleteItemRequest> request = ArgumentCaptor.forClass(DeleteItemRequest.class);
+        verify(dynamoDB).deleteItem(request.capture());
+        assertEquals(ReturnValue.ALL_OLD.toString(), request.getValue().getReturnValues());
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(applicationContext, times(2)).publishEvent(events.capture());
+        assertTrue(events.getAllValues().get(0) instanceof BeforeDeleteEvent);
+        assertSame(keyEntity, ((BeforeDeleteEvent<?>) events.getAllValues().get(0)).getSource());
+        assertTrue(events.getAllValues().get(1) instanceof AfterDeleteEvent);
+        assertSame(user, ((AfterDeleteEvent<?>) events.getAllValues().get(1)).getSource());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBatchDeleteByKeysWithoutReading() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        User key1 = new User();
+        User key2 = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.createKey("user1", null)).thenReturn(key1);
+        when(tableModel.createKey("user2", null)).thenReturn(key2);
+
+        dynamoDBTemplate.batchDeleteByKeys(User.class,
+                Arrays.asList(new KeyPair().withHashKey("user1"), new KeyPair().withHashKey("user2")));
+
+        verify(dynamoDBMapper).batchDelete(Arrays.asList(key1, key2));
+        verify(dynamoDBMapper, never()).batchLoad(any(Map.class));
+        ArgumentCaptor<BeforeBatchDeleteEvent> event = ArgumentCaptor.forClass(BeforeBatchDeleteEvent.class);
+        verify(applicationContext).publishEvent(event.capture());
+        assertEquals(Arrays.asList(key1, key2), event.getValue().getSource());
+    }
+
+    @Test
+    public void testBatchDeleteStreamReportsProgress() {
+        List<Long> progress = new ArrayList<>();
+        dynamoDBTemplate.setDeleteProgressListener((domainClass, deletedItems) -> {
+            assertEquals(User.class, domainClass);
+            progress.add(deletedItems);
+        });
+        when(dynamoDBMapper.batchDelete(anyList())).thenReturn(Collections.emptyList());
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<User> users = IntStream.range(0, 30).mapToObj(i -> new User()).onClose(() -> closed.set(true));
+
+        assertTrue(dynamoDBTemplate.batchDeleteStream(User.class, users).isEmpty());
+
+        verify(dynamoDBMapper, times(2)).batchDelete(anyList());
+        assertEquals(Arrays.asList(25L, 30L), progress);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testBatchDeleteStreamPublishesBatchEventsPerChunk() {
+        when(dynamoDBMapper.batchDelete(anyList())).thenReturn(Collections.emptyList());
+        List<User> users = IntStream.range(0, 30).mapToObj(i -> new User()).collect(Collectors.toList());
+
+        dynamoDBTemplate.batchDeleteStream(User.class, users.stream());
+
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(applicationContext, times(4)).publishEvent(events.capture());
+        assertEquals(Arrays.asList(BeforeBatchDeleteEvent.class, AfterBatchDeleteEvent.class,
+                BeforeBatchDeleteEvent.class, AfterBatchDeleteEvent.class),
+                events.getAllValues().stream().map(Object::getClass).collect(Collectors.toList()));
+        assertEquals(users.subList(0, 25), events.getAllValues().get(0).getSource());
+        assertEquals(users.subList(25, 30), events.getAllValues().get(3).getSource());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBatchDeleteStreamDiscardsOnlyTheBufferedSavesOfDeletedKeys() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        User deleted = new User();
+        deleted.setId("user1");
+        User kept = new User();
+        kept.setId("user2");
+        Map<String, AttributeValue> deletedKey = Collections.singletonMap("Id", new AttributeValue("user1"));
+        Map<String, AttributeValue> keptKey = Collections.singletonMap("Id", new AttributeValue("user2"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey(deleted)).thenReturn(deletedKey);
+        when(tableModel.convertKey(kept)).thenReturn(keptKey);
+        when(dynamoDBMapper.batchDelete(anyList())).thenReturn(Collections.emptyList());
+        WriteBehindBuffer buffer = new WriteBehindBuffer(mock(ScheduledExecutorService.class)).register(User.class);
+        dynamoDBTemplate.setWriteBehindBuffer(buffer);
+        dynamoDBTemplate.save(deleted);
+        dynamoDBTemplate.save(kept);
+
+        dynamoDBTemplate.batchDeleteStream(User.class, Stream.of(deleted));
+
+        assertEquals(1, buffer.size());
+        assertTrue(buffer.contains(User.class, keptKey));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLoadIsServedFromEntityCacheUntilSaved() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("user1"));
+        Map<String, AttributeValue> item = Collections.singletonMap("name", new AttributeValue("name1"));
+        User loaded = new User();
+        User cached = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("user1", null)).thenReturn(key);
+        when(tableModel.convertKey(loaded)).thenReturn(key);
+        when(tableModel.convert(loaded)).thenReturn(item);
+        when(tableModel.unconvert(item)).thenReturn(cached);
+        when(dynamoDBMapper.load(User.class, "user1")).thenReturn(loaded);
+        dynamoDBTemplate.setEntityCache(new EntityCache().register(User.class, 10, Duration.ofMinutes(1)));
+
+        assertSame(loaded, dynamoDBTemplate.load(User.class, "user1"));
+        assertSame(cached, dynamoDBTemplate.load(User.class, "user1"));
+        verify(dynamoDBMapper, times(1)).load(User.class, "user1");
+
+        dynamoDBTemplate.save(loaded);
+
+        assertSame(loaded, dynamoDBTemplate.load(User.class, "user1"));
+        verify(dynamoDBMapper, times(2)).load(User.class, "user1");
+        verify(applicationContext, times(3)).publishEvent(any(AfterLoadEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testBatchLoadOnlyLoadsCacheMisses() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        Map<String, AttributeValue> key1 = Collections.singletonMap("Id", new AttributeValue("user1"));
+        Map<String, AttributeValue> key2 = Collections.singletonMap("Id", new AttributeValue("user2"));
+        Map<String, AttributeValue> item1 = Collections.singletonMap("name", new AttributeValue("name1"));
+        User cached = new User();
+        User loaded = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("user1", null)).thenReturn(key1);
+        when(tableModel.convertKey("user2", null)).thenReturn(key2);
+        when(tableModel.convertKey(loaded)).thenReturn(key2);
+        when(tableModel.convert(loaded)).thenReturn(item1);
+        when(tableModel.unconvert(item1)).thenReturn(cached);
+        EntityCache entityCache = new EntityCache().register(User.class, 10, Duration.ofMinutes(1));
+        entityCache.put(User.class, key1, entityCache.generation(User.class), item1);
+        dynamoDBTemplate.setEntityCache(entityCache);
+        KeyPair missing = new KeyPair().withHashKey("user2");
+        when(dynamoDBMapper.batchLoad(Collections.singletonMap(User.class, Collections.singletonList(missing))))
+                .thenReturn(Collections.singletonMap("user", Collections.singletonList(loaded)));
+
+        List<User> results = dynamoDBTemplate.batchLoad(Collections.singletonMap(User.class,
+                Arrays.asList(new KeyPair().withHashKey("user1"), missing)));
+
+        assertEquals(Arrays.asList(cached, loaded), results);
+        assertEquals(2, entityCache.size(User.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWriteBehindPublishesAfterSaveOnceWritten() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        User user1 = new User();
+        user1.setId("user1");
+        User user2 = new User();
+        user2.setId("user2");
+        Map<String, AttributeValue> item2 = Collections.singletonMap("Id", new AttributeValue("user2"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey(user1)).thenReturn(Collections.singletonMap("Id", new AttributeValue("user1")));
+        when(tableModel.convertKey(user2)).thenReturn(item2);
+        when(tableModel.convert(user1)).thenReturn(Collections.singletonMap("Id", new AttributeValue("user1")));
+        when(tableModel.convert(user2)).thenReturn(item2);
+        FailedBatch failedBatch = new FailedBatch();
+        failedBatch.setUnprocessedItems(Collections.singletonMap("user",
+                Collections.singletonList(new WriteRequest(new PutRequest(item2)))));
+        when(dynamoDBMapper.batchSave(Arrays.asList(user1, user2))).thenReturn(Collections.singletonList(failedBatch));
+        WriteBehindBuffer buffer = new WriteBehindBuffer(scheduler).register(User.class);
+        dynamoDBTemplate.setWriteBehindBuffer(buffer);
+
+        dynamoDBTemplate.save(user1);
+        dynamoDBTemplate.save(user2);
+
+        verify(dynamoDBMapper, never()).save(any());
+        verify(applicationContext, times(2)).publishEvent(any(BeforeSaveEvent.class));
+        verify(applicationContext, never()).publishEvent(any(AfterSaveEvent.class));
+
+        assertEquals(1, buffer.flush().size());
+
+        ArgumentCaptor<AfterSaveEvent> event = ArgumentCaptor.forClass(AfterSaveEvent.class);
+        verify(applicationContext, times(3)).publishEvent(event.capture());
+        assertSame(user1, event.getValue().getSource());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSaveSendsOnlyChangedAttributes() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("user1"));
+        Map<String, AttributeValue> loadedItem = new HashMap<>(key);
+        loadedItem.put("name", new AttributeValue("name1"));
+        loadedItem.put("postCode", new AttributeValue("postCode1"));
+        Map<String, AttributeValue> changedItem = new HashMap<>(key);
+        changedItem.put("name", new AttributeValue("name2"));
+        User user = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(dynamoDBMapper.load(User.class, "user1")).thenReturn(user);
+        when(tableModel.targetType()).thenReturn(User.class);
+        when(tableModel.hashKey()).thenReturn(hashKey);
+        when(hashKey.name()).thenReturn("Id");
+        when(tableModel.convertKey(user)).thenReturn(key);
+        when(tableModel.convert(user)).thenReturn(loadedItem, changedItem, changedItem);
+        dynamoDBTemplate.setEntitySnapshots(new EntitySnapshots().register(User.class));
+
+        dynamoDBTemplate.load(User.class, "user1");
+        dynamoDBTemplate.save(user);
+        // Nothing changed since the last save
+        dynamoDBTemplate.save(user);
+
+        ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDB).updateItem(request.capture());
+        assertEquals("user", request.getValue().getTableName());
+        assertEquals(key, request.getValue().getKey());
+        assertEquals("SET #a0 = :a0 REMOVE #a1", request.getValue().getUpdateExpression());
+        assertEquals("attribute_exists(#hashKey)", request.getValue().getConditionExpression());
+        assertEquals("name", request.getValue().getExpressionAttributeNames().get("#a0"));
+        assertEquals("postCode", request.getValue().getExpressionAttributeNames().get("#a1"));
+        assertEquals(new AttributeValue("name2"), request.getValue().getExpressionAttributeValues().get(":a0"));
+        verify(dynamoDBMapper, never()).save(any());
+        verify(applicationContext, times(2)).publishEvent(any(AfterSaveEvent.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSaveWithSkipNullSaveBehaviourWritesFullItem() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        User user = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(dynamoDBMapper.load(User.class, "user1")).thenReturn(user);
+        when(tableModel.convert(user)).thenReturn(Collections.singletonMap("Id", new AttributeValue("user1")));
+        when(dynamoDBMapperConfig.getSaveBehavior()).thenReturn(SaveBehavior.UPDATE_SKIP_NULL_ATTRIBUTES);
+        dynamoDBTemplate.setEntitySnapshots(new EntitySnapshots().register(User.class));
+
+        dynamoDBTemplate.load(User.class, "user1");
+        dynamoDBTemplate.save(user);
+
+        verify(dynamoDBMapper).save(user);
+        verify(dynamoDB, never()).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSaveWithoutSnapshotWritesFullItem() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        User user = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convert(user)).thenReturn(Collections.singletonMap("Id", new AttributeValue("user1")));
+        dynamoDBTemplate.setEntitySnapshots(new EntitySnapshots().register(User.class));
+
+        dynamoDBTemplate.save(user);
+
+        verify(dynamoDBMapper).save(user);
+        verify(dynamoDB, never()).updateItem(any(UpdateItemRequest.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testIncrementUpdatesInPlace() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("user1"));
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.convertKey("user1", null)).thenReturn(key);
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenReturn(new UpdateItemResult()
+                .withAttributes(Collections.singletonMap("numberOfPlaylists", new AttributeValue().withN("7"))));
+
+        assertEquals(7, dynamoDBTemplate.increment(User.class, "user1", null, "numberOfPlaylists", 2));
+
+        ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDB).updateItem(request.capture());
+        assertEquals("user", request.getValue().getTableName());
+        assertEquals(key, request.getValue().getKey());
+        assertEquals("ADD #attribute :value", request.getValue().getUpdateExpression());
+        assertEquals(Collections.singletonMap("#attribute", "numberOfPlaylists"),
+                request.getValue().getExpressionAttributeNames());
+        assertEquals(Collections.singletonMap(":value", new AttributeValue().withN("2")),
+                request.getValue().getExpressionAttributeValues());
+        assertEquals(ReturnValue.UPDATED_NEW.toString(), request.getValue().getReturnValues());
+        verify(dynamoDBMapper, never()).load(any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testIncrementWritesBufferedSaveAndDropsSnapshotFirst() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue("user1"));
+        User loaded = new User();
+        User buffered = new User();
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(dynamoDBMapper.load(User.class, "user1")).thenReturn(loaded);
+        when(tableModel.convertKey("user1", null)).thenReturn(key);
+        when(tableModel.convertKey(loaded)).thenReturn(key);
+        when(tableModel.convertKey(buffered)).thenReturn(key);
+        when(tableModel.convert(any())).thenReturn(key);
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenAnswer(invocation -> {
+            // The buffered save must not overwrite the increment later on
+            verify(dynamoDBMapper).batchSave(Collections.singletonList(buffered));
+            return new UpdateItemResult().withAttributes(
+                    Collections.singletonMap("numberOfPlaylists", new AttributeValue().withN("7")));
+        });
+        EntitySnapshots snapshots = new EntitySnapshots().register(User.class);
+        dynamoDBTemplate.setEntitySnapshots(snapshots);
+        WriteBehindBuffer buffer = new WriteBehindBuffer(mock(ScheduledExecutorService.class)).register(User.class);
+        dynamoDBTemplate.setWriteBehindBuffer(buffer);
+
+        dynamoDBTemplate.load(User.class, "user1");
+        dynamoDBTemplate.save(buffered);
+        assertEquals(key, snapshots.get(loaded));
+
+        assertEquals(7, dynamoDBTemplate.increment(User.class, "user1", null, "numberOfPlaylists", 2));
+
+        assertEquals(0, buffer.size());
+        assertNull(snapshots.get(loaded));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSetIfAbsent() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> field = mock(DynamoDBMapperFieldModel.class);
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.field("name")).thenReturn(field);
+        when(field.convert("name1")).thenReturn(new AttributeValue("name1"));
+        when(dynamoDB.updateItem(any(UpdateItemRequest.class))).thenReturn(new UpdateItemResult())
+                .thenThrow(new ConditionalCheckFailedException("exists"));
+
+        assertTrue(dynamoDBTemplate.setIfAbsent(User.class, "user1", null, "name", "name1"));
+        assertFalse(dynamoDBTemplate.setIfAbsent(User.class, "user1", null, "name", "name1"));
+
+        ArgumentCaptor<UpdateItemRequest> request = ArgumentCaptor.forClass(UpdateItemRequest.class);
+        verify(dynamoDB, times(2)).updateItem(request.capture());
+        assertEquals("SET #attribute = :value", request.getValue().getUpdateExpression());
+        assertEquals("attribute_not_exists(#attribute)", request.getValue().getConditionExpression());
+        assertEquals(new AttributeValue("name1"), request.getValue().getExpressionAttributeValues().get(":value"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSaveIfAbsentConditionsOnHashKey() {
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        User user = new User();
+        User existing = new User();
+        existing.setId("existing");
+        when(dynamoDBMapper.getTableModel(User.class, dynamoDBMapperConfig)).thenReturn(tableModel);
+        when(tableModel.hashKey()).thenReturn(hashKey);
+        when(hashKey.name()).thenReturn("Id");
+        doThrow(new ConditionalCheckFailedException("exists")).when(dynamoDBMapper).save(eq(existing),
+                any(DynamoDBSaveExpression.class));
+
+        assertTrue(dynamoDBTemplate.saveIfAbsent(user));
+        assertFalse(dynamoDBTemplate.saveIfAbsent(existing));
+
+        ArgumentCaptor<DynamoDBSaveExpression> saveExpression = ArgumentCaptor.forClass(DynamoDBSaveExpression.class);
+        verify(dynamoDBMapper).save(eq(user), saveExpression.capture());
+        assertEquals(Collections.singletonMap("Id", new ExpectedAttributeValue(false)),
+                saveExpression.getValue().getExpected());
+        ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(applicationContext, times(3)).publishEvent(events.capture());
+        assertEquals(Arrays.asList(BeforeSaveEvent.class, AfterSaveEvent.class, BeforeSaveEvent.class),
+                events.getAllValues().stream().map(Object::getClass).collect(Collectors.toList()));
+        assertSame(user, events.getAllValues().get(1).getSource());
+    }
 }
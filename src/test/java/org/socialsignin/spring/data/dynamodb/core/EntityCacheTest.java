@@ -0,0 +1,105 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.Before;
+import org.junit.Test;
+import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EntityCacheTest {
+
+    private final Map<String, AttributeValue> key1 = Collections.singletonMap("id", new AttributeValue("1"));
+    private final Map<String, AttributeValue> key2 = Collections.singletonMap("id", new AttributeValue("2"));
+    private final Map<String, AttributeValue> key3 = Collections.singletonMap("id", new AttributeValue("3"));
+    private final Map<String, AttributeValue> item1 = Collections.singletonMap("name", new AttributeValue("one"));
+
+    private final AtomicLong now = new AtomicLong(1000);
+    private EntityCache underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new EntityCache(now::get).register(User.class, 2, Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void testOnlyRegisteredClassesAreCached() {
+        underTest.put(Playlist.class, key1, underTest.generation(Playlist.class), item1);
+
+        assertTrue(underTest.isCached(User.class));
+        assertFalse(underTest.isCached(Playlist.class));
+        assertNull(underTest.get(Playlist.class, key1));
+    }
+
+    @Test
+    public void testExpiry() {
+        underTest.put(User.class, key1, underTest.generation(User.class), item1);
+        now.addAndGet(999);
+        assertEquals(item1, underTest.get(User.class, key1));
+
+        now.addAndGet(1);
+        assertNull(underTest.get(User.class, key1));
+        assertEquals(0, underTest.size(User.class));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsDropped() {
+        long generation = underTest.generation(User.class);
+        underTest.put(User.class, key1, generation, item1);
+        underTest.put(User.class, key2, generation, item1);
+        underTest.get(User.class, key1);
+        underTest.put(User.class, key3, generation, item1);
+
+        assertEquals(2, underTest.size(User.class));
+        assertEquals(item1, underTest.get(User.class, key1));
+        assertNull(underTest.get(User.class, key2));
+    }
+
+    @Test
+    public void testEvict() {
+        long generation = underTest.generation(User.class);
+        underTest.put(User.class, key1, generation, item1);
+        underTest.put(User.class, key2, generation, item1);
+
+        underTest.evict(User.class, key1);
+        assertNull(underTest.get(User.class, key1));
+        assertEquals(item1, underTest.get(User.class, key2));
+
+        underTest.evict(User.class);
+        assertNull(underTest.get(User.class, key2));
+    }
+
+    @Test
+    public void testItemReadBeforeAWriteIsNotCached() {
+        long generation = underTest.generation(User.class);
+        underTest.evict(User.class, key1);
+
+        underTest.put(User.class, key1, generation, item1);
+
+        assertNull(underTest.get(User.class, key1));
+    }
+}
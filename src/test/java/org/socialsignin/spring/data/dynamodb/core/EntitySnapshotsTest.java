@@ -0,0 +1,120 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBAutoGenerateStrategy;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperConfig.SaveBehavior;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntitySnapshotsTest {
+    @Mock
+    private DynamoDBMapperTableModel<User> tableModel;
+    @Mock
+    private DynamoDBMapperFieldModel<User, Object> field;
+
+    private final EntitySnapshots underTest = new EntitySnapshots().register(User.class);
+
+    @Test
+    public void testSnapshotsArePerInstance() {
+        User loaded = new User();
+        User equal = new User();
+        assertEquals(loaded, equal);
+        Map<String, AttributeValue> item = Collections.singletonMap("Id", new AttributeValue("user1"));
+
+        underTest.record(loaded, item, item);
+
+        assertTrue(underTest.isTracked(User.class));
+        assertSame(item, underTest.get(loaded));
+        assertNull(underTest.get(equal));
+        assertEquals(1, underTest.size());
+    }
+
+    @Test
+    public void testDiscardDropsSnapshotsOfKey() {
+        User user1 = new User();
+        User user1Copy = new User();
+        User user2 = new User();
+        Map<String, AttributeValue> key1 = Collections.singletonMap("Id", new AttributeValue("user1"));
+        Map<String, AttributeValue> key2 = Collections.singletonMap("Id", new AttributeValue("user2"));
+        underTest.record(user1, key1, key1);
+        underTest.record(user1Copy, key1, key1);
+        underTest.record(user2, key1, key1);
+        // The key of user2 got changed and saved
+        underTest.record(user2, key2, key2);
+
+        underTest.discard(User.class, key1);
+
+        assertNull(underTest.get(user1));
+        assertNull(underTest.get(user1Copy));
+        assertSame(key2, underTest.get(user2));
+        assertEquals(1, underTest.size());
+    }
+
+    @Test
+    public void testVersionedTablesAreSavedInFull() {
+        when(tableModel.targetType()).thenReturn(User.class);
+        when(tableModel.versioned()).thenReturn(true);
+
+        assertFalse(underTest.supportsPartialUpdates(tableModel, null));
+    }
+
+    @Test
+    public void testTablesWithAttributesGeneratedOnEveryWriteAreSavedInFull() {
+        when(tableModel.targetType()).thenReturn(User.class);
+        when(tableModel.fields()).thenReturn(Collections.singletonList(field));
+        when(field.getGenerateStrategy()).thenReturn(DynamoDBAutoGenerateStrategy.ALWAYS);
+
+        assertFalse(underTest.supportsPartialUpdates(tableModel, null));
+    }
+
+    @Test
+    public void testPartialUpdatesAreSupported() {
+        when(tableModel.targetType()).thenReturn(User.class);
+        when(tableModel.fields()).thenReturn(Collections.singletonList(field));
+        when(field.getGenerateStrategy()).thenReturn(DynamoDBAutoGenerateStrategy.CREATE);
+
+        assertTrue(underTest.supportsPartialUpdates(tableModel, null));
+    }
+
+    @Test
+    public void testOtherSaveBehavioursAreSavedInFull() {
+        when(tableModel.targetType()).thenReturn(User.class);
+        when(tableModel.fields()).thenReturn(Collections.singletonList(field));
+
+        for (SaveBehavior saveBehavior : SaveBehavior.values()) {
+            assertEquals(saveBehavior.name(), saveBehavior == SaveBehavior.UPDATE,
+                    underTest.supportsPartialUpdates(tableModel, saveBehavior));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InFlightLoadsTest {
+    @Mock
+    private DynamoDBMapperTableModel<User> tableModel;
+
+    private final InFlightLoads underTest = new InFlightLoads();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentLoadsOfTheSameKeyAreCoalesced() throws Exception {
+        Map<String, AttributeValue> item = Collections.singletonMap("Id", new AttributeValue("user1"));
+        User loaded = new User();
+        User copy = new User();
+        when(tableModel.convert(loaded)).thenReturn(item);
+        when(tableModel.unconvert(item)).thenReturn(copy);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<User> leader = executor.submit(() -> underTest.load(User.class, "user1", null, tableModel, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return loaded;
+        }));
+        while (loads.get() == 0) {
+            Thread.yield();
+        }
+        List<Future<User>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> underTest.load(User.class, "user1", null, tableModel, () -> {
+                loads.incrementAndGet();
+                return new User();
+            })));
+        }
+        while (underTest.followers() < 3) {
+            Thread.yield();
+        }
+        release.countDown();
+
+        assertSame(loaded, leader.get(1, TimeUnit.SECONDS));
+        for (Future<User> follower : followers) {
+            assertSame(copy, follower.get(1, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testSequentialLoadsAreNotShared() {
+        User first = new User();
+        User second = new User();
+
+        assertSame(first, underTest.load(User.class, "user1", null, tableModel, () -> first));
+        assertSame(second, underTest.load(User.class, "user1", null, tableModel, () -> second));
+        assertNull(underTest.load(User.class, "user1", null, tableModel, () -> null));
+    }
+
+    @Test
+    public void testFailureIsSharedWithFollowers() throws Exception {
+        IllegalStateException failure = new IllegalStateException("boom");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<User> leader = executor.submit(() -> underTest.load(User.class, "user1", "range", tableModel, () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        await(started);
+        Future<User> follower = executor
+                .submit(() -> underTest.load(User.class, "user1", "range", tableModel, User::new));
+        while (underTest.followers() < 1) {
+            Thread.yield();
+        }
+        release.countDown();
+
+        assertFailedWith(failure, leader);
+        assertFailedWith(failure, follower);
+    }
+
+    private static void assertFailedWith(Exception expected, Future<?> future) throws Exception {
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(expected, e.getCause());
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LoadBatcherTest {
+    @Mock
+    private DynamoDBMapperTableModel<User> tableModel;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<Map<Class<?>, List<KeyPair>>> batches = new ArrayList<>();
+    private LoadBatcher underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new LoadBatcher(scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testFullBatchIsDispatchedRightAway() throws Exception {
+        User user1 = userWithKey("user1");
+        User user2 = userWithKey("user2");
+        keyOf("user3");
+        underTest.setWindow(Duration.ofMinutes(1));
+        underTest.setMaxBatchSize(3);
+
+        CompletableFuture<User> load1 = load("user1", Arrays.asList(user1, user2));
+        CompletableFuture<User> load2 = load("user2", null);
+        assertFalse(load1.isDone());
+        CompletableFuture<User> load3 = load("user3", null);
+
+        assertSame(user1, load1.get(1, TimeUnit.SECONDS));
+        assertSame(user2, load2.get(1, TimeUnit.SECONDS));
+        assertNull(load3.get(1, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList("user1", "user2", "user3"), hashKeysOf(batches.get(0)));
+    }
+
+    @Test
+    public void testBatchIsDispatchedAfterWindow() throws Exception {
+        User user1 = userWithKey("user1");
+        User copy = new User();
+        Map<String, AttributeValue> item = Collections.singletonMap("name", new AttributeValue("name1"));
+        when(tableModel.convert(user1)).thenReturn(item);
+        when(tableModel.unconvert(item)).thenReturn(copy);
+        underTest.setWindow(Duration.ofMinutes(1));
+        underTest.setMaxBatchSize(2);
+
+        CompletableFuture<User> load1 = load("user1", Collections.singletonList(user1));
+        CompletableFuture<User> load2 = load("user1", null);
+
+        assertSame(user1, load1.get(1, TimeUnit.SECONDS));
+        assertSame(copy, load2.get(1, TimeUnit.SECONDS));
+        assertEquals(1, batches.size());
+        assertEquals(Collections.singletonList("user1"), hashKeysOf(batches.get(0)));
+    }
+
+    @Test
+    public void testFailureCompletesAllFutures() throws Exception {
+        keyOf("user1");
+        keyOf("user2");
+        IllegalStateException failure = new IllegalStateException("boom");
+        underTest.setWindow(Duration.ofMinutes(1));
+        underTest.setMaxBatchSize(2);
+
+        CompletableFuture<User> load1 = underTest.load(User.class, "user1", null, itemsToGet -> {
+            throw failure;
+        }, domainClass -> tableModel);
+        CompletableFuture<User> load2 = load("user2", null);
+
+        assertFailedWith(failure, load1);
+        assertFailedWith(failure, load2);
+    }
+
+    private CompletableFuture<User> load(String hashKey, List<Object> results) {
+        return underTest.load(User.class, hashKey, null, itemsToGet -> {
+            batches.add(itemsToGet);
+            return results;
+        }, domainClass -> tableModel);
+    }
+
+    private static List<Object> hashKeysOf(Map<Class<?>, List<KeyPair>> batch) {
+        return batch.get(User.class).stream().map(KeyPair::getHashKey).collect(Collectors.toList());
+    }
+
+    private User userWithKey(String hashKey) {
+        User user = new User();
+        user.setId(hashKey);
+        Map<String, AttributeValue> key = keyOf(hashKey);
+        when(tableModel.convertKey(user)).thenReturn(key);
+        return user;
+    }
+
+    private Map<String, AttributeValue> keyOf(String hashKey) {
+        Map<String, AttributeValue> key = Collections.singletonMap("Id", new AttributeValue(hashKey));
+        when(tableModel.convertKey(hashKey, null)).thenReturn(key);
+        return key;
+    }
+
+    private static void assertFailedWith(Exception expected, CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertSame(expected, e.getCause());
+        }
+    }
+}
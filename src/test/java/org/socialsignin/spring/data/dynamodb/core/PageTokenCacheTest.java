@@ -0,0 +1,125 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.Before;
+import org.junit.Test;
+import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PageTokenCacheTest {
+
+    private final Map<String, AttributeValue> key10 = Collections.singletonMap("id", new AttributeValue("10"));
+    private final Map<String, AttributeValue> key20 = Collections.singletonMap("id", new AttributeValue("20"));
+
+    private final AtomicLong now = new AtomicLong(1000);
+    private PageTokenCache underTest;
+
+    @Before
+    public void setUp() {
+        underTest = new PageTokenCache(2, Duration.ofSeconds(1), now::get);
+    }
+
+    @Test
+    public void testFloor() {
+        long generation = underTest.generation(User.class);
+        underTest.put(User.class, "findAll", generation, 10, key10);
+        underTest.put(User.class, "findAll", generation, 20, key20);
+
+        assertNull(underTest.floor(User.class, "findAll", 9));
+        assertEquals(Long.valueOf(10), underTest.floor(User.class, "findAll", 10).getKey());
+        assertEquals(key10, underTest.floor(User.class, "findAll", 19).getValue());
+        assertEquals(key20, underTest.floor(User.class, "findAll", 500).getValue());
+        assertNull(underTest.floor(User.class, "findByName", 500));
+        assertNull(underTest.floor(Playlist.class, "findAll", 500));
+    }
+
+    @Test
+    public void testEndOfResultsIsNotCached() {
+        underTest.put(User.class, "findAll", underTest.generation(User.class), 10, null);
+
+        assertNull(underTest.floor(User.class, "findAll", 10));
+    }
+
+    @Test
+    public void testExpiry() {
+        long generation = underTest.generation(User.class);
+        underTest.put(User.class, "findAll", generation, 10, key10);
+        now.addAndGet(500);
+        underTest.put(User.class, "findAll", generation, 20, key20);
+        now.addAndGet(500);
+
+        // the boundary at 10 expired, the one at 20 is still valid
+        assertNull(underTest.floor(User.class, "findAll", 15));
+        assertEquals(key20, underTest.floor(User.class, "findAll", 25).getValue());
+    }
+
+    @Test
+    public void testEvict() {
+        underTest.put(User.class, "findAll", underTest.generation(User.class), 10, key10);
+        underTest.put(Playlist.class, "findAll", underTest.generation(Playlist.class), 10, key10);
+
+        underTest.evict(User.class);
+
+        assertNull(underTest.floor(User.class, "findAll", 10));
+        assertEquals(key10, underTest.floor(Playlist.class, "findAll", 10).getValue());
+        assertEquals(1, underTest.size());
+    }
+
+    @Test
+    public void testBoundaryReadBeforeWriteIsDiscarded() {
+        long generation = underTest.generation(User.class);
+        underTest.evict(User.class);
+
+        underTest.put(User.class, "findAll", generation, 10, key10);
+
+        assertNull(underTest.floor(User.class, "findAll", 10));
+    }
+
+    @Test
+    public void testBoundedToMaxQueries() {
+        long generation = underTest.generation(User.class);
+        underTest.put(User.class, "q1", generation, 10, key10);
+        underTest.put(User.class, "q2", generation, 10, key10);
+        // q1 is now the most recently used one
+        underTest.floor(User.class, "q1", 10);
+        underTest.put(User.class, "q3", generation, 10, key10);
+
+        assertEquals(2, underTest.size());
+        assertNull(underTest.floor(User.class, "q2", 10));
+        assertEquals(key10, underTest.floor(User.class, "q1", 10).getValue());
+    }
+
+    @Test
+    public void testBoundedBoundariesPerQuery() {
+        long generation = underTest.generation(User.class);
+        for (int i = 0; i <= PageTokenCache.MAX_BOUNDARIES_PER_QUERY; i++) {
+            underTest.put(User.class, "findAll", generation, i + 1, key10);
+        }
+
+        assertNull(underTest.floor(User.class, "findAll", 1));
+        assertEquals(Long.valueOf(2), underTest.floor(User.class, "findAll", 2).getKey());
+    }
+}
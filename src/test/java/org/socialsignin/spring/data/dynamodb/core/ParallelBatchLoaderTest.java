@@ -0,0 +1,140 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class ParallelBatchLoaderTest {
+
+    private final DynamoDBMapper dynamoDBMapper = new DynamoDBMapper(mock(AmazonDynamoDB.class));
+    private final Function<Class<?>, DynamoDBMapperTableModel<?>> tableModels = dynamoDBMapper::getTableModel;
+    private final List<Map<Class<?>, List<KeyPair>>> requests = new CopyOnWriteArrayList<>();
+
+    private ExecutorService executor;
+    private ParallelBatchLoader batchLoader;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        batchLoader = new ParallelBatchLoader(executor);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static List<KeyPair> keys(int count) {
+        List<KeyPair> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            keys.add(new KeyPair().withHashKey("id" + i));
+        }
+        return keys;
+    }
+
+    /**
+     * Simulates the mapper by returning one {@link User} per requested key - in reverse order
+     */
+    private Map<String, List<Object>> load(Map<Class<?>, List<KeyPair>> request) {
+        requests.add(request);
+        List<Object> users = request.get(User.class).stream().map(k -> user((String) k.getHashKey()))
+                .collect(Collectors.toList());
+        Collections.reverse(users);
+        return Collections.singletonMap("user", users);
+    }
+
+    @Test
+    public void testChunksOf100AndDeduplication() {
+        List<KeyPair> keys = keys(250);
+        keys.addAll(keys(30));
+
+        List<Object> result = batchLoader.load(Collections.singletonMap(User.class, keys), this::load, tableModels);
+
+        assertEquals(250, result.size());
+        assertEquals(3, requests.size());
+        List<Integer> sizes = requests.stream().map(r -> r.get(User.class).size()).sorted()
+                .collect(Collectors.toList());
+        assertEquals(50, (int) sizes.get(0));
+        assertEquals(100, (int) sizes.get(1));
+        assertEquals(100, (int) sizes.get(2));
+    }
+
+    @Test
+    public void testPreserveOrder() {
+        batchLoader.setPreserveOrder(true);
+        List<KeyPair> keys = keys(150);
+        Collections.shuffle(keys);
+
+        List<Object> result = batchLoader.load(Collections.singletonMap(User.class, keys), this::load, tableModels);
+
+        assertEquals(keys.stream().map(KeyPair::getHashKey).collect(Collectors.toList()),
+                result.stream().map(u -> ((User) u).getId()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testMissingItemsAreSkipped() {
+        batchLoader.setPreserveOrder(true);
+
+        List<Object> result = batchLoader.load(Collections.singletonMap(User.class, keys(3)),
+                request -> Collections.singletonMap("user", Collections.singletonList(user("id1"))), tableModels);
+
+        assertEquals(1, result.size());
+        assertEquals("id1", ((User) result.get(0)).getId());
+    }
+
+    @Test
+    public void testExceptionIsPropagated() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        try {
+            batchLoader.load(Collections.singletonMap(User.class, keys(3)), request -> {
+                throw failure;
+            }, tableModels);
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+        assertTrue(requests.isEmpty());
+    }
+}
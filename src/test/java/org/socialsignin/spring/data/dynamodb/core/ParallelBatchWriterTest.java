@@ -0,0 +1,235 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughputExceededException;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelBatchWriterTest {
+    @Mock
+    private AmazonDynamoDB dynamoDB;
+
+    private ExecutorService executor;
+    private ParallelBatchWriter batchWriter;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        batchWriter = new ParallelBatchWriter(dynamoDB, executor);
+        batchWriter.setBaseBackoffMillis(0);
+        batchWriter.setMaxBackoffMillis(0);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static List<Object> entities(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    private static Map<String, List<WriteRequest>> unprocessed(int count) {
+        List<WriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            requests.add(new WriteRequest(new PutRequest(Collections.singletonMap("id", new AttributeValue("" + i)))));
+        }
+        return Collections.singletonMap("table", requests);
+    }
+
+    private static FailedBatch failedBatch(Map<String, List<WriteRequest>> items, Exception e) {
+        FailedBatch failedBatch = new FailedBatch();
+        failedBatch.setUnprocessedItems(items);
+        failedBatch.setException(e);
+        return failedBatch;
+    }
+
+    @Test
+    public void testChunksOf25() {
+        List<List<Object>> chunks = new CopyOnWriteArrayList<>();
+
+        List<FailedBatch> result = batchWriter.write(entities(60), chunk -> {
+            chunks.add(chunk);
+            return Collections.emptyList();
+        });
+
+        assertTrue(result.isEmpty());
+        assertEquals(3, chunks.size());
+        List<Integer> sizes = chunks.stream().map(List::size).sorted().collect(Collectors.toList());
+        assertEquals(Arrays.asList(10, 25, 25), sizes);
+        verify(dynamoDB, never()).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testProgressCountsWrittenItems() {
+        batchWriter.setMaxRetries(0);
+        AtomicInteger written = new AtomicInteger();
+
+        List<FailedBatch> result = batchWriter.write(entities(60), chunk -> chunk.size() == 10
+                ? Collections.singletonList(failedBatch(unprocessed(4), null))
+                : Collections.emptyList(), written::addAndGet);
+
+        assertEquals(1, result.size());
+        assertEquals(56, written.get());
+    }
+
+    @Test
+    public void testPullsLazilyFromIterable() {
+        batchWriter.setMaxConcurrentBatches(1);
+        AtomicInteger pulled = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        Iterable<Object> lazy = () -> IntStream.range(0, 500).boxed().map(Object.class::cast)
+                .peek(i -> maxAhead.accumulateAndGet(pulled.incrementAndGet() - written.get(), Math::max))
+                .iterator();
+
+        batchWriter.write(lazy, chunk -> {
+            written.addAndGet(chunk.size());
+            return Collections.emptyList();
+        });
+
+        assertEquals(500, written.get());
+        // The chunk being filled plus the one in flight
+        assertTrue("pulled ahead " + maxAhead.get(), maxAhead.get() <= 2 * ParallelBatchWriter.MAX_ITEMS_PER_BATCH);
+    }
+
+    @Test
+    public void testBoundedInFlight() {
+        batchWriter.setMaxConcurrentBatches(2);
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+
+        batchWriter.write(entities(250), chunk -> {
+            max.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            current.decrementAndGet();
+            return Collections.emptyList();
+        });
+
+        assertTrue("max in flight was " + max.get(), max.get() <= 2);
+    }
+
+    @Test
+    public void testUnprocessedItemsAreRetried() {
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(unprocessed(1)))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(Collections.emptyMap()));
+
+        List<FailedBatch> result = batchWriter.write(entities(5),
+                chunk -> Collections.singletonList(failedBatch(unprocessed(3), null)));
+
+        assertTrue(result.isEmpty());
+        verify(dynamoDB, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testThrottlingIsRetried() {
+        ProvisionedThroughputExceededException throttled = new ProvisionedThroughputExceededException("slow down");
+        throttled.setErrorCode("ProvisionedThroughputExceededException");
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenThrow(throttled)
+                .thenReturn(new BatchWriteItemResult());
+
+        List<FailedBatch> result = batchWriter.write(entities(5),
+                chunk -> Collections.singletonList(failedBatch(unprocessed(3), throttled)));
+
+        assertTrue(result.isEmpty());
+        verify(dynamoDB, times(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testRetryBudgetExhausted() {
+        batchWriter.setMaxRetries(3);
+        Map<String, List<WriteRequest>> stillUnprocessed = unprocessed(2);
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenReturn(new BatchWriteItemResult().withUnprocessedItems(stillUnprocessed));
+
+        List<FailedBatch> result = batchWriter.write(entities(5),
+                chunk -> Collections.singletonList(failedBatch(unprocessed(3), null)));
+
+        assertEquals(1, result.size());
+        assertSame(stillUnprocessed, result.get(0).getUnprocessedItems());
+        assertTrue(result.get(0).getException() != null);
+        verify(dynamoDB, times(3)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testNonRetryableErrorStopsRetrying() {
+        AmazonServiceException validation = new AmazonServiceException("invalid");
+        validation.setErrorCode("ValidationException");
+        validation.setStatusCode(400);
+        when(dynamoDB.batchWriteItem(any(BatchWriteItemRequest.class))).thenThrow(validation);
+
+        List<FailedBatch> result = batchWriter.write(entities(5),
+                chunk -> Collections.singletonList(failedBatch(unprocessed(3), null)));
+
+        assertEquals(1, result.size());
+        assertSame(validation, result.get(0).getException());
+        verify(dynamoDB, times(1)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testChunkWriterExceptionIsPropagated() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        try {
+            batchWriter.write(entities(30), chunk -> {
+                throw failure;
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(failure, e);
+        }
+    }
+}
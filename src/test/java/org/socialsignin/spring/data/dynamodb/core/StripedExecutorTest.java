@@ -0,0 +1,101 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StripedExecutorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStripesMustBePositive() {
+        new StripedExecutor(executor).setStripes(0);
+    }
+
+    @Test
+    public void testTasksWithEqualKeysRunInSubmissionOrder() throws InterruptedException {
+        StripedExecutor underTest = new StripedExecutor(executor);
+        underTest.setStripes(2);
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2000);
+
+        for (int i = 0; i < 1000; i++) {
+            int value = i;
+            underTest.execute("first", () -> {
+                first.add(value);
+                done.countDown();
+            });
+            underTest.execute("second", () -> {
+                second.add(value);
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+    }
+
+    @Test
+    public void testFailingTaskDoesNotStopLaterTasks() {
+        List<String> ran = new ArrayList<>();
+        StripedExecutor underTest = new StripedExecutor(Runnable::run);
+
+        underTest.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        });
+        underTest.execute("key", () -> ran.add("second"));
+
+        assertEquals(Collections.singletonList("second"), ran);
+    }
+
+    @Test
+    public void testRejectedTasksRunOnSubmittingThread() {
+        List<String> ran = new ArrayList<>();
+        StripedExecutor underTest = new StripedExecutor(task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        underTest.execute("key", () -> ran.add("first"));
+        underTest.execute("key", () -> ran.add("second"));
+
+        assertEquals(Arrays.asList("first", "second"), ran);
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.core;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.After;
+import org.junit.Test;
+import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WriteBehindBufferTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    private final List<List<Object>> flushed = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testRepeatedSavesAreCollapsed() {
+        WriteBehindBuffer underTest = newBuffer();
+        try {
+            underTest.add(User.class, keyOf("user1"), "v1");
+            underTest.add(User.class, keyOf("user2"), "other");
+            underTest.add(User.class, keyOf("user1"), "v2");
+            underTest.add(Playlist.class, keyOf("user1"), "playlist");
+
+            assertTrue(underTest.flush().isEmpty());
+
+            assertEquals(Collections.singletonList(Arrays.asList("v2", "other", "playlist")), flushed);
+            assertEquals(0, underTest.size());
+        } finally {
+            underTest.destroy();
+        }
+    }
+
+    @Test
+    public void testDiscard() {
+        WriteBehindBuffer underTest = newBuffer();
+        try {
+            underTest.add(User.class, keyOf("user1"), "user1");
+            underTest.add(User.class, keyOf("user2"), "user2");
+            underTest.add(Playlist.class, keyOf("user1"), "playlist");
+
+            assertTrue(underTest.discard(User.class, keyOf("user1")));
+            assertFalse(underTest.discard(User.class, keyOf("user3")));
+            underTest.flush();
+            assertEquals(Collections.singletonList(Arrays.asList("user2", "playlist")), flushed);
+        } finally {
+            underTest.destroy();
+        }
+    }
+
+    @Test
+    public void testFlushKey() {
+        WriteBehindBuffer underTest = newBuffer();
+        try {
+            underTest.add(User.class, keyOf("user1"), "user1");
+            underTest.add(User.class, keyOf("user2"), "user2");
+
+            assertTrue(underTest.flush(User.class, keyOf("user1")).isEmpty());
+            assertTrue(underTest.flush(User.class, keyOf("user3")).isEmpty());
+
+            assertEquals(Collections.singletonList(Collections.singletonList("user1")), flushed);
+            assertEquals(1, underTest.size());
+        } finally {
+            underTest.destroy();
+        }
+    }
+
+    @Test
+    public void testDiscardWaitsForFlushInProgress() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindBuffer underTest = new WriteBehindBuffer(scheduler);
+        underTest.setFlushInterval(Duration.ofMinutes(1));
+        underTest.bind(entities -> {
+            writing.countDown();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add("written");
+            return Collections.emptyList();
+        });
+        try {
+            underTest.add(User.class, keyOf("user1"), "user1");
+            CompletableFuture<List<FailedBatch>> flush = CompletableFuture.supplyAsync(underTest::flush, scheduler);
+            assertTrue(writing.await(1, TimeUnit.SECONDS));
+
+            // The item is no longer pending, but the delete must not be sent before the flush has written it
+            CompletableFuture<Boolean> discard = CompletableFuture.supplyAsync(() -> {
+                boolean discarded = underTest.discard(User.class, keyOf("user1"));
+                order.add("discarded");
+                return discarded;
+            }, scheduler);
+            Thread.sleep(50);
+            assertFalse(discard.isDone());
+
+            release.countDown();
+            assertFalse(discard.get(1, TimeUnit.SECONDS));
+            assertTrue(flush.get(1, TimeUnit.SECONDS).isEmpty());
+            assertEquals(Arrays.asList("written", "discarded"), order);
+        } finally {
+            release.countDown();
+            underTest.destroy();
+        }
+    }
+
+    @Test
+    public void testThresholdTriggersFlush() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        WriteBehindBuffer underTest = new WriteBehindBuffer(scheduler);
+        underTest.setFlushInterval(Duration.ofMinutes(1));
+        underTest.setFlushThreshold(2);
+        underTest.bind(entities -> {
+            flushed.add(entities);
+            written.countDown();
+            return Collections.emptyList();
+        });
+        try {
+            underTest.add(User.class, keyOf("user1"), "user1");
+            underTest.add(User.class, keyOf("user2"), "user2");
+
+            assertTrue(written.await(1, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList(Arrays.asList("user1", "user2")), flushed);
+        } finally {
+            underTest.destroy();
+        }
+    }
+
+    @Test
+    public void testFullBufferBlocksAndFails() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindBuffer underTest = new WriteBehindBuffer(scheduler);
+        underTest.setFlushInterval(Duration.ofMinutes(1));
+        underTest.setCapacity(1);
+        underTest.setMaxBlock(Duration.ofMillis(50));
+        underTest.bind(entities -> {
+            writing.countDown();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.emptyList();
+        });
+        try {
+            underTest.add(User.class, keyOf("user1"), "user1");
+            // Blocks until the flush took the first item
+            underTest.add(User.class, keyOf("user2"), "user2");
+            assertTrue(writing.await(1, TimeUnit.SECONDS));
+            // The same key can always be replaced
+            underTest.add(User.class, keyOf("user2"), "user2");
+
+            try {
+                underTest.add(User.class, keyOf("user3"), "user3");
+                fail();
+            } catch (TransientDataAccessResourceException e) {
+                assertEquals(1, underTest.size());
+            }
+        } finally {
+            release.countDown();
+            underTest.destroy();
+        }
+    }
+
+    @Test
+    public void testDestroyFlushes() {
+        WriteBehindBuffer underTest = newBuffer();
+        underTest.add(User.class, keyOf("user1"), "user1");
+
+        underTest.destroy();
+
+        assertEquals(Collections.singletonList(Collections.singletonList("user1")), flushed);
+    }
+
+    private WriteBehindBuffer newBuffer() {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(scheduler);
+        buffer.setFlushInterval(Duration.ofMinutes(1));
+        buffer.bind(entities -> {
+            flushed.add(entities);
+            return Collections.<FailedBatch> emptyList();
+        });
+        return buffer;
+    }
+
+    private static Map<String, AttributeValue> keyOf(String hashKey) {
+        return Collections.singletonMap("Id", new AttributeValue(hashKey));
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.domain;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void testRoundTrip() {
+        Map<String, AttributeValue> key = new LinkedHashMap<>();
+        key.put("id", new AttributeValue().withS("some id/with+special=chars"));
+        key.put("number", new AttributeValue().withN("42"));
+        key.put("binary", new AttributeValue().withB(ByteBuffer.wrap(new byte[] { 0, 1, -1 })));
+
+        String cursor = KeysetCursor.encode(key);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+        assertEquals(key, KeysetCursor.decode(cursor));
+    }
+
+    @Test
+    public void testNoKey() {
+        assertNull(KeysetCursor.encode(null));
+        assertNull(KeysetCursor.encode(Collections.emptyMap()));
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonKeyAttributeType() {
+        KeysetCursor.encode(Collections.singletonMap("id", new AttributeValue().withBOOL(true)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedCursor() {
+        KeysetCursor.decode("bm90IGEgY3Vyc29y");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedCursor() {
+        String cursor = KeysetCursor.encode(Collections.singletonMap("id", new AttributeValue("someId")));
+
+        KeysetCursor.decode(cursor.substring(0, cursor.length() - 2));
+    }
+
+    @Test
+    public void testKeysetSliceNavigation() {
+        KeysetPageRequest first = KeysetPageRequest.first(10);
+        KeysetSlice<String> slice = new KeysetSlice<>(Collections.singletonList("a"), first, "cursor");
+
+        assertTrue(slice.hasNext());
+        assertEquals(KeysetPageRequest.of(1, 10, "cursor"), slice.nextPageable());
+        assertEquals("cursor", slice.map(String::toUpperCase).getNextCursor());
+
+        KeysetSlice<String> last = new KeysetSlice<>(Collections.singletonList("b"), first.next("cursor"), null);
+        assertFalse(last.hasNext());
+        assertTrue(last.nextPageable().isUnpaged());
+    }
+
+    @Test
+    public void testKeysetPageNavigation() {
+        KeysetPage<String> page = new KeysetPage<>(Collections.singletonList("a"), KeysetPageRequest.of(3, 1, "c"),
+                100, "next");
+
+        assertTrue(page.hasNext());
+        assertFalse(page.isLast());
+        assertEquals(100, page.getTotalElements());
+        assertEquals(KeysetPageRequest.of(4, 1, "next"), page.nextPageable());
+        assertEquals(Pageable.unpaged(),
+                new KeysetPage<>(Collections.emptyList(), KeysetPageRequest.first(1), 0, null).nextPageable());
+    }
+
+    @Test
+    public void testKeysetPageRequestKeepsSort() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "rangeKey");
+        KeysetPageRequest first = KeysetPageRequest.first(10, sort);
+
+        assertEquals(sort, first.getSort());
+        assertEquals(sort, first.next("cursor").getSort());
+        assertEquals(KeysetPageRequest.of(1, 10, sort, "cursor"), first.next("cursor"));
+        assertFalse(first.next("cursor").equals(KeysetPageRequest.of(1, 10, "cursor")));
+        assertEquals(Sort.unsorted(), KeysetPageRequest.first(10).getSort());
+    }
+
+    @Test
+    public void testKeysetPageRequestNavigationWithoutCursor() {
+        Sort sort = Sort.by("rangeKey");
+        KeysetPageRequest request = KeysetPageRequest.of(2, 10, sort, "cursor");
+
+        assertEquals(PageRequest.of(3, 10, sort), request.next());
+        assertEquals(PageRequest.of(1, 10, sort), request.previous());
+        assertEquals(PageRequest.of(1, 10, sort), request.previousOrFirst());
+        assertEquals(PageRequest.of(5, 10, sort), request.withPage(5));
+        assertEquals(KeysetPageRequest.first(10, sort), request.withPage(0));
+        assertEquals(KeysetPageRequest.first(10, sort), request.first());
+
+        KeysetPageRequest first = KeysetPageRequest.first(10, sort);
+        assertSame(first, first.previous());
+    }
+}
@@ -197,6 +197,30 @@ public class CRUDOperationsIT {
         assertFalse("User should have been deleted!", actualUser.isPresent());
     }
 
+    @Test
+    public void testExistsWithFilter() {
+        User u = new User();
+        String name = "name" + ThreadLocalRandom.current().nextLong();
+        u.setId("u1");
+        u.setName(name);
+        userRepository.save(u);
+
+        assertTrue(userRepository.existsByName(name));
+        assertFalse(userRepository.existsByName("non-existent"));
+    }
+
+    @Test
+    public void testExistsWithGsiKeyCondition() {
+        User u = new User();
+        u.setId("u1");
+        u.setPostCode("postCode");
+        u.setNumberOfPlaylists(23);
+        userRepository.save(u);
+
+        assertTrue(userRepository.existsByPostCodeAndNumberOfPlaylists("postCode", 23));
+        assertFalse(userRepository.existsByPostCodeAndNumberOfPlaylists("postCode", 42));
+    }
+
     @Test
     public void testDeleteNonExistent() {
 
@@ -275,6 +299,26 @@ public class CRUDOperationsIT {
 
     }
 
+    @Test
+    public void testDeleteExistingGsiWithCondition() {
+        User u1 = new User();
+        u1.setId("u1");
+        u1.setPostCode("postCode");
+        u1.setNumberOfPlaylists(23);
+        User u2 = new User();
+        u2.setId("u2");
+        u2.setPostCode("postCode");
+        u2.setNumberOfPlaylists(42);
+        userRepository.save(u1);
+        userRepository.save(u2);
+
+        // Delete via GSI
+        userRepository.deleteByPostCodeAndNumberOfPlaylists("postCode", 23);
+
+        assertFalse("User should have been deleted!", userRepository.findById("u1").isPresent());
+        assertTrue("User should not have been deleted!", userRepository.findById("u2").isPresent());
+    }
+
     @Test
     public void testFilterWithCollections() {
         // Prepare
@@ -38,6 +38,11 @@ public interface UserRepository extends CrudRepository<User, String> {
     @Query(consistentReads = QueryConstants.ConsistentReadMode.CONSISTENT)
     Optional<User> findById(String id);
 
+    @EnableScan
+    boolean existsByName(String name);
+
+    boolean existsByPostCodeAndNumberOfPlaylists(String postCode, Integer numberOfPlaylists);
+
     @EnableScan
     List<User> findByLeaveDate(Instant leaveDate);
 
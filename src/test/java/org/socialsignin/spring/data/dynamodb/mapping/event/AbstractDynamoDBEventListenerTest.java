@@ -24,9 +24,12 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertSame;
@@ -192,4 +195,21 @@ public class AbstractDynamoDBEventListenerTest {
         verify(underTest, never()).onBeforeSave(any());
     }
 
+    @Test
+    public void testBeforeBatchSave() {
+        underTest.onApplicationEvent(new BeforeBatchSaveEvent<>(Arrays.asList(sampleEntity, new Playlist())));
+
+        verify(underTest).onBeforeBatchSave(Collections.singletonList(sampleEntity));
+        verify(underTest).onBeforeSave(sampleEntity);
+        verify(underTest, never()).onAfterSave(any());
+    }
+
+    @Test
+    public void testAfterBatchLoadWithoutMatchingEntities() {
+        underTest.onApplicationEvent(new AfterBatchLoadEvent<>(Collections.singletonList(new Playlist())));
+
+        verify(underTest, never()).onAfterBatchLoad(any());
+        verify(underTest, never()).onAfterLoad(any());
+    }
+
 }
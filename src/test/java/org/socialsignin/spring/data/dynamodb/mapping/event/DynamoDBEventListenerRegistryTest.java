@@ -0,0 +1,154 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.mapping.event;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DynamoDBEventListenerRegistryTest {
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private final List<Object> received = new ArrayList<>();
+
+    private final DynamoDBEventListenerRegistry underTest = new DynamoDBEventListenerRegistry();
+
+    @Test
+    public void testIndexesListenersByOverriddenCallbackAndDomainClass() {
+        underTest.register(new AbstractDynamoDBEventListener<User>() {
+            @Override
+            public void onBeforeSave(User source) {
+                received.add(source);
+            }
+        });
+
+        assertTrue(underTest.hasListeners(BeforeSaveEvent.class, User.class));
+        assertFalse(underTest.hasListeners(AfterSaveEvent.class, User.class));
+        assertFalse(underTest.hasListeners(BeforeSaveEvent.class, Playlist.class));
+    }
+
+    @Test
+    public void testDispatchWithoutSubscribersCreatesNoEvent() {
+        underTest.register(new AbstractDynamoDBEventListener<User>() {
+            @Override
+            public void onBeforeSave(User source) {
+                received.add(source);
+            }
+        });
+
+        underTest.dispatch(User.class, new User(), AfterLoadEvent.class, source -> {
+            fail("No event expected");
+            return null;
+        });
+        underTest.dispatch(Playlist.class, new Playlist(), BeforeSaveEvent.class, source -> {
+            fail("No event expected");
+            return null;
+        });
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void testDispatchInvokesCallbacksDirectly() {
+        User user = new User();
+        underTest.register(new AbstractDynamoDBEventListener<User>() {
+            @Override
+            public void onAfterLoad(User source) {
+                received.add(source);
+            }
+        });
+
+        underTest.dispatch(User.class, user, AfterLoadEvent.class, source -> {
+            fail("No event expected");
+            return null;
+        });
+
+        assertEquals(Collections.singletonList(user), received);
+    }
+
+    @Test
+    public void testDispatchOfPageInvokesCallbackPerMatchingElement() {
+        User user1 = new User();
+        user1.setId("user1");
+        User user2 = new User();
+        user2.setId("user2");
+        ScanResultPage<Object> page = new ScanResultPage<>();
+        page.setResults(Arrays.asList(user1, new Playlist(), user2));
+        underTest.register(new AbstractDynamoDBEventListener<User>() {
+            @Override
+            public void onAfterScan(User source) {
+                received.add(source);
+            }
+        });
+
+        underTest.dispatch(Object.class, page, AfterScanPageEvent.class, AfterScanPageEvent::new);
+
+        assertEquals(Arrays.asList(user1, user2), received);
+    }
+
+    @Test
+    public void testListenerHandlingEventsItselfReceivesEveryEvent() {
+        Playlist playlist = new Playlist();
+        underTest.register(new AbstractDynamoDBEventListener<User>() {
+            @Override
+            public void onApplicationEvent(DynamoDBMappingEvent<?> event) {
+                received.add(event);
+            }
+        });
+
+        underTest.dispatch(Playlist.class, playlist, AfterDeleteEvent.class, AfterDeleteEvent::new);
+
+        assertEquals(1, received.size());
+        assertSame(playlist, ((AfterDeleteEvent<?>) received.get(0)).getSource());
+    }
+
+    @Test
+    public void testRegistersListenerBeansOfContext() {
+        AbstractDynamoDBEventListener<User> listener = new AbstractDynamoDBEventListener<User>() {
+            @Override
+            public void onAfterSave(User source) {
+                received.add(source);
+            }
+        };
+        when(applicationContext.getBeansOfType(AbstractDynamoDBEventListener.class))
+                .thenReturn(Collections.singletonMap("listener", listener));
+
+        underTest.setApplicationContext(applicationContext);
+        underTest.afterSingletonsInstantiated();
+
+        assertTrue(underTest.hasListeners(AfterSaveEvent.class, User.class));
+    }
+}
@@ -27,6 +27,8 @@ import org.socialsignin.spring.data.dynamodb.domain.sample.User;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -87,4 +89,26 @@ public class ValidatingDynamoDBEventListenerTest {
 
         underTest.onBeforeSave(sampleEntity);
     }
+
+    @Test
+    public void testBatchValidationReportsAllViolations() {
+        expectedException.expect(ConstraintViolationException.class);
+        expectedException.expectMessage(
+                allOf(containsString("Test Validation Exception 1"), containsString("Test Validation Exception 2")));
+
+        User otherEntity = new User();
+        otherEntity.setId("other");
+
+        @SuppressWarnings("unchecked")
+        ConstraintViolation<Object> vc1 = mock(ConstraintViolation.class);
+        when(vc1.toString()).thenReturn("Test Validation Exception 1");
+        when(validator.validate((Object) sampleEntity)).thenReturn(Collections.singleton(vc1));
+
+        @SuppressWarnings("unchecked")
+        ConstraintViolation<Object> vc2 = mock(ConstraintViolation.class);
+        when(vc2.toString()).thenReturn("Test Validation Exception 2");
+        when(validator.validate((Object) otherEntity)).thenReturn(Collections.singleton(vc2));
+
+        underTest.onBeforeBatchSave(Arrays.asList(sampleEntity, otherEntity));
+    }
 }
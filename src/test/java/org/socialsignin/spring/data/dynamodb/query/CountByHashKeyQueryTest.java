@@ -33,8 +33,6 @@ public class CountByHashKeyQueryTest {
     private static final Class<User> DOMAIN_CLASS = User.class;
     @Mock
     private DynamoDBOperations dynamoDBOperations;
-    @Mock
-    private User sampleEntity;
     private Object hashKey;
     private CountByHashKeyQuery<User> underTest;
 
@@ -46,7 +44,7 @@ public class CountByHashKeyQueryTest {
 
     @Test
     public void testGetSingleResultExists() {
-        when(dynamoDBOperations.load(DOMAIN_CLASS, hashKey)).thenReturn(sampleEntity);
+        when(dynamoDBOperations.exists(DOMAIN_CLASS, hashKey, null)).thenReturn(true);
         Long actual = underTest.getSingleResult();
 
         assertEquals(Long.valueOf(1), actual);
@@ -54,7 +52,7 @@ public class CountByHashKeyQueryTest {
 
     @Test
     public void testGetSingleResultDoesntExist() {
-        when(dynamoDBOperations.load(DOMAIN_CLASS, hashKey)).thenReturn(null);
+        when(dynamoDBOperations.exists(DOMAIN_CLASS, hashKey, null)).thenReturn(false);
         Long actual = underTest.getSingleResult();
 
         assertEquals(Long.valueOf(0), actual);
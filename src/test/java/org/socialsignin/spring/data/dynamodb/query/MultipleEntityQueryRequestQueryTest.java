@@ -0,0 +1,181 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.QueryResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MultipleEntityQueryRequestQueryTest {
+
+    @Mock
+    private DynamoDBOperations dynamoDBOperations;
+    @Mock
+    private DynamoDBMapperTableModel<Playlist> tableModel;
+    @Mock
+    private DynamoDBMapperFieldModel<Playlist, Object> hashKey;
+    @Mock
+    private DynamoDBMapperFieldModel<Playlist, Object> rangeKey;
+    @Mock
+    private Playlist playlist;
+
+    private QueryRequest queryRequest;
+
+    @Before
+    public void setUp() {
+        when(dynamoDBOperations.getTableModel(Playlist.class)).thenReturn(tableModel);
+        doReturn(hashKey).when(tableModel).hashKey();
+        doReturn(rangeKey).when(tableModel).rangeKeyIfExists();
+        when(hashKey.name()).thenReturn("UserName");
+        when(rangeKey.name()).thenReturn("PlaylistName");
+
+        queryRequest = new QueryRequest("playlist");
+    }
+
+    @Test
+    public void testExistsUsesAttributesToGetWithLegacyKeyConditions() {
+        queryRequest.addKeyConditionsEntry("DisplayName",
+                new Condition().withComparisonOperator(ComparisonOperator.EQ)
+                        .withAttributeValueList(new AttributeValue("Summer")));
+        queryRequest.setIndexName("DisplayName-index");
+        when(dynamoDBOperations.queryPage(Playlist.class, queryRequest)).thenReturn(page(playlist));
+
+        assertTrue(new MultipleEntityQueryRequestQuery<>(dynamoDBOperations, Playlist.class, queryRequest).exists());
+
+        assertEquals(Arrays.asList("UserName", "PlaylistName"), queryRequest.getAttributesToGet());
+        assertEquals(Select.SPECIFIC_ATTRIBUTES.toString(), queryRequest.getSelect());
+        assertNull(queryRequest.getProjectionExpression());
+        assertNull(queryRequest.getExpressionAttributeNames());
+    }
+
+    @Test
+    public void testExistsUsesProjectionExpressionWithKeyConditionExpression() {
+        queryRequest.setKeyConditionExpression("#n = :n");
+        queryRequest.addExpressionAttributeNamesEntry("#n", "DisplayName");
+        queryRequest.addExpressionAttributeValuesEntry(":n", new AttributeValue("Summer"));
+        when(dynamoDBOperations.queryPage(Playlist.class, queryRequest)).thenReturn(page(playlist));
+
+        assertTrue(new MultipleEntityQueryRequestQuery<>(dynamoDBOperations, Playlist.class, queryRequest).exists());
+
+        assertEquals("#projectedHashKey, #projectedRangeKey", queryRequest.getProjectionExpression());
+        assertEquals("UserName", queryRequest.getExpressionAttributeNames().get("#projectedHashKey"));
+        assertEquals("PlaylistName", queryRequest.getExpressionAttributeNames().get("#projectedRangeKey"));
+        assertEquals("DisplayName", queryRequest.getExpressionAttributeNames().get("#n"));
+        assertNull(queryRequest.getAttributesToGet());
+    }
+
+    @Test
+    public void testExistsKeepsSpecifiedAttributesToGet() {
+        queryRequest.addKeyConditionsEntry("UserName",
+                new Condition().withComparisonOperator(ComparisonOperator.EQ)
+                        .withAttributeValueList(new AttributeValue("someUser")));
+        queryRequest.setAttributesToGet(Collections.singletonList("DisplayName"));
+        when(dynamoDBOperations.queryPage(Playlist.class, queryRequest)).thenReturn(page());
+
+        assertFalse(new MultipleEntityQueryRequestQuery<>(dynamoDBOperations, Playlist.class, queryRequest).exists());
+
+        assertEquals(Collections.singletonList("DisplayName"), queryRequest.getAttributesToGet());
+        assertNull(queryRequest.getProjectionExpression());
+    }
+
+    @Test
+    public void testGetKeyStreamUsesAttributesToGetWithLegacyKeyConditions() {
+        queryRequest.addKeyConditionsEntry("DisplayName",
+                new Condition().withComparisonOperator(ComparisonOperator.EQ)
+                        .withAttributeValueList(new AttributeValue("Summer")));
+        queryRequest.setIndexName("DisplayName-index");
+        QueryResultPage<Playlist> page = new QueryResultPage<>();
+        page.setResults(Collections.singletonList(playlist));
+        when(dynamoDBOperations.queryPage(Playlist.class, queryRequest)).thenAnswer(invocation -> {
+            assertEquals(Arrays.asList("UserName", "PlaylistName"), queryRequest.getAttributesToGet());
+            assertNull(queryRequest.getProjectionExpression());
+            return page;
+        });
+
+        List<Playlist> keys = new MultipleEntityQueryRequestQuery<>(dynamoDBOperations, Playlist.class, queryRequest)
+                .getKeyStream().collect(Collectors.toList());
+
+        assertEquals(Collections.singletonList(playlist), keys);
+        assertEquals(Select.SPECIFIC_ATTRIBUTES.toString(), queryRequest.getSelect());
+    }
+
+    @Test
+    public void testGetResultListFollowsLastEvaluatedKeyUntilMaxResults() {
+        Playlist other = new Playlist();
+        Map<String, AttributeValue> lastEvaluatedKey = Collections.singletonMap("UserName",
+                new AttributeValue("someUser"));
+        queryRequest.addKeyConditionsEntry("DisplayName",
+                new Condition().withComparisonOperator(ComparisonOperator.EQ)
+                        .withAttributeValueList(new AttributeValue("Summer")));
+        queryRequest.setIndexName("DisplayName-index");
+        List<Integer> limits = new ArrayList<>();
+        // The first response ends at the 1 MB boundary with fewer items than requested
+        when(dynamoDBOperations.queryPage(Playlist.class, queryRequest)).thenAnswer(invocation -> {
+            limits.add(queryRequest.getLimit());
+            if (queryRequest.getExclusiveStartKey() == null) {
+                QueryResultPage<Playlist> firstPage = page(playlist);
+                firstPage.setLastEvaluatedKey(lastEvaluatedKey);
+                return firstPage;
+            }
+            assertEquals(lastEvaluatedKey, queryRequest.getExclusiveStartKey());
+            return page(other);
+        });
+
+        List<Playlist> results = new MultipleEntityQueryRequestQuery<>(dynamoDBOperations, Playlist.class,
+                queryRequest).getResultList(2);
+
+        assertEquals(Arrays.asList(playlist, other), results);
+        assertEquals(Arrays.asList(2, 1), limits);
+        assertNull(queryRequest.getLimit());
+        verify(dynamoDBOperations, never()).query(Playlist.class, queryRequest);
+    }
+
+    @SafeVarargs
+    private static QueryResultPage<Playlist> page(Playlist... playlists) {
+        QueryResultPage<Playlist> page = new QueryResultPage<>();
+        page.setResults(Arrays.asList(playlists));
+        return page;
+    }
+}
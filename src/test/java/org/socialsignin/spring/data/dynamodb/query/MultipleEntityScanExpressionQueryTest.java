@@ -0,0 +1,224 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MultipleEntityScanExpressionQueryTest {
+
+    @Mock
+    private DynamoDBOperations dynamoDBOperations;
+
+    private final Map<String, AttributeValue> firstKey = Collections.singletonMap("id", new AttributeValue("1"));
+    private final Map<String, AttributeValue> secondKey = Collections.singletonMap("id", new AttributeValue("2"));
+
+    private User user1;
+    private User user2;
+    private User user3;
+    private MultipleEntityScanExpressionQuery<User> underTest;
+
+    @Before
+    public void setUp() {
+        user1 = new User();
+        user2 = new User();
+        user3 = new User();
+
+        underTest = new MultipleEntityScanExpressionQuery<>(dynamoDBOperations, User.class,
+                new DynamoDBScanExpression());
+        underTest.setScanEnabled(true);
+    }
+
+    @Test
+    public void testGetResultStreamFetchesPagesOnDemand() {
+        // the middle page was completely filtered out
+        List<Map<String, AttributeValue>> startKeys = new ArrayList<>();
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            Map<String, AttributeValue> startKey = invocation.<DynamoDBScanExpression> getArgument(1)
+                    .getExclusiveStartKey();
+            startKeys.add(startKey);
+            if (startKey == null) {
+                return page(firstKey, user1, user2);
+            } else if (startKey.equals(firstKey)) {
+                return page(secondKey);
+            } else {
+                return page(null, user3);
+            }
+        });
+
+        Iterator<User> results = underTest.getResultStream().iterator();
+
+        verify(dynamoDBOperations, never()).scanPage(eq(User.class), any(DynamoDBScanExpression.class));
+        assertSame(user1, results.next());
+        assertSame(user2, results.next());
+        verify(dynamoDBOperations, times(1)).scanPage(eq(User.class), any(DynamoDBScanExpression.class));
+
+        assertSame(user3, results.next());
+        assertFalse(results.hasNext());
+        assertEquals(Arrays.asList(null, firstKey, secondKey), startKeys);
+    }
+
+    @Test
+    public void testGetResultStreamLimitStopsFetching() {
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class)))
+                .thenReturn(page(firstKey, user1, user2));
+
+        List<User> results = underTest.getResultStream().limit(2).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(user1, user2), results);
+        verify(dynamoDBOperations, times(1)).scanPage(eq(User.class), any(DynamoDBScanExpression.class));
+    }
+
+    @Test
+    public void testGetResultPageWithPageSizeFillsPageWithoutOverreading() {
+        List<Integer> limits = new ArrayList<>();
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            DynamoDBScanExpression scanExpression = invocation.getArgument(1);
+            limits.add(scanExpression.getLimit());
+            // The first round trip had a filter drop one item
+            return scanExpression.getExclusiveStartKey() == null ? page(firstKey, user1) : page(secondKey, user2);
+        });
+
+        ResultPage<User> page = underTest.getResultPage(null, 2);
+
+        assertEquals(Arrays.asList(user1, user2), page.getResults());
+        assertEquals(secondKey, page.getLastEvaluatedKey());
+        assertEquals(Arrays.asList(2, 1), limits);
+    }
+
+    @Test
+    public void testGetResultPageWithPageSizeStopsAtEnd() {
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class)))
+                .thenReturn(page(null, user3));
+
+        ResultPage<User> page = underTest.getResultPage(firstKey, 5);
+
+        assertEquals(Collections.singletonList(user3), page.getResults());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    public void testGetResultPageWithPageSizeHonoursQueryLimit() {
+        DynamoDBScanExpression scanExpression = new DynamoDBScanExpression().withLimit(1);
+        underTest = new MultipleEntityScanExpressionQuery<>(dynamoDBOperations, User.class, scanExpression);
+        underTest.setScanEnabled(true);
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            assertEquals(Integer.valueOf(1), invocation.<DynamoDBScanExpression> getArgument(1).getLimit());
+            return page(null, user1);
+        });
+
+        underTest.getResultPage(null, 5);
+
+        // The limit of the query itself is restored
+        assertEquals(Integer.valueOf(1), scanExpression.getLimit());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetResultStreamScanNotEnabled() {
+        underTest.setScanEnabled(false);
+
+        Stream<User> results = underTest.getResultStream();
+        results.findFirst();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetResultListPushesLimitIntoUnfilteredScan() {
+        PaginatedScanList<User> scanList = mock(PaginatedScanList.class);
+        when(scanList.iterator()).thenReturn(Arrays.asList(user1, user2, user3).iterator());
+        when(dynamoDBOperations.scan(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            assertEquals(Integer.valueOf(2), invocation.<DynamoDBScanExpression> getArgument(1).getLimit());
+            return scanList;
+        });
+
+        assertEquals(Arrays.asList(user1, user2), underTest.getResultList(2));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGetResultListKeepsPageSizeOfFilteredScan() {
+        DynamoDBScanExpression scanExpression = new DynamoDBScanExpression().withFilterExpression("#n = :n");
+        underTest = new MultipleEntityScanExpressionQuery<>(dynamoDBOperations, User.class, scanExpression);
+        underTest.setScanEnabled(true);
+        Iterator<User> results = mock(Iterator.class);
+        when(results.hasNext()).thenReturn(true);
+        when(results.next()).thenReturn(user1, user2);
+        PaginatedScanList<User> scanList = mock(PaginatedScanList.class);
+        when(scanList.iterator()).thenReturn(results);
+        when(dynamoDBOperations.scan(User.class, scanExpression)).thenReturn(scanList);
+
+        assertEquals(Arrays.asList(user1, user2), underTest.getResultList(2));
+        assertNull(scanExpression.getLimit());
+        // No look ahead, which would make the lazy list fetch the next page
+        verify(results, times(2)).hasNext();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test(expected = IncorrectResultSizeDataAccessException.class)
+    public void testGetSingleResultReadsAtMostTwoResults() {
+        Iterator<User> results = mock(Iterator.class);
+        when(results.hasNext()).thenReturn(true);
+        when(results.next()).thenReturn(user1, user2);
+        PaginatedScanList<User> scanList = mock(PaginatedScanList.class);
+        when(scanList.iterator()).thenReturn(results);
+        when(dynamoDBOperations.scan(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(scanList);
+
+        try {
+            underTest.getSingleResult();
+        } finally {
+            verify(results, times(2)).next();
+        }
+    }
+
+    private static ScanResultPage<User> page(Map<String, AttributeValue> lastEvaluatedKey, User... users) {
+        ScanResultPage<User> page = new ScanResultPage<>();
+        page.setResults(Arrays.asList(users));
+        page.setLastEvaluatedKey(lastEvaluatedKey);
+        return page;
+    }
+}
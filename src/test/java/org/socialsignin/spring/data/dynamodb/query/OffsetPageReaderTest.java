@@ -0,0 +1,122 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.query;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.core.PageTokenCache;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class OffsetPageReaderTest {
+
+    @Mock
+    private DynamoDBOperations dynamoDBOperations;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<String> startIds = new ArrayList<>();
+    private PageTokenCache pageTokenCache;
+    private MultipleEntityScanExpressionQuery<User> query;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < 10; i++) {
+            User user = new User();
+            user.setId(Integer.toString(i));
+            users.add(user);
+        }
+        // A table of 10 users, the key of each user being its index
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            DynamoDBScanExpression scanExpression = invocation.getArgument(1);
+            Map<String, AttributeValue> startKey = scanExpression.getExclusiveStartKey();
+            int from = startKey == null ? 0 : Integer.parseInt(startKey.get("id").getS()) + 1;
+            int to = Math.min(users.size(), from + scanExpression.getLimit());
+            startIds.add(startKey == null ? null : startKey.get("id").getS());
+
+            ScanResultPage<User> page = new ScanResultPage<>();
+            page.setResults(users.subList(from, to));
+            page.setLastEvaluatedKey(
+                    to < users.size() ? Collections.singletonMap("id", new AttributeValue(users.get(to - 1).getId()))
+                            : null);
+            return page;
+        });
+
+        pageTokenCache = new PageTokenCache(10, Duration.ofMinutes(1));
+        query = new MultipleEntityScanExpressionQuery<>(dynamoDBOperations, User.class, new DynamoDBScanExpression());
+        query.setScanEnabled(true);
+    }
+
+    @Test
+    public void testConsecutivePagesResumeFromCachedBoundary() {
+        assertEquals(users.subList(0, 3), OffsetPageReader.read(query, pageTokenCache, User.class, "q", 0, 3).getResults());
+        assertEquals(users.subList(3, 6), OffsetPageReader.read(query, pageTokenCache, User.class, "q", 3, 3).getResults());
+        assertEquals(users.subList(6, 9), OffsetPageReader.read(query, pageTokenCache, User.class, "q", 6, 3).getResults());
+
+        // Every page was read with a single round trip, continuing where the previous one stopped
+        assertEquals(Arrays.asList(null, "2", "5"), startIds);
+    }
+
+    @Test
+    public void testJumpSkipsFromClosestBoundary() {
+        OffsetPageReader.read(query, pageTokenCache, User.class, "q", 0, 3);
+        startIds.clear();
+
+        assertEquals(users.subList(6, 8), OffsetPageReader.read(query, pageTokenCache, User.class, "q", 6, 2).getResults());
+
+        // Skipped from the boundary at 3 to 6, then read the page
+        assertEquals(Arrays.asList("2", "5"), startIds);
+        startIds.clear();
+
+        assertEquals(users.subList(6, 8), OffsetPageReader.read(query, pageTokenCache, User.class, "q", 6, 2).getResults());
+        assertEquals(Collections.singletonList("5"), startIds);
+    }
+
+    @Test
+    public void testBeyondLastResult() {
+        assertTrue(OffsetPageReader.read(query, pageTokenCache, User.class, "q", 12, 3).getResults().isEmpty());
+        assertTrue(OffsetPageReader.read(query, pageTokenCache, User.class, "q", 10, 3).getResults().isEmpty());
+    }
+
+    @Test
+    public void testEvictedBoundariesAreNotUsed() {
+        OffsetPageReader.read(query, pageTokenCache, User.class, "q", 0, 3);
+        pageTokenCache.evict(User.class);
+        startIds.clear();
+
+        assertEquals(users.subList(3, 6), OffsetPageReader.read(query, pageTokenCache, User.class, "q", 3, 3).getResults());
+        assertEquals(Arrays.asList(null, "2"), startIds);
+    }
+}
@@ -18,10 +18,12 @@ package org.socialsignin.spring.data.dynamodb.repository.query;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -29,8 +31,13 @@ import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -39,6 +46,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
 import org.socialsignin.spring.data.dynamodb.query.Query;
+import org.socialsignin.spring.data.dynamodb.query.ResultPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -52,6 +60,8 @@ public class AbstractDynamoDBQueryTest {
 
     public static interface UserRepository extends CrudRepository<User, String> {
         public Page<User> findByName(String name, Pageable pageable);
+
+        public void deleteByName(String name);
     }
 
     @Mock
@@ -185,4 +195,84 @@ public class AbstractDynamoDBQueryTest {
         verify(content).iterator();
     }
 
+    @Test
+    public void testPagedDerivesTotalFromSingleResponse() {
+        resultsRestrictionIfApplicable = null;
+        List<User> content = generateContent(3);
+        when(query.isResultPageable()).thenReturn(true);
+        when(query.getResultPage(null)).thenReturn(new ResultPage<>(content, null));
+
+        TestAbstractDynamoDBQuery underTest = new TestAbstractDynamoDBQuery(dynamoDBOperations,
+                new DynamoDBQueryMethod<>(method, metadata, factory));
+        Page<User> actualPage = (Page<User>) underTest.execute(new Object[] { "testName", PageRequest.of(0, 2) });
+
+        assertEquals(content.subList(0, 2), actualPage.getContent());
+        assertEquals(3, actualPage.getTotalElements());
+        verify(countQuery, never()).getSingleResult();
+    }
+
+    @Test
+    public void testPagedCountsConcurrentlyIfMoreResults() {
+        resultsRestrictionIfApplicable = null;
+        Map<String, AttributeValue> lastEvaluatedKey = Collections.singletonMap("id", new AttributeValue("1"));
+        List<User> content = generateContent(3);
+        AtomicInteger countsStarted = new AtomicInteger();
+        when(dynamoDBOperations.getCountExecutor()).thenReturn(task -> {
+            countsStarted.incrementAndGet();
+            task.run();
+        });
+        when(query.isResultPageable()).thenReturn(true);
+        when(query.getResultPage(null)).thenReturn(new ResultPage<>(content.subList(0, 1), lastEvaluatedKey));
+        when(query.getResultPage(lastEvaluatedKey))
+                .thenReturn(new ResultPage<>(content.subList(1, 3), mock(Map.class)));
+        when(countQuery.getSingleResult()).thenReturn(10L);
+
+        TestAbstractDynamoDBQuery underTest = new TestAbstractDynamoDBQuery(dynamoDBOperations,
+                new DynamoDBQueryMethod<>(method, metadata, factory));
+        Page<User> actualPage = (Page<User>) underTest.execute(new Object[] { "testName", PageRequest.of(0, 2) });
+
+        assertEquals(content.subList(0, 2), actualPage.getContent());
+        assertEquals(10, actualPage.getTotalElements());
+        assertEquals(1, countsStarted.get());
+    }
+
+    @Test
+    public void testPagedCancelsCountIfRemainingResponsesHoldAllResults() {
+        resultsRestrictionIfApplicable = null;
+        Map<String, AttributeValue> lastEvaluatedKey = Collections.singletonMap("id", new AttributeValue("1"));
+        List<User> content = generateContent(3);
+        List<Runnable> queuedCounts = new ArrayList<>();
+        when(dynamoDBOperations.getCountExecutor()).thenReturn(queuedCounts::add);
+        when(query.isResultPageable()).thenReturn(true);
+        when(query.getResultPage(null)).thenReturn(new ResultPage<>(content.subList(0, 1), lastEvaluatedKey));
+        when(query.getResultPage(lastEvaluatedKey)).thenReturn(new ResultPage<>(content.subList(1, 3), null));
+
+        TestAbstractDynamoDBQuery underTest = new TestAbstractDynamoDBQuery(dynamoDBOperations,
+                new DynamoDBQueryMethod<>(method, metadata, factory));
+        Page<User> actualPage = (Page<User>) underTest.execute(new Object[] { "testName", PageRequest.of(0, 5) });
+
+        assertEquals(content, actualPage.getContent());
+        assertEquals(3, actualPage.getTotalElements());
+        // The cancelled count is not run once the executor gets to it
+        assertEquals(1, queuedCounts.size());
+        queuedCounts.get(0).run();
+        verify(countQuery, never()).getSingleResult();
+    }
+
+    @Test
+    public void testVoidDeleteStreamsKeys() throws NoSuchMethodException {
+        isDeleteQuery = true;
+        Method deleteMethod = UserRepository.class.getMethod("deleteByName", String.class);
+        doReturn(ClassTypeInformation.fromReturnTypeOf(deleteMethod)).when(metadata).getReturnType(any());
+        Stream<User> keys = generateContent(3).stream();
+        when(query.getKeyStream()).thenReturn(keys);
+        when(dynamoDBOperations.batchDeleteStream(User.class, keys)).thenReturn(Collections.emptyList());
+
+        TestAbstractDynamoDBQuery underTest = new TestAbstractDynamoDBQuery(dynamoDBOperations,
+                new DynamoDBQueryMethod<>(deleteMethod, metadata, factory));
+
+        assertNull(underTest.execute(new Object[] { "testName" }));
+        verify(query, never()).getResultList();
+        verify(dynamoDBOperations, never()).batchDelete(any());
+    }
 }
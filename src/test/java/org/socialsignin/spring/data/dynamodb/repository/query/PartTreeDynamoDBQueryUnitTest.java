@@ -19,9 +19,11 @@ import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBQueryExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedQueryList;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.Condition;
 import com.amazonaws.services.dynamodbv2.model.QueryRequest;
+import com.amazonaws.services.dynamodbv2.model.Select;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -49,6 +51,7 @@ import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -57,11 +60,14 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PartTreeDynamoDBQueryUnitTest {
@@ -1354,8 +1360,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         setupCommonMocksForThisRepositoryMethod(mockUserEntityMetadata, mockDynamoDBUserQueryMethod, User.class,
                 "findByName", 1, "id", null);
 
-        Mockito.when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        Mockito.when(mockUserScanResults.size()).thenReturn(1);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.singletonList(mockUser).iterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -1404,8 +1409,7 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "findByName", 1, "id", null);
         Mockito.when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        Mockito.when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        Mockito.when(mockUserScanResults.size()).thenReturn(1);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.singletonList(mockUser).iterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -1453,8 +1457,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         setupCommonMocksForThisRepositoryMethod(mockUserEntityMetadata, mockDynamoDBUserQueryMethod, User.class,
                 "findByIdAndName", 2, "id", null);
 
-        Mockito.when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        Mockito.when(mockUserScanResults.size()).thenReturn(1);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.singletonList(mockUser).iterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -1514,8 +1517,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         Set<String> testSet = new HashSet<String>();
         testSet.add("testData");
 
-        Mockito.when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        Mockito.when(mockUserScanResults.size()).thenReturn(1);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.singletonList(mockUser).iterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -1572,8 +1574,7 @@ public class PartTreeDynamoDBQueryUnitTest {
         Mockito.when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
         Mockito.when(mockUserEntityMetadata.getOverriddenAttributeName("id")).thenReturn(Optional.of("Id"));
 
-        Mockito.when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        Mockito.when(mockUserScanResults.size()).thenReturn(1);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.singletonList(mockUser).iterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -1679,6 +1680,32 @@ public class PartTreeDynamoDBQueryUnitTest {
         Mockito.verify(mockDynamoDBOperations).scan(userClassCaptor.getValue(), scanCaptor.getValue());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testExecute_WhenFinderMethodIsStreamingEntities_WithSingleStringParameter_WhenNotFindingByHashKey() {
+        setupCommonMocksForThisRepositoryMethod(mockUserEntityMetadata, mockDynamoDBUserQueryMethod, User.class,
+                "findByName", 1, "id", null);
+        Mockito.when(mockDynamoDBUserQueryMethod.isStreamQuery()).thenReturn(true);
+
+        ScanResultPage<User> page = new ScanResultPage<>();
+        page.setResults(Collections.singletonList(mockUser));
+        Mockito.when(mockDynamoDBOperations.scanPage(userClassCaptor.capture(), scanCaptor.capture()))
+                .thenReturn(page);
+
+        // Execute the query
+        Object[] parameters = new Object[] { "someName" };
+        Stream<User> o = (Stream<User>) partTreeDynamoDBQuery.execute(parameters);
+
+        // Nothing is read from DynamoDB until the stream is consumed
+        Mockito.verify(mockDynamoDBOperations, Mockito.never()).scanPage(any(), any());
+        assertEquals(Collections.singletonList(mockUser), o.collect(Collectors.toList()));
+
+        assertEquals(User.class, userClassCaptor.getValue());
+        assertEquals("someName",
+                scanCaptor.getValue().getScanFilter().get("name").getAttributeValueList().get(0).getS());
+        Mockito.verify(mockDynamoDBOperations, Mockito.never()).scan(any(), any());
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     // Not yet supported
     public void testExecute_WhenFinderMethodIsFindingEntityList_WithSingleStringParameterIgnoringCase_WhenNotFindingByHashKey() {
@@ -3351,8 +3378,7 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsByName", 1, "id", null);
         Mockito.when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.when(mockUserScanResults.size()).thenReturn(0);
-        Mockito.when(mockUserScanResults.isEmpty()).thenReturn(true);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.emptyIterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -3401,9 +3427,7 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsByName", 1, "id", null);
         Mockito.when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        // Mockito.when(mockUserScanResults.size()).thenReturn(1);
-        Mockito.when(mockUserScanResults.isEmpty()).thenReturn(false);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.singletonList(mockUser).iterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -3417,6 +3441,10 @@ public class PartTreeDynamoDBQueryUnitTest {
         // Assert that we scanned DynamoDB for the correct class
         assertEquals(userClassCaptor.getValue(), User.class);
 
+        // Assert that no projection expression is mixed into the legacy ScanFilter request
+        assertNull(scanCaptor.getValue().getProjectionExpression());
+        assertNull(scanCaptor.getValue().getExpressionAttributeNames());
+
         // Assert that we have only one filter condition, for the name of the
         // property
         Map<String, Condition> filterConditions = scanCaptor.getValue().getScanFilter();
@@ -3452,10 +3480,7 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsByName", 1, "id", null);
         Mockito.when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        // Mockito.when(mockUserScanResults.get(1)).thenReturn(mockUser);
-        // Mockito.when(mockUserScanResults.size()).thenReturn(2);
-        Mockito.when(mockUserScanResults.isEmpty()).thenReturn(false);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Arrays.asList(mockUser, mockUser).iterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -3504,8 +3529,7 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsTop1ByName", 1, "id", null);
         Mockito.when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.when(mockUserScanResults.size()).thenReturn(0);
-        Mockito.when(mockUserScanResults.isEmpty()).thenReturn(true);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.emptyIterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
@@ -3554,9 +3578,7 @@ public class PartTreeDynamoDBQueryUnitTest {
                 "existsTop1ByName", 1, "id", null);
         Mockito.when(mockUserEntityMetadata.getOverriddenAttributeName("name")).thenReturn(Optional.of("Name"));
 
-        // Mockito.when(mockUserScanResults.get(0)).thenReturn(mockUser);
-        // Mockito.when(mockUserScanResults.size()).thenReturn(1);
-        Mockito.when(mockUserScanResults.isEmpty()).thenReturn(false);
+        Mockito.when(mockUserScanResults.iterator()).thenReturn(Collections.singletonList(mockUser).iterator());
         Mockito.when(mockDynamoDBOperations.scan(userClassCaptor.capture(), scanCaptor.capture()))
                 .thenReturn(mockUserScanResults);
 
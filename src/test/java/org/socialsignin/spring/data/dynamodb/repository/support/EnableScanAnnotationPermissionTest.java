@@ -25,6 +25,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -35,6 +36,14 @@ public class EnableScanAnnotationPermissionTest {
         List<User> findAll();
     }
 
+    @EnableScan(totalSegments = 4)
+    public interface SampleSegmentedRepository {
+        List<User> findAll();
+
+        @EnableScan(totalSegments = 2)
+        long count();
+    }
+
     public interface SampleNoScanRepository {
         List<User> findAll();
     }
@@ -97,4 +106,22 @@ public class EnableScanAnnotationPermissionTest {
         assertFalse(underTest.isFindAllUnpaginatedScanEnabled());
     }
 
+    @Test
+    public void testSampleSegmentedRepository() {
+        EnableScanAnnotationPermissions underTest = new EnableScanAnnotationPermissions(
+                SampleSegmentedRepository.class);
+
+        assertTrue(underTest.isFindAllUnpaginatedScanEnabled());
+        assertEquals(4, underTest.getFindAllUnpaginatedScanTotalSegments());
+        assertEquals(2, underTest.getCountUnpaginatedScanTotalSegments());
+    }
+
+    @Test
+    public void testDefaultTotalSegments() {
+        EnableScanAnnotationPermissions underTest = new EnableScanAnnotationPermissions(SampleRepository.class);
+
+        assertEquals(1, underTest.getFindAllUnpaginatedScanTotalSegments());
+        assertEquals(1, underTest.getCountUnpaginatedScanTotalSegments());
+    }
+
 }
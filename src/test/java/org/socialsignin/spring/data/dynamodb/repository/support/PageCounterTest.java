@@ -0,0 +1,130 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import org.junit.Test;
+import org.socialsignin.spring.data.dynamodb.domain.LazyTotalPage;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants.CountStrategy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PageCounterTest {
+
+    private final AtomicLong counted = new AtomicLong();
+    private final LongSupplier count = () -> {
+        counted.incrementAndGet();
+        return 42;
+    };
+
+    @Test
+    public void testExactCountsUpfront() {
+        PageCounter underTest = PageCounter.exact();
+
+        LongSupplier total = underTest.getTotal("key", count, () -> 7);
+        assertEquals(1, counted.get());
+        assertEquals(42, total.getAsLong());
+        assertEquals(1, counted.get());
+
+        Page<String> page = underTest.createPage(Arrays.asList("a", "b"), PageRequest.of(0, 2), () -> {
+            fail("hasNext is derived from the total");
+            return false;
+        }, total);
+        assertTrue(page instanceof PageImpl);
+        assertEquals(21, page.getTotalPages());
+    }
+
+    @Test
+    public void testCachedReusesCountUntilExpired() {
+        AtomicLong now = new AtomicLong();
+        PageCounter underTest = new PageCounter(CountStrategy.CACHED, Duration.ofMillis(100), now::get);
+
+        assertEquals(42, underTest.getTotal("key", count, null).getAsLong());
+        now.set(99);
+        assertEquals(42, underTest.getTotal("key", count, null).getAsLong());
+        assertEquals(1, counted.get());
+
+        underTest.getTotal("other", count, null);
+        assertEquals(2, counted.get());
+
+        now.set(100);
+        underTest.getTotal("key", count, null);
+        assertEquals(3, counted.get());
+    }
+
+    @Test
+    public void testCachedIsBounded() {
+        PageCounter underTest = new PageCounter(CountStrategy.CACHED, Duration.ofMinutes(1));
+        for (int i = 0; i < PageCounter.MAX_CACHED_COUNTS + 10; i++) {
+            underTest.getTotal(i, count, null);
+        }
+        assertEquals(PageCounter.MAX_CACHED_COUNTS, underTest.size());
+    }
+
+    @Test
+    public void testApproximate() {
+        PageCounter underTest = new PageCounter(CountStrategy.APPROXIMATE, Duration.ZERO);
+
+        assertEquals(7, underTest.getTotal("key", count, () -> 7).getAsLong());
+        assertEquals(0, counted.get());
+
+        // Falls back to an exact count if the query does not support an approximation
+        assertEquals(42, underTest.getTotal("key", count, null).getAsLong());
+        assertEquals(1, counted.get());
+    }
+
+    @Test
+    public void testNoneCountsLazily() {
+        PageCounter underTest = new PageCounter(CountStrategy.NONE, Duration.ZERO);
+
+        Page<String> page = underTest.createPage(Arrays.asList("a", "b"), PageRequest.of(1, 2), () -> true,
+                underTest.getTotal("key", count, null));
+
+        assertTrue(page instanceof LazyTotalPage);
+        assertTrue(page.hasNext());
+        assertTrue(page.hasPrevious());
+        assertEquals(PageRequest.of(2, 2), page.nextPageable());
+        assertFalse(((LazyTotalPage<String>) page).isTotalResolved());
+        assertEquals(0, counted.get());
+
+        assertEquals(42, page.getTotalElements());
+        assertEquals(21, page.map(String::length).getTotalPages());
+        assertEquals(1, counted.get());
+    }
+
+    @Test
+    public void testLazyTotalIsNotBelowContentRead() {
+        Page<String> page = new LazyTotalPage<>(Arrays.asList("a", "b"), PageRequest.of(3, 2), true, () -> 1);
+
+        assertEquals(9, page.getTotalElements());
+    }
+
+    @Test
+    public void testOfWithoutAnnotation() {
+        assertSame(PageCounter.exact(), PageCounter.of(null));
+    }
+}
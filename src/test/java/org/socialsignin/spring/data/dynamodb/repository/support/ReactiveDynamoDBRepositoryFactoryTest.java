@@ -0,0 +1,154 @@
+/**
+ * Copyright © 2018 spring-data-dynamodb (https://github.com/rxcats/spring-data-dynamodb)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.socialsignin.spring.data.dynamodb.repository.support;
+
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.domain.sample.ReactiveUserRepository;
+import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactiveDynamoDBRepositoryFactoryTest {
+    private static final Map<String, AttributeValue> LAST_KEY = Collections.singletonMap("id",
+            new AttributeValue("u2"));
+
+    @Mock
+    private DynamoDBOperations dynamoDBOperations;
+    @Mock
+    private PaginatedScanList<User> scanResults;
+
+    private ReactiveUserRepository repository;
+    private User user1;
+    private User user2;
+    private User user3;
+
+    @Before
+    public void setUp() {
+        repository = new ReactiveDynamoDBRepositoryFactory(dynamoDBOperations, Schedulers.immediate())
+                .getRepository(ReactiveUserRepository.class);
+
+        user1 = new User();
+        user1.setId("u1");
+        user2 = new User();
+        user2.setId("u2");
+        user3 = new User();
+        user3.setId("u3");
+    }
+
+    private void twoPages() {
+        ScanResultPage<User> first = new ScanResultPage<>();
+        first.setResults(Arrays.asList(user1, user2));
+        first.setLastEvaluatedKey(LAST_KEY);
+        ScanResultPage<User> second = new ScanResultPage<>();
+        second.setResults(Collections.singletonList(user3));
+
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(first,
+                second);
+    }
+
+    @Test
+    public void testDerivedFluxQueryFetchesAllPages() {
+        twoPages();
+
+        Flux<User> result = repository.findByName("someName");
+        verify(dynamoDBOperations, never()).scanPage(any(), any());
+
+        List<User> users = result.collectList().block();
+
+        assertEquals(Arrays.asList(user1, user2, user3), users);
+        ArgumentCaptor<DynamoDBScanExpression> scanExpression = ArgumentCaptor.forClass(DynamoDBScanExpression.class);
+        verify(dynamoDBOperations, times(2)).scanPage(eq(User.class), scanExpression.capture());
+        assertEquals(LAST_KEY, scanExpression.getAllValues().get(1).getExclusiveStartKey());
+        assertTrue(scanExpression.getValue().getScanFilter().containsKey("name"));
+        verify(dynamoDBOperations, never()).scan(any(), any());
+    }
+
+    @Test
+    public void testDerivedFluxQueryFetchesPagesOnDemand() {
+        twoPages();
+
+        List<User> users = repository.findByName("someName").take(2).collectList().block();
+
+        assertEquals(Arrays.asList(user1, user2), users);
+        verify(dynamoDBOperations, times(1)).scanPage(eq(User.class), any(DynamoDBScanExpression.class));
+    }
+
+    @Test
+    public void testDerivedFluxQueryWithResultRestriction() {
+        twoPages();
+
+        List<User> users = repository.findTop3ByName("someName").collectList().block();
+
+        assertEquals(Arrays.asList(user1, user2, user3), users);
+    }
+
+    @Test
+    public void testDerivedMonoQuery() {
+        when(scanResults.iterator()).thenReturn(Collections.singletonList(user1).iterator());
+        when(dynamoDBOperations.scan(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(scanResults);
+
+        assertSame(user1, repository.findOneByName("someName").block());
+    }
+
+    @Test
+    public void testFindAll() {
+        twoPages();
+
+        assertEquals(Arrays.asList(user1, user2, user3), repository.findAll().collectList().block());
+    }
+
+    @Test
+    public void testFindById() {
+        when(dynamoDBOperations.load(User.class, "u1")).thenReturn(user1);
+
+        assertSame(user1, repository.findById("u1").block());
+        assertNull(repository.findById("unknown").block());
+    }
+
+    @Test
+    public void testSave() {
+        assertSame(user1, repository.save(user1).block());
+
+        verify(dynamoDBOperations).save(user1);
+    }
+}
@@ -16,8 +16,12 @@
 package org.socialsignin.spring.data.dynamodb.repository.support;
 
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapper.FailedBatch;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperFieldModel;
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBMapperTableModel;
 import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.KeyPair;
 import com.amazonaws.services.dynamodbv2.datamodeling.PaginatedScanList;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -32,21 +36,32 @@ import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
 import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
 import org.socialsignin.spring.data.dynamodb.domain.sample.PlaylistId;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.exception.BatchDeleteException;
 import org.socialsignin.spring.data.dynamodb.exception.BatchWriteException;
+import org.socialsignin.spring.data.dynamodb.exception.EntityAlreadyExistsException;
 import org.springframework.dao.EmptyResultDataAccessException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -115,17 +130,41 @@ public class SimpleDynamoDBCrudRepositoryTest {
     @Test
     public void deleteById() {
         final long id = ThreadLocalRandom.current().nextLong();
-        User testResult = new User();
-        testResult.setId(Long.toString(id));
 
         when(entityWithSimpleIdInformation.getHashKey(id)).thenReturn(id);
-        when(dynamoDBOperations.load(User.class, id)).thenReturn(testResult);
+        when(dynamoDBOperations.deleteByKey(User.class, id, null)).thenReturn(true);
 
         repoForEntityWithOnlyHashKey.deleteById(id);
 
-        ArgumentCaptor<User> captor = ArgumentCaptor.forClass(User.class);
-        Mockito.verify(dynamoDBOperations).delete(captor.capture());
-        Assert.assertEquals(Long.toString(id), captor.getValue().getId());
+        verify(dynamoDBOperations, never()).load(User.class, id);
+        verify(dynamoDBOperations, never()).delete(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void deleteAllById() {
+        when(entityWithSimpleIdInformation.getHashKey(1L)).thenReturn(1L);
+        when(entityWithSimpleIdInformation.getHashKey(2L)).thenReturn(2L);
+        when(dynamoDBOperations.batchDeleteByKeys(eq(User.class), anyList())).thenReturn(Collections.emptyList());
+
+        repoForEntityWithOnlyHashKey.deleteAllById(Arrays.asList(1L, 2L));
+
+        ArgumentCaptor<List<KeyPair>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dynamoDBOperations).batchDeleteByKeys(eq(User.class), captor.capture());
+        assertEquals(Arrays.asList(1L, 2L),
+                captor.getValue().stream().map(KeyPair::getHashKey).collect(Collectors.toList()));
+        verify(dynamoDBOperations, never()).batchLoad(any());
+    }
+
+    @Test(expected = BatchDeleteException.class)
+    public void deleteAllByIdFailure() {
+        FailedBatch failedBatch = new FailedBatch();
+        failedBatch.setException(new Exception("Throttled"));
+        when(entityWithSimpleIdInformation.getHashKey(1L)).thenReturn(1L);
+        when(dynamoDBOperations.batchDeleteByKeys(eq(User.class), anyList()))
+                .thenReturn(Collections.singletonList(failedBatch));
+
+        repoForEntityWithOnlyHashKey.deleteAllById(Collections.singletonList(1L));
     }
 
     @Test
@@ -142,12 +181,30 @@ public class SimpleDynamoDBCrudRepositoryTest {
         verify(dynamoDBOperations).batchDelete(findAllResultMock);
     }
 
+    @SuppressWarnings("unchecked")
     @Test
     public void deleteAll() {
-        when(dynamoDBOperations.scan(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(findAllResultMock);
+        DynamoDBMapperTableModel<User> tableModel = mock(DynamoDBMapperTableModel.class);
+        DynamoDBMapperFieldModel<User, Object> hashKey = mock(DynamoDBMapperFieldModel.class);
+        when(dynamoDBOperations.getTableModel(User.class)).thenReturn(tableModel);
+        doReturn(hashKey).when(tableModel).hashKey();
+        when(hashKey.name()).thenReturn("Id");
+        ScanResultPage<User> page = new ScanResultPage<>();
+        page.setResults(Collections.singletonList(testUser));
+        ArgumentCaptor<DynamoDBScanExpression> scanCaptor = ArgumentCaptor.forClass(DynamoDBScanExpression.class);
+        when(dynamoDBOperations.scanPage(eq(User.class), scanCaptor.capture())).thenReturn(page);
+        List<User> deleted = new ArrayList<>();
+        when(dynamoDBOperations.batchDeleteStream(eq(User.class), any())).thenAnswer(invocation -> {
+            ((Stream<User>) invocation.getArgument(1)).forEach(deleted::add);
+            return Collections.emptyList();
+        });
 
         repoForEntityWithOnlyHashKey.deleteAll();
-        verify(dynamoDBOperations).batchDelete(findAllResultMock);
+
+        assertEquals(Collections.singletonList(testUser), deleted);
+        assertEquals("#projectedHashKey", scanCaptor.getValue().getProjectionExpression());
+        verify(dynamoDBOperations, never()).scan(eq(User.class), any(DynamoDBScanExpression.class));
+        verify(dynamoDBOperations, never()).batchDelete(any());
     }
 
     @Test
@@ -185,7 +242,7 @@ public class SimpleDynamoDBCrudRepositoryTest {
 
     @Test
     public void existsEntityWithOnlyHashKey() {
-        when(dynamoDBOperations.load(User.class, 1l)).thenReturn(null);
+        when(dynamoDBOperations.exists(User.class, 1l, null)).thenReturn(false);
 
         boolean actual = repoForEntityWithOnlyHashKey.existsById(1l);
 
@@ -199,6 +256,23 @@ public class SimpleDynamoDBCrudRepositoryTest {
         verify(dynamoDBOperations).count(eq(User.class), any(DynamoDBScanExpression.class));
     }
 
+    @Test
+    public void testFindAllInSegments() {
+        when(mockEnableScanPermissions.getFindAllUnpaginatedScanTotalSegments()).thenReturn(4);
+
+        repoForEntityWithOnlyHashKey.findAll();
+
+        verify(dynamoDBOperations).parallelScan(eq(User.class), any(DynamoDBScanExpression.class), eq(4));
+    }
+
+    @Test
+    public void testCountInSegments() {
+        when(mockEnableScanPermissions.getCountUnpaginatedScanTotalSegments()).thenReturn(4);
+        when(dynamoDBOperations.count(eq(User.class), any(DynamoDBScanExpression.class), eq(4))).thenReturn(42);
+
+        assertEquals(42, repoForEntityWithOnlyHashKey.count());
+    }
+
     @Test
     public void findOneEntityWithOnlyHashKey() {
         Optional<User> user = repoForEntityWithOnlyHashKey.findById(1l);
@@ -270,4 +344,47 @@ public class SimpleDynamoDBCrudRepositoryTest {
 
         repoForEntityWithOnlyHashKey.saveAll(entities);
     }
+
+    @Test
+    public void incrementResolvesAttributeName() {
+        when(entityWithSimpleIdInformation.getOverriddenAttributeName("numberOfPlaylists"))
+                .thenReturn(Optional.of("playlists"));
+        when(dynamoDBOperations.increment(User.class, 1l, null, "playlists", 2)).thenReturn(5l);
+
+        assertEquals(5l, repoForEntityWithOnlyHashKey.increment(1l, "numberOfPlaylists", 2));
+        verify(dynamoDBOperations, never()).load(User.class, 1l);
+    }
+
+    @Test
+    public void setOperationsWithHashAndRangeKey() {
+        Set<String> tags = Collections.singleton("tag");
+        when(entityWithCompositeIdInformation.getOverriddenAttributeName(any())).thenReturn(Optional.empty());
+        when(dynamoDBOperations.setIfAbsent(Playlist.class, "michael", "playlist1", "displayName", "name"))
+                .thenReturn(true);
+
+        repoForEntityWithHashAndRangeKey.addToSet(testPlaylistId, "tags", tags);
+        repoForEntityWithHashAndRangeKey.removeFromSet(testPlaylistId, "tags", tags);
+        assertTrue(repoForEntityWithHashAndRangeKey.setIfAbsent(testPlaylistId, "displayName", "name"));
+
+        verify(dynamoDBOperations).addToSet(Playlist.class, "michael", "playlist1", "tags", tags);
+        verify(dynamoDBOperations).removeFromSet(Playlist.class, "michael", "playlist1", "tags", tags);
+    }
+
+    @Test
+    public void insert() {
+        when(dynamoDBOperations.saveIfAbsent(testUser)).thenReturn(true);
+
+        assertSame(testUser, repoForEntityWithOnlyHashKey.insert(testUser));
+        verify(dynamoDBOperations, never()).save(any());
+    }
+
+    @Test
+    public void insertExisting() {
+        when(dynamoDBOperations.saveIfAbsent(testUser)).thenReturn(false);
+        when(entityWithSimpleIdInformation.getId(testUser)).thenReturn(1l);
+        expectedException.expect(EntityAlreadyExistsException.class);
+        expectedException.expectMessage("with id 1 exists already");
+
+        repoForEntityWithOnlyHashKey.insert(testUser);
+    }
 }
@@ -15,6 +15,9 @@
  */
 package org.socialsignin.spring.data.dynamodb.repository.support;
 
+import com.amazonaws.services.dynamodbv2.datamodeling.DynamoDBScanExpression;
+import com.amazonaws.services.dynamodbv2.datamodeling.ScanResultPage;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -22,14 +25,28 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.socialsignin.spring.data.dynamodb.core.DynamoDBOperations;
+import org.socialsignin.spring.data.dynamodb.core.PageTokenCache;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetCursor;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetPage;
+import org.socialsignin.spring.data.dynamodb.domain.KeysetPageRequest;
 import org.socialsignin.spring.data.dynamodb.domain.sample.Playlist;
 import org.socialsignin.spring.data.dynamodb.domain.sample.PlaylistId;
 import org.socialsignin.spring.data.dynamodb.domain.sample.User;
+import org.socialsignin.spring.data.dynamodb.repository.QueryConstants.CountStrategy;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -101,6 +118,73 @@ public class SimpleDynamoDBPagingAndSortingRepositoryUnitTest {
         repoForEntityWithOnlyHashKey.deleteById(4711L);
     }
 
+    @Test
+    public void findAllWithKeysetPageRequest() {
+        Map<String, AttributeValue> startKey = Collections.singletonMap("id", new AttributeValue("1"));
+        Map<String, AttributeValue> lastKey = Collections.singletonMap("id", new AttributeValue("2"));
+        ScanResultPage<User> scanPage = new ScanResultPage<>();
+        scanPage.setResults(Collections.singletonList(testUser));
+        scanPage.setLastEvaluatedKey(lastKey);
+        when(mockEnableScanPermissions.isFindAllPaginatedScanEnabled()).thenReturn(true);
+        when(mockEnableScanPermissions.isFindAllUnpaginatedScanCountEnabled()).thenReturn(true);
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            DynamoDBScanExpression scanExpression = invocation.getArgument(1);
+            assertEquals(startKey, scanExpression.getExclusiveStartKey());
+            assertEquals(Integer.valueOf(1), scanExpression.getLimit());
+            return scanPage;
+        });
+        when(dynamoDBOperations.count(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(10);
+
+        Page<User> page = repoForEntityWithOnlyHashKey
+                .findAll(KeysetPageRequest.of(5, 1, KeysetCursor.encode(startKey)));
+
+        assertEquals(Collections.singletonList(testUser), page.getContent());
+        assertEquals(10, page.getTotalElements());
+        assertEquals(KeysetCursor.encode(lastKey), ((KeysetPage<User>) page).getNextCursor());
+        verify(dynamoDBOperations, never()).scan(eq(User.class), any(DynamoDBScanExpression.class));
+    }
+
+    @Test
+    public void findAllWithApproximateCount() {
+        ScanResultPage<User> scanPage = new ScanResultPage<>();
+        scanPage.setResults(Collections.singletonList(testUser));
+        when(mockEnableScanPermissions.isFindAllPaginatedScanEnabled()).thenReturn(true);
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(scanPage);
+        when(dynamoDBOperations.approximateCount(User.class)).thenReturn(1000L);
+        repoForEntityWithOnlyHashKey.setPageCounter(new PageCounter(CountStrategy.APPROXIMATE, Duration.ZERO));
+
+        Page<User> page = repoForEntityWithOnlyHashKey.findAll(KeysetPageRequest.first(1));
+
+        assertEquals(1000, page.getTotalElements());
+        // No scan count permission required, as the table is not scanned for the count
+        verify(mockEnableScanPermissions, never()).isFindAllUnpaginatedScanCountEnabled();
+        verify(dynamoDBOperations, never()).count(eq(User.class), any(DynamoDBScanExpression.class));
+    }
+
+    @Test
+    public void findAllWithPageTokenCache() {
+        Map<String, AttributeValue> boundary = Collections.singletonMap("id", new AttributeValue("1"));
+        PageTokenCache pageTokenCache = new PageTokenCache(10, Duration.ofMinutes(1));
+        pageTokenCache.put(User.class, "findAll", pageTokenCache.generation(User.class), 10, boundary);
+        ScanResultPage<User> scanPage = new ScanResultPage<>();
+        scanPage.setResults(Collections.singletonList(testUser));
+        when(dynamoDBOperations.getPageTokenCache()).thenReturn(pageTokenCache);
+        when(mockEnableScanPermissions.isFindAllPaginatedScanEnabled()).thenReturn(true);
+        when(mockEnableScanPermissions.isFindAllUnpaginatedScanCountEnabled()).thenReturn(true);
+        when(dynamoDBOperations.scanPage(eq(User.class), any(DynamoDBScanExpression.class))).thenAnswer(invocation -> {
+            // Page 1 resumes from the boundary after page 0
+            assertEquals(boundary, invocation.<DynamoDBScanExpression> getArgument(1).getExclusiveStartKey());
+            return scanPage;
+        });
+        when(dynamoDBOperations.count(eq(User.class), any(DynamoDBScanExpression.class))).thenReturn(11);
+
+        Page<User> page = repoForEntityWithOnlyHashKey.findAll(PageRequest.of(1, 10));
+
+        assertEquals(Collections.singletonList(testUser), page.getContent());
+        assertEquals(11, page.getTotalElements());
+        verify(dynamoDBOperations, never()).scan(eq(User.class), any(DynamoDBScanExpression.class));
+    }
+
     @Test
     public void findOneEntityWithOnlyHashKey() {
         Optional<User> user = repoForEntityWithOnlyHashKey.findById(1l);